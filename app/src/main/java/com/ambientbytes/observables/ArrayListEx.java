@@ -1,66 +1,224 @@
 package com.ambientbytes.observables;
 
-class ArrayListEx<E> extends java.util.ArrayList<E> {
-	/**
-	 * 
-	 */
-	private static final long serialVersionUID = -4801793454171801218L;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed list with range operations that work directly on the backing array.
+ * Moves, range inserts, range removals and range replacements are done with System.arraycopy;
+ * moves stage the smaller of the two shifted segments in a scratch buffer that is reused between moves.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements in the list.
+ */
+class ArrayListEx<E> extends AbstractList<E> implements IMutableRandomAccess<E>, RandomAccess {
+
+	private static final Object[] EMPTY = new Object[0];
+	private static final int MIN_CAPACITY = 10;
+
+	private Object[] elements;
+	private Object[] scratch;
+	private int size;
 
 	public ArrayListEx() {
+		this.elements = EMPTY;
+		this.scratch = EMPTY;
+		this.size = 0;
 	}
-	
+
 	public ArrayListEx(int capacity) {
-		super(capacity);
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity may not be negative");
+		}
+
+		this.elements = capacity == 0 ? EMPTY : new Object[capacity];
+		this.scratch = EMPTY;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkElementIndex(index);
+		return (E) elements[index];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E value) {
+		checkElementIndex(index);
+		final E oldValue = (E) elements[index];
+		elements[index] = value;
+		return oldValue;
+	}
+
+	@Override
+	public void add(int index, E value) {
+		checkPositionIndex(index);
+		openGap(index, 1);
+		elements[index] = value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		checkElementIndex(index);
+		final E oldValue = (E) elements[index];
+		closeGap(index, 1);
+		return oldValue;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> values) {
+		return addAll(size, values);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> values) {
+		checkPositionIndex(index);
+		final Object[] items = values.toArray();
+
+		if (items.length > 0) {
+			openGap(index, items.length);
+			System.arraycopy(items, 0, elements, index, items.length);
+		}
+
+		return items.length > 0;
 	}
-	
+
+	@Override
+	public void setAll(int index, Collection<? extends E> values) {
+		final Object[] items = values.toArray();
+
+		if (index < 0 || index + items.length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(items, 0, elements, index, items.length);
+	}
+
+	@Override
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	public void ensureCapacity(int capacity) {
+		if (capacity > elements.length) {
+			elements = Arrays.copyOf(elements, Math.max(capacity, Math.max(MIN_CAPACITY, elements.length + (elements.length >> 1))));
+		}
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		closeGap(fromIndex, toIndex - fromIndex);
+	}
+
+	@Override
 	public void remove(int start, int length) {
-		if (start < 0 || length < 0 || start + length > size()) {
+		if (start < 0 || length < 0 || start + length > size) {
 			throw new IndexOutOfBoundsException();
 		}
-		
-		removeRange(start, start + length);
+
+		closeGap(start, length);
 	}
-	
+
+	@Override
 	public void move(final int source, final int destination, final int length) {
 		if (length < 0) {
 			throw new IllegalArgumentException("length may not be negative");
 		}
 
-		if (source < 0 || destination < 0 || source + length > size() || destination + length > size()) {
+		if (source < 0 || destination < 0 || source + length > size || destination + length > size) {
 			throw new IndexOutOfBoundsException();
 		}
 
 		if (source != destination && length > 0) {
-			final int low, pivot, high;
-			
+			//
+			// Moving a range is a rotation of the part of the array that covers both the source and
+			// the destination ranges. Stage the shorter of the two rotated segments in the scratch buffer,
+			// shift the longer one over it with a single arraycopy and put the staged segment back.
+			//
+			final int displaced = Math.abs(destination - source);
+			final int staged = Math.min(length, displaced);
+			final Object[] buffer = scratch(staged);
+
 			if (source < destination) {
-				low = source;
-				pivot = source + length;
-				high = destination + length;
+				if (length <= displaced) {
+					System.arraycopy(elements, source, buffer, 0, length);
+					System.arraycopy(elements, source + length, elements, source, displaced);
+					System.arraycopy(buffer, 0, elements, destination, length);
+				} else {
+					System.arraycopy(elements, source + length, buffer, 0, displaced);
+					System.arraycopy(elements, source, elements, destination, length);
+					System.arraycopy(buffer, 0, elements, source, displaced);
+				}
 			} else {
-				low = destination;
-				pivot = source;
-				high = pivot + length;
+				if (length <= displaced) {
+					System.arraycopy(elements, source, buffer, 0, length);
+					System.arraycopy(elements, destination, elements, destination + length, displaced);
+					System.arraycopy(buffer, 0, elements, destination, length);
+				} else {
+					System.arraycopy(elements, destination, buffer, 0, displaced);
+					System.arraycopy(elements, source, elements, destination, length);
+					System.arraycopy(buffer, 0, elements, destination + length, displaced);
+				}
 			}
-			// To shift the source range we find a pivoting point and rotate the part of the list
-			// that cover the entire range affected by the move three times - left and right of the pivoting point
-			// and then the entire range.
-			reverseRange(low, pivot);
-			reverseRange(pivot, high);
-			reverseRange(low, high);
+
+			// Do not let the scratch buffer retain moved elements.
+			Arrays.fill(buffer, 0, staged, null);
+			modCount++;
 		}
 	}
-	
-	private void reverseRange(int low, int high) {
-		int l = low;
-		int h = high - 1;
-		
-		while (l < h) {
-			E tmp = get(l);
-			set(l, get(h));
-			set(h,  tmp);
-			l++;
-			h--;
+
+	private Object[] scratch(int length) {
+		if (scratch.length < length) {
+			scratch = new Object[length];
+		}
+
+		return scratch;
+	}
+
+	private void openGap(int index, int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(elements, index, elements, index + length, size - index);
+		size += length;
+		modCount++;
+	}
+
+	private void closeGap(int index, int length) {
+		if (length > 0) {
+			System.arraycopy(elements, index + length, elements, index, size - index - length);
+			Arrays.fill(elements, size - length, size, null);
+			size -= length;
+			modCount++;
+		}
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void checkPositionIndex(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
 		}
 	}
 }
@@ -0,0 +1,399 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Indexed sequence that stores elements in a list of fixed-capacity chunks.
+ * Sizes of chunks are kept in a Fenwick tree, so locating the chunk that holds an element
+ * takes O(log c) where c is the number of chunks; positional inserts and removals shift
+ * at most one chunk instead of the entire tail of the sequence.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements in the sequence.
+ */
+final class ChunkedList<E> implements IMutableRandomAccess<E> {
+
+	static final int DEFAULT_CHUNK_CAPACITY = 512;
+
+	private final int chunkCapacity;
+	private final List<Chunk> chunks;
+	private int[] tree;	// Fenwick tree of chunk sizes, 1-based
+	private int size;
+
+	private static final class Chunk {
+		private final Object[] items;
+		private int size;
+
+		Chunk(int capacity) {
+			this.items = new Object[capacity];
+			this.size = 0;
+		}
+
+		boolean isFull() {
+			return size == items.length;
+		}
+
+		void insert(int offset, Object value) {
+			System.arraycopy(items, offset, items, offset + 1, size - offset);
+			items[offset] = value;
+			size++;
+		}
+
+		void insert(int offset, Object[] values, int start, int length) {
+			System.arraycopy(items, offset, items, offset + length, size - offset);
+			System.arraycopy(values, start, items, offset, length);
+			size += length;
+		}
+
+		void remove(int offset, int length) {
+			System.arraycopy(items, offset + length, items, offset, size - offset - length);
+			Arrays.fill(items, size - length, size, null);
+			size -= length;
+		}
+
+		Chunk split(int offset, int capacity) {
+			Chunk tail = new Chunk(capacity);
+			tail.size = size - offset;
+			System.arraycopy(items, offset, tail.items, 0, tail.size);
+			Arrays.fill(items, offset, size, null);
+			size = offset;
+			return tail;
+		}
+	}
+
+	ChunkedList() {
+		this(DEFAULT_CHUNK_CAPACITY);
+	}
+
+	ChunkedList(int chunkCapacity) {
+		if (chunkCapacity < 2) {
+			throw new IllegalArgumentException("chunk capacity must be at least 2");
+		}
+
+		this.chunkCapacity = chunkCapacity;
+		this.chunks = new ArrayList<>();
+		this.tree = new int[1];
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkElementIndex(index);
+		final long location = locate(index);
+		return (E) chunks.get(chunkOf(location)).items[offsetOf(location)];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E value) {
+		checkElementIndex(index);
+		final long location = locate(index);
+		final Object[] items = chunks.get(chunkOf(location)).items;
+		final int offset = offsetOf(location);
+		final E oldValue = (E) items[offset];
+		items[offset] = value;
+		return oldValue;
+	}
+
+	@Override
+	public void setAll(int index, Collection<? extends E> values) {
+		final Object[] items = values.toArray();
+
+		if (index < 0 || index + items.length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (items.length > 0) {
+			final long location = locate(index);
+			int chunkIndex = chunkOf(location);
+			int offset = offsetOf(location);
+			int copied = 0;
+
+			while (copied < items.length) {
+				final Chunk chunk = chunks.get(chunkIndex++);
+				final int length = Math.min(items.length - copied, chunk.size - offset);
+				System.arraycopy(items, copied, chunk.items, offset, length);
+				copied += length;
+				offset = 0;
+			}
+		}
+	}
+
+	@Override
+	public void add(int index, E value) {
+		checkPositionIndex(index);
+
+		if (chunks.isEmpty()) {
+			chunks.add(new Chunk(chunkCapacity));
+			rebuildIndex();
+		}
+
+		int chunkIndex;
+		int offset;
+
+		if (index == size) {
+			chunkIndex = chunks.size() - 1;
+			offset = chunks.get(chunkIndex).size;
+		} else {
+			final long location = locate(index);
+			chunkIndex = chunkOf(location);
+			offset = offsetOf(location);
+		}
+
+		Chunk chunk = chunks.get(chunkIndex);
+
+		if (chunk.isFull() && index == size) {
+			//
+			// Appending to the full last chunk starts a new chunk, so appended sequences stay densely packed.
+			//
+			chunk = new Chunk(chunkCapacity);
+			chunk.insert(0, value);
+			chunks.add(chunk);
+			size++;
+			rebuildIndex();
+		} else if (chunk.isFull()) {
+			//
+			// Split the full chunk in halves and insert the new element in the half that covers the offset.
+			//
+			final int half = chunk.size / 2;
+			chunks.add(chunkIndex + 1, chunk.split(half, chunkCapacity));
+
+			if (offset > half) {
+				offset -= half;
+				chunk = chunks.get(chunkIndex + 1);
+			}
+			chunk.insert(offset, value);
+			size++;
+			rebuildIndex();
+		} else {
+			chunk.insert(offset, value);
+			size++;
+			updateIndex(chunkIndex, 1);
+		}
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> values) {
+		checkPositionIndex(index);
+		final Object[] items = values.toArray();
+		final int length = items.length;
+
+		if (length == 0) {
+			return false;
+		}
+
+		int chunkIndex;
+		int offset;
+
+		if (index == size) {
+			chunkIndex = chunks.size() - 1;
+			offset = chunkIndex < 0 ? 0 : chunks.get(chunkIndex).size;
+		} else {
+			final long location = locate(index);
+			chunkIndex = chunkOf(location);
+			offset = offsetOf(location);
+		}
+
+		if (chunkIndex >= 0 && chunks.get(chunkIndex).size + length <= chunkCapacity) {
+			chunks.get(chunkIndex).insert(offset, items, 0, length);
+			size += length;
+			updateIndex(chunkIndex, length);
+		} else {
+			//
+			// Cut the target chunk at the insertion point and splice new chunks in between.
+			//
+			if (chunkIndex < 0) {
+				chunkIndex = 0;
+			} else {
+				final Chunk chunk = chunks.get(chunkIndex);
+
+				if (offset < chunk.size) {
+					chunks.add(chunkIndex + 1, chunk.split(offset, chunkCapacity));
+				}
+				chunkIndex++;
+			}
+
+			final List<Chunk> newChunks = new ArrayList<>(length / chunkCapacity + 1);
+
+			for (int start = 0; start < length; start += chunkCapacity) {
+				final Chunk chunk = new Chunk(chunkCapacity);
+				chunk.insert(0, items, start, Math.min(chunkCapacity, length - start));
+				newChunks.add(chunk);
+			}
+
+			chunks.addAll(chunkIndex, newChunks);
+			size += length;
+			rebuildIndex();
+		}
+
+		return true;
+	}
+
+	@Override
+	public void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (length > 0) {
+			final long location = locate(start);
+			final int startChunk = chunkOf(location);
+			int chunkIndex = startChunk;
+			int offset = offsetOf(location);
+			int remaining = length;
+			boolean structural = false;
+
+			while (remaining > 0) {
+				final Chunk chunk = chunks.get(chunkIndex);
+				final int removed = Math.min(remaining, chunk.size - offset);
+
+				remaining -= removed;
+				if (removed == chunk.size) {
+					chunks.remove(chunkIndex);
+					structural = true;
+				} else {
+					chunk.remove(offset, removed);
+					if (!structural) {
+						updateIndex(chunkIndex, -removed);
+					}
+					chunkIndex++;
+				}
+				offset = 0;
+			}
+
+			size -= length;
+			//
+			// Merge chunks around the removed range if they became small, so removals
+			// do not leave long runs of tiny chunks behind.
+			//
+			structural |= mergeIfSmall(startChunk);
+			structural |= mergeIfSmall(startChunk - 1);
+
+			if (structural) {
+				rebuildIndex();
+			}
+		}
+	}
+
+	@Override
+	public void move(int source, int destination, int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + length > size || destination + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && length > 0) {
+			final List<E> moved = new ArrayList<>(length);
+
+			for (int i = source; i < source + length; ++i) {
+				moved.add(get(i));
+			}
+			remove(source, length);
+			addAll(destination, moved);
+		}
+	}
+
+	@Override
+	public void clear() {
+		chunks.clear();
+		size = 0;
+		rebuildIndex();
+	}
+
+	int chunkCount() {
+		return chunks.size();
+	}
+
+	private boolean mergeIfSmall(int left) {
+		final int right = left + 1;
+		boolean merged = false;
+
+		if (left >= 0 && right < chunks.size()
+				&& chunks.get(left).size + chunks.get(right).size <= chunkCapacity / 2) {
+			final Chunk chunk = chunks.remove(right);
+			chunks.get(left).insert(chunks.get(left).size, chunk.items, 0, chunk.size);
+			merged = true;
+		}
+
+		return merged;
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void checkPositionIndex(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private static int chunkOf(long location) {
+		return (int) (location >>> 32);
+	}
+
+	private static int offsetOf(long location) {
+		return (int) location;
+	}
+
+	private long locate(int elementIndex) {
+		//
+		// Descend the Fenwick tree to find the chunk that contains the element;
+		// return the chunk index and the offset within the chunk packed in a long.
+		//
+		final int count = chunks.size();
+		int position = 0;
+		int remaining = elementIndex;
+
+		for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+			final int next = position + step;
+
+			if (next <= count && tree[next] <= remaining) {
+				position = next;
+				remaining -= tree[next];
+			}
+		}
+
+		return ((long) position << 32) | remaining;
+	}
+
+	private void updateIndex(int chunkIndex, int delta) {
+		for (int i = chunkIndex + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	private void rebuildIndex() {
+		final int count = chunks.size();
+
+		if (tree.length != count + 1) {
+			tree = new int[count + 1];
+		}
+
+		for (int i = 1; i <= count; ++i) {
+			tree[i] = chunks.get(i - 1).size;
+		}
+
+		for (int i = 1; i <= count; ++i) {
+			final int parent = i + (i & -i);
+
+			if (parent <= count) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Observable list that copies changes of a source list through a dispatcher, like DispatchingObservableList,
+ * but collects changes in a log that merges them and dispatches at most one action that applies all logged changes.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class CoalescingDispatchingObservableList<T> extends LinkedReadOnlyObservableList<T> {
+
+	private final IDispatcher dispatcher;
+	private final ArrayListEx<T> data;
+	private final Object logLock;
+	private ListChangeLog<T> log;		// guarded by logLock
+	private boolean drainDispatched;	// guarded by logLock
+
+	private final ListChangeLog.ITarget<T> target = new ListChangeLog.ITarget<T>() {
+		@Override
+		public void added(int startIndex, List<T> items) {
+			data.addAll(startIndex, items);
+			notifyAdded(startIndex, items.size());
+		}
+
+		@Override
+		public void changed(int startIndex, List<T> items) {
+			notifyChanging(startIndex, items.size());
+			data.setAll(startIndex, items);
+			notifyChanged(startIndex, items.size());
+		}
+
+		@Override
+		public void removed(int startIndex, int count) {
+			notifyRemoving(startIndex, count);
+			data.remove(startIndex, count);
+			notifyRemoved(startIndex, count);
+		}
+
+		@Override
+		public void moved(int oldStartIndex, int newStartIndex, int count) {
+			data.move(oldStartIndex, newStartIndex, count);
+			notifyMoved(oldStartIndex, newStartIndex, count);
+		}
+
+		@Override
+		public void reset(List<T> items) {
+			notifyResetting();
+			data.clear();
+			data.addAll(items);
+			notifyReset();
+		}
+	};
+
+	private final IAction drain = new IAction() {
+		@Override
+		public void execute() {
+			final ListChangeLog<T> changes;
+
+			synchronized (logLock) {
+				changes = log;
+				log = new ListChangeLog<>();
+				drainDispatched = false;
+			}
+
+			changes.replay(target);
+		}
+	};
+
+	CoalescingDispatchingObservableList(
+			IReadOnlyObservableList<T> source,
+			IDispatcher dispatcher,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+		this.dispatcher = dispatcher;
+		this.data = new ArrayListEx<>(source.getSize());
+		this.logLock = new Object();
+		this.log = new ListChangeLog<>();
+		this.drainDispatched = false;
+
+		final IResource lock = monitor.acquireRead();
+		final List<T> initialData;
+
+		try {
+			initialData = copyItems(source, 0, source.getSize());
+		} finally {
+			lock.release();
+		}
+
+		if (!initialData.isEmpty()) {
+			//
+			// Observers may subscribe before the dispatched action has executed, so they are notified
+			// about the initial items.
+			//
+			synchronized (logLock) {
+				log.added(0, initialData);
+			}
+			dispatchDrain();
+		}
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected boolean forwardsChangeSets() {
+		//
+		// Changes are reported later on the dispatcher, outside of change sets of the source list.
+		//
+		return false;
+	}
+
+	@Override
+	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = copyItems(source, startIndex, count);
+
+		synchronized (logLock) {
+			log.added(startIndex, items);
+		}
+		dispatchDrain();
+	}
+
+	@Override
+	protected void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = copyItems(source, startIndex, count);
+
+		synchronized (logLock) {
+			log.changed(startIndex, items);
+		}
+		dispatchDrain();
+	}
+
+	@Override
+	protected void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		synchronized (logLock) {
+			log.removed(startIndex, count);
+		}
+		dispatchDrain();
+	}
+
+	@Override
+	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		synchronized (logLock) {
+			log.moved(oldStartIndex, newStartIndex, count);
+		}
+		dispatchDrain();
+	}
+
+	@Override
+	protected void onResetting(IReadOnlyObservableList<T> source) {
+	}
+
+	@Override
+	protected void onReset(IReadOnlyObservableList<T> source) {
+		final List<T> items = copyItems(source, 0, source.getSize());
+
+		synchronized (logLock) {
+			log.reset(items);
+		}
+		dispatchDrain();
+	}
+
+	private void dispatchDrain() {
+		final boolean dispatch;
+
+		synchronized (logLock) {
+			dispatch = !drainDispatched;
+			drainDispatched = true;
+		}
+
+		if (dispatch) {
+			dispatcher.dispatch(drain);
+		}
+	}
+
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		return items;
+	}
+}
@@ -0,0 +1,59 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for copy-on-write arrays of observers and listeners. Arrays are never changed after they have been
+ * published, so notifications iterate a volatile array without locks and without allocating memory;
+ * only adding and removing elements allocates new arrays.
+ * @author Pavel Karpenko
+ */
+final class CopyOnWriteArrays {
+
+	private CopyOnWriteArrays() {
+	}
+
+	/**
+	 * Find an element in an array.
+	 * @param array array to search.
+	 * @param element element to find.
+	 * @return index of the first element of the array equal to the element; -1 if the array has no such element.
+	 */
+	static int indexOf(Object[] array, Object element) {
+		for (int i = 0; i < array.length; ++i) {
+			if (array[i].equals(element)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Make a copy of an array with an element appended at the end.
+	 * @param array copied array.
+	 * @param element appended element.
+	 * @return new array.
+	 */
+	static <E> E[] append(E[] array, E element) {
+		final E[] newArray = Arrays.copyOf(array, array.length + 1);
+
+		newArray[array.length] = element;
+
+		return newArray;
+	}
+
+	/**
+	 * Make a copy of an array without the element at the specified position.
+	 * @param array copied array.
+	 * @param index position of the element that is not copied.
+	 * @return new array.
+	 */
+	static <E> E[] remove(E[] array, int index) {
+		final E[] newArray = Arrays.copyOf(array, array.length - 1);
+
+		System.arraycopy(array, index + 1, newArray, index, array.length - index - 1);
+
+		return newArray;
+	}
+}
@@ -0,0 +1,54 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Factory of dispatchers.
+ * @author Pavel Karpenko
+ *
+ */
+public final class DispatcherTool {
+
+	private DispatcherTool() {
+	}
+
+	/**
+	 * Create a dispatcher that executes actions on the dispatching thread before dispatch() returns.
+	 * @return new dispatcher.
+	 */
+	public static IMeasuredDispatcher createImmediateDispatcher() {
+		return new ImmediateDispatcher();
+	}
+
+	/**
+	 * Create a dispatcher that executes actions on an executor one at a time in the order they have been dispatched.
+	 * @param executor executor that runs the actions; may have any number of threads.
+	 * @return new dispatcher.
+	 */
+	public static IMeasuredDispatcher createSerialDispatcher(Executor executor) {
+		return new SerialDispatcher(executor);
+	}
+
+	/**
+	 * Create a dispatcher that executes actions one at a time in the order they have been dispatched
+	 * on threads made by a thread factory. The dispatcher starts a new thread whenever it gets actions
+	 * after it has been idle, and the thread ends when all dispatched actions have been executed,
+	 * so the dispatcher keeps no thread while there is nothing to do. Use a factory of virtual threads
+	 * where the platform has them, so every pipeline gets its own cheap thread.
+	 * @param threadFactory factory of threads that execute the actions.
+	 * @return new dispatcher.
+	 */
+	public static IMeasuredDispatcher createThreadDispatcher(final ThreadFactory threadFactory) {
+		if (threadFactory == null) {
+			throw new IllegalArgumentException("threadFactory cannot be null");
+		}
+
+		return new SerialDispatcher(new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				threadFactory.newThread(command).start();
+			}
+		});
+	}
+}
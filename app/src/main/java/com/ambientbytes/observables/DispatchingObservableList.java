@@ -4,20 +4,112 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * Observable list that copies changes of a source list to a dispatcher and applies them when the dispatched
+ * actions execute. In the bounded mode, the list limits the backlog - the number of items held by dispatched
+ * actions that have not executed yet, counting at least one item per action. When the backlog grows over the limit,
+ * the list drops all pending changes, stops copying changes and dispatches one action that resets the list
+ * to a snapshot of the source list taken when the action executes.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
 final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T> {
 
 	private final IDispatcher dispatcher;
 	private final ArrayListEx<T> data;
-		
+	private final IReadOnlyObservableList<T> source;
+	private final int maxBacklog;	// 0 for unbounded backlog
+	private final Object backlogLock;
+	private int backlog;			// guarded by backlogLock
+	private int generation;			// guarded by backlogLock; actions of earlier generations have been dropped
+	private boolean overflowed;		// guarded by backlogLock
+
+	private final class BacklogAction implements IAction {
+		private final int generation;
+		private final int cost;
+		private final IAction action;
+
+		BacklogAction(int generation, int cost, IAction action) {
+			this.generation = generation;
+			this.cost = cost;
+			this.action = action;
+		}
+
+		@Override
+		public void execute() {
+			final boolean dropped;
+
+			synchronized (backlogLock) {
+				dropped = generation != DispatchingObservableList.this.generation;
+				if (!dropped) {
+					backlog -= cost;
+				}
+			}
+
+			if (!dropped) {
+				action.execute();
+			}
+		}
+	}
+
+	private final IAction overflowReset = new IAction() {
+		@Override
+		public void execute() {
+			final IResource lock = monitor().acquireRead();
+			final List<T> newItems;
+
+			try {
+				newItems = copyItems(source, 0, source.getSize());
+				//
+				// Changes made after the snapshot are copied and dispatched again; they execute after this action.
+				//
+				synchronized (backlogLock) {
+					overflowed = false;
+				}
+			} finally {
+				lock.release();
+			}
+
+			notifyResetting();
+			data.clear();
+			data.addAll(newItems);
+			notifyReset();
+		}
+	};
+
 	DispatchingObservableList(
 			IReadOnlyObservableList<T> source,
 			IDispatcher dispatcher,
 			IReadWriteMonitor monitor) {
+		this(source, dispatcher, 0, monitor);
+	}
+
+	/**
+	 * Create a dispatching list with a bounded backlog.
+	 * @param maxBacklog largest number of items held by pending dispatched actions before the list drops them
+	 * and dispatches a reset; 0 for unbounded backlog.
+	 */
+	DispatchingObservableList(
+			IReadOnlyObservableList<T> source,
+			IDispatcher dispatcher,
+			int maxBacklog,
+			IReadWriteMonitor monitor) {
 		super(source, monitor);
 		int size = source.getSize();
 
+		if (maxBacklog < 0) {
+			throw new IllegalArgumentException("maxBacklog may not be negative");
+		}
+
 		this.dispatcher = dispatcher;
 		this.data = new ArrayListEx<>(source.getSize());
+		this.source = source;
+		this.maxBacklog = maxBacklog;
+		this.backlogLock = new Object();
+		this.backlog = 0;
+		this.generation = 0;
+		this.overflowed = false;
 		
 		final IResource lock = monitor.acquireRead();
 		final Collection<T> initialData = new ArrayList<>(source.getSize());
@@ -57,15 +149,23 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 		return data.size();
 	}
 
+	@Override
+	protected boolean forwardsChangeSets() {
+		//
+		// Changes are reported later on the dispatcher, outside of change sets of the source list.
+		//
+		return false;
+	}
+
 	@Override
 	protected void onAdded(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
-		final List<T> addedItems = new ArrayList<>(count);
-		
-		for (int i = startIndex; i < startIndex + count; ++i) {
-			addedItems.add(source.getAt(i));
+		if (isOverflowed()) {
+			return;
 		}
+
+		final List<T> addedItems = copyItems(source, startIndex, count);
 		
-		dispatcher.dispatch(new IAction() {
+		dispatchChange(count, new IAction() {
 			@Override public void execute() {
 				data.addAll(startIndex, addedItems);
 				notifyAdded(startIndex, count);
@@ -79,21 +179,17 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 	
 	@Override
 	protected void onChanged(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
-		final Collection<T> newValues = new ArrayList<>(count);
-		
-		for (int i = startIndex; i < startIndex + count; ++i) {
-			newValues.add(source.getAt(i));
+		if (isOverflowed()) {
+			return;
 		}
+
+		final Collection<T> newValues = copyItems(source, startIndex, count);
 		
-		dispatcher.dispatch(new IAction(){
+		dispatchChange(count, new IAction(){
 			@Override
 			public void execute() {
 				notifyChanging(startIndex, count);
-				
-				int i = startIndex;
-				for (T value : newValues) {
-					data.set(i++, value);
-				}
+				data.setAll(startIndex, newValues);
 				notifyChanged(startIndex, count);
 			}
 		});
@@ -101,7 +197,7 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 	
 	@Override
 	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
-		dispatcher.dispatch(new IAction() {
+		dispatchChange(1, new IAction() {
 			@Override public void execute() {
 				notifyRemoving(startIndex, count);
 				data.remove(startIndex, count);
@@ -116,7 +212,7 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 
 	@Override
 	protected void onMoved(IReadOnlyObservableList<T> source, final int oldStartIndex, final int newStartIndex, final int count) {
-		dispatcher.dispatch(new IAction() {
+		dispatchChange(1, new IAction() {
 			@Override public void execute() {
 				data.move(oldStartIndex, newStartIndex, count);
 				notifyMoved(oldStartIndex, newStartIndex, count);
@@ -126,7 +222,7 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 	
 	@Override
 	protected void onResetting(IReadOnlyObservableList<T> source) {
-		dispatcher.dispatch(new IAction() {
+		dispatchChange(1, new IAction() {
 			@Override public void execute() {
 				notifyResetting();
 			}
@@ -135,14 +231,13 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 
 	@Override
 	protected void onReset(IReadOnlyObservableList<T> source) {
-		int size = source.getSize();
-		final List<T> newItems = new ArrayList<>(size);
-		
-		for (int i = 0; i < size; ++i) {
-			newItems.add(source.getAt(i));
+		if (isOverflowed()) {
+			return;
 		}
+
+		final List<T> newItems = copyItems(source, 0, source.getSize());
 		
-		dispatcher.dispatch(new IAction() {
+		dispatchChange(newItems.size(), new IAction() {
 			@Override public void execute() {
 				data.clear();
 				data.addAll(newItems);
@@ -150,4 +245,55 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 			}
 		});
 	}
+
+	private boolean isOverflowed() {
+		synchronized (backlogLock) {
+			return overflowed;
+		}
+	}
+
+	private void dispatchChange(int itemsCount, IAction action) {
+		if (maxBacklog == 0) {
+			dispatcher.dispatch(action);
+			return;
+		}
+
+		final int cost = Math.max(1, itemsCount);
+		final int actionGeneration;
+		final boolean overflow;
+
+		synchronized (backlogLock) {
+			if (overflowed) {
+				//
+				// The dispatched reset will pick up the change.
+				//
+				return;
+			}
+
+			backlog += cost;
+			overflow = backlog > maxBacklog;
+			if (overflow) {
+				overflowed = true;
+				generation++;
+				backlog = 0;
+			}
+			actionGeneration = generation;
+		}
+
+		if (overflow) {
+			dispatcher.dispatch(overflowReset);
+		} else {
+			dispatcher.dispatch(new BacklogAction(actionGeneration, cost, action));
+		}
+	}
+
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		return items;
+	}
 }
@@ -0,0 +1,122 @@
+package com.ambientbytes.observables;
+
+/**
+ * Builders of chains of observable lists of double values.
+ * Instances are created by ListBuilder; the class mirrors ListBuilder's chained builders.
+ * @author Pavel Karpenko
+ */
+final class DoubleListBuilder {
+
+	private DoubleListBuilder() {
+	}
+
+	private abstract static class MonitoredDoubleListBuilder implements IDoubleListBuilder {
+
+		private final IReadWriteMonitor monitor;
+		private final ITrigger unlinker;
+
+		MonitoredDoubleListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+			this.monitor = monitor;
+			this.unlinker = unlinker;
+		}
+
+		protected abstract IReadOnlyDoubleObservableList buildList();
+
+		@Override
+		public final IDoubleListBuilder filter(IObservableReference<IDoubleItemFilter> filter) {
+			return new FilteringDoubleListBuilder(this, unlinker, monitor, filter);
+		}
+
+		@Override
+		public final IDoubleListBuilder order(IObservableReference<IDoubleItemsOrder> order) {
+			return new OrderingDoubleListBuilder(this, unlinker, monitor, order);
+		}
+
+		@Override
+		public final IReadOnlyDoubleObservableList build() {
+			final IReadOnlyDoubleObservableList list = buildList();
+
+			if (unlinker != null && list instanceof ILinked) {
+				ListBuilder.Unlinker.attachUnlinker((ILinked) list, unlinker);
+			}
+
+			return list;
+		}
+
+		protected final IReadWriteMonitor monitor() {
+			return monitor;
+		}
+	}
+
+	private final static class StraightDoubleListBuilder extends MonitoredDoubleListBuilder {
+
+		private final IReadOnlyDoubleObservableList sourceList;
+
+		StraightDoubleListBuilder(IReadOnlyDoubleObservableList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.sourceList = sourceList;
+		}
+
+		@Override
+		protected IReadOnlyDoubleObservableList buildList() {
+			return sourceList;
+		}
+	}
+
+	private final static class MutableDoubleListBuilder extends MonitoredDoubleListBuilder {
+
+		private final IDoubleListMutatorListener mutator;
+
+		MutableDoubleListBuilder(IDoubleListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.mutator = mutator;
+		}
+
+		@Override
+		protected IReadOnlyDoubleObservableList buildList() {
+			return new MutableDoubleObservableList(mutator, monitor());
+		}
+	}
+
+	private final static class FilteringDoubleListBuilder extends MonitoredDoubleListBuilder {
+
+		private final IDoubleListBuilder source;
+		private final IObservableReference<IDoubleItemFilter> filter;
+
+		FilteringDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IDoubleItemFilter> filter) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.filter = filter;
+		}
+
+		@Override
+		protected IReadOnlyDoubleObservableList buildList() {
+			return new FilteringDoubleObservableList(source.build(), filter, monitor());
+		}
+	}
+
+	private final static class OrderingDoubleListBuilder extends MonitoredDoubleListBuilder {
+
+		private final IDoubleListBuilder source;
+		private final IObservableReference<IDoubleItemsOrder> order;
+
+		OrderingDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IDoubleItemsOrder> order) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.order = order;
+		}
+
+		@Override
+		protected IReadOnlyDoubleObservableList buildList() {
+			return new OrderingDoubleObservableList(source.build(), order, monitor());
+		}
+	}
+
+	static IDoubleListBuilder mutable(IDoubleListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new MutableDoubleListBuilder(mutator, unlinker, monitor);
+	}
+
+	static IDoubleListBuilder source(IReadOnlyDoubleObservableList source, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new StraightDoubleListBuilder(source, unlinker, monitor);
+	}
+}
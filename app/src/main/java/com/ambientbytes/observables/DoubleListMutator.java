@@ -0,0 +1,108 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutator of observable lists of double values that forwards all requests to registered listeners.
+ * @author Pavel Karpenko
+ */
+public final class DoubleListMutator implements IDoubleListMutator, IDoubleListMutatorListener {
+
+	private final IReadWriteMonitor monitor;
+	private volatile IDoubleListMutator[] listeners;	// copy-on-write
+
+	public DoubleListMutator(IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.listeners = new IDoubleListMutator[0];
+	}
+
+	@Override
+	public void addListener(IDoubleListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (listener == null || CopyOnWriteArrays.indexOf(listeners, listener) >= 0) {
+				throw new IllegalArgumentException("Listeners must be unique and non-null.");
+			}
+			listeners = CopyOnWriteArrays.append(listeners, listener);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void removeListener(IDoubleListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final int index = CopyOnWriteArrays.indexOf(listeners, listener);
+
+			if (index >= 0) {
+				listeners = CopyOnWriteArrays.remove(listeners, index);
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void add(double value) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, double value) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, double[] values) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, double value) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, double[] values) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(double[] newItems) {
+		for (IDoubleListMutator mutator : listeners) {
+			mutator.reset(newItems);
+		}
+	}
+}
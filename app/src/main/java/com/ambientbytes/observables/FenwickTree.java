@@ -0,0 +1,120 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Growable sequence of integer values with O(log n) updates of values and sums of prefixes of the sequence.
+ * @author Pavel Karpenko
+ */
+final class FenwickTree {
+
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] tree;	// 1-based; tree[i] is the sum of values in (i - lowbit(i), i]
+	private int size;
+
+	FenwickTree() {
+		this.tree = new int[MIN_CAPACITY + 1];
+		this.size = 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Append a new value at the end of the sequence.
+	 * @param value appended value.
+	 */
+	void append(int value) {
+		if (size + 1 == tree.length) {
+			tree = Arrays.copyOf(tree, tree.length * 2);
+		}
+
+		final int node = ++size;
+		//
+		// The new node covers the range that ends at the node; add sums of nodes that are already in the range.
+		//
+		int sum = value;
+
+		for (int i = node - 1, end = node - (node & -node); i > end; i -= i & -i) {
+			sum += tree[i];
+		}
+		tree[node] = sum;
+	}
+
+	/**
+	 * Add a delta to the value at the specified position.
+	 * @param index zero-based position of the changed value.
+	 * @param delta value added to the value at the position.
+	 */
+	void add(int index, int delta) {
+		checkElementIndex(index);
+
+		for (int i = index + 1; i <= size; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Get the value at the specified position.
+	 * @param index zero-based position of the value.
+	 * @return value at the position.
+	 */
+	int get(int index) {
+		checkElementIndex(index);
+		return prefixSum(index + 1) - prefixSum(index);
+	}
+
+	/**
+	 * Get the sum of values before the specified position.
+	 * @param end zero-based position that follows the last summed value.
+	 * @return sum of values at positions from 0 to end - 1.
+	 */
+	int prefixSum(int end) {
+		if (end < 0 || end > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int sum = 0;
+
+		for (int i = end; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Find the position of the value that covers an element if the values are sizes of consecutive ranges of elements.
+	 * @param element zero-based index of the element.
+	 * @return zero-based position of the first value for which the sum of values up to and including the value
+	 * is greater than element; size of the sequence if the sum of all values is not greater than element.
+	 */
+	int search(int element) {
+		int position = 0;
+		int remaining = element;
+
+		for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+			final int next = position + step;
+
+			if (next <= size && tree[next] <= remaining) {
+				position = next;
+				remaining -= tree[next];
+			}
+		}
+
+		return position;
+	}
+
+	void clear() {
+		Arrays.fill(tree, 0, size + 1, 0);
+		size = 0;
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
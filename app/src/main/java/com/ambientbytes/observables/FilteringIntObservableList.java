@@ -0,0 +1,214 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable list of int values that passes through values of another list that comply with a filter.
+ * Unlike FilteringReadOnlyObservableList, the list keeps values in the order of the source list;
+ * values have no identity, so the list tracks which positions of the source pass the filter.
+ * @author Pavel Karpenko
+ */
+final class FilteringIntObservableList implements IReadOnlyIntObservableList, ILinked {
+
+	private final IReadWriteMonitor monitor;
+	private final ListObservers<Integer> observers;
+	private final IntArrayList data;
+	private final RankedFlags included;	// set for each source position that passes the filter
+	private final IObservableReference<IIntItemFilter> filterRef;
+	private final IReferenceListener<IIntItemFilter> filterListener;
+	private IReadOnlyIntObservableList source;
+	private IListObserver sourceObserver;
+
+	FilteringIntObservableList(
+			IReadOnlyIntObservableList source,
+			IObservableReference<IIntItemFilter> filter,
+			IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.observers = new ListObservers<>(monitor);
+		this.data = new IntArrayList(source.getSize());
+		this.included = new RankedFlags();
+		this.filterRef = filter;
+		this.source = source;
+		this.filterListener = new IReferenceListener<IIntItemFilter>() {
+			@Override
+			public void changed(IObservableReference<IIntItemFilter> sender, IIntItemFilter oldValue) {
+				onFilterChanged();
+			}
+		};
+		this.sourceObserver = new IListObserver() {
+			@Override public void added(int startIndex, int count) { onAdded(startIndex, count); }
+			@Override public void changing(int startIndex, int count) { /* do nothing */ }
+			@Override public void changed(int startIndex, int count) { onChanged(startIndex, count); }
+			@Override public void removing(int startIndex, int count) { onRemoving(startIndex, count); }
+			@Override public void removed(int startIndex, int count) { /* do nothing */ }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { onMoved(oldStartIndex, newStartIndex, count); }
+			@Override public void resetting() { observers.resetting(); }
+			@Override public void reset() { onReset(); }
+		};
+
+		IResource res = monitor.acquireRead();
+
+		try {
+			rebuild();
+		} finally {
+			res.release();
+		}
+
+		this.filterRef.addListener(filterListener);
+		this.source.addObserver(sourceObserver);
+	}
+
+	@Override
+	public int getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		if (source != null) {
+			source.removeObserver(sourceObserver);
+			filterRef.removeListener(filterListener);
+			source = null;
+			sourceObserver = null;
+		}
+	}
+
+	private void onAdded(int startIndex, int count) {
+		final IIntItemFilter filter = filterRef.getValue();
+		final int position = rank(startIndex);
+		int added = 0;
+
+		included.insertGap(startIndex, count);
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			if (filter.isIn(source.getAt(i))) {
+				included.set(i, true);
+				++added;
+			}
+		}
+
+		if (added > 0) {
+			data.insertGap(position, added);
+			int index = position;
+
+			for (int i = startIndex; i < startIndex + count; ++i) {
+				if (included.get(i)) {
+					data.set(index++, source.getAt(i));
+				}
+			}
+			observers.added(position, added);
+		}
+	}
+
+	private void onChanged(int startIndex, int count) {
+		final IIntItemFilter filter = filterRef.getValue();
+		int position = rank(startIndex);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			final int value = source.getAt(i);
+			final boolean wasIn = included.get(i);
+			final boolean isIn = filter.isIn(value);
+
+			if (wasIn && isIn) {
+				observers.changing(position, 1);
+				data.set(position, value);
+				observers.changed(position, 1);
+				++position;
+			} else if (wasIn) {
+				included.set(i, false);
+				observers.removing(position, 1);
+				data.remove(position, 1);
+				observers.removed(position, 1);
+			} else if (isIn) {
+				included.set(i, true);
+				data.add(position, value);
+				observers.added(position, 1);
+				++position;
+			}
+		}
+	}
+
+	private void onRemoving(int startIndex, int count) {
+		//
+		// Values that pass the filter are kept in the order of the source list,
+		// so the removed ones form one contiguous range.
+		//
+		final int position = rank(startIndex);
+		final int removed = included.count(startIndex, count);
+
+		included.remove(startIndex, count);
+
+		if (removed > 0) {
+			observers.removing(position, removed);
+			data.remove(position, removed);
+			observers.removed(position, removed);
+		}
+	}
+
+	private void onMoved(int oldStartIndex, int newStartIndex, int count) {
+		final int oldPosition = rank(oldStartIndex);
+		final int moved = included.count(oldStartIndex, count);
+
+		included.move(oldStartIndex, newStartIndex, count);
+
+		final int newPosition = rank(newStartIndex);
+
+		if (moved > 0 && oldPosition != newPosition) {
+			data.move(oldPosition, newPosition, moved);
+			observers.moved(oldPosition, newPosition, moved);
+		}
+	}
+
+	private void onReset() {
+		rebuild();
+		observers.reset();
+	}
+
+	private void onFilterChanged() {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (source != null) {
+				observers.resetting();
+				rebuild();
+				observers.reset();
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	private void rebuild() {
+		final IIntItemFilter filter = filterRef.getValue();
+		final int size = source.getSize();
+
+		data.clear();
+		included.clear();
+		for (int i = 0; i < size; ++i) {
+			final int value = source.getAt(i);
+
+			if (filter.isIn(value)) {
+				included.add(true);
+				data.add(value);
+			} else {
+				included.add(false);
+			}
+		}
+	}
+
+	private int rank(int sourceIndex) {
+		return included.rank(sourceIndex);
+	}
+}
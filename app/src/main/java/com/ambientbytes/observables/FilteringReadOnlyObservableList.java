@@ -2,15 +2,21 @@ package com.ambientbytes.observables;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
 final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableList<T> {
 	
-	private final ArrayListEx<ItemContainer> data;
+	private final RankedTree<ItemContainer> data;
+	//
+	// Identity index of containers in data; finds position of an item in O(log n) through the container's
+	// tree node. Containers of the same item added more than once are chained through ItemContainer.duplicate.
+	//
+	private final Map<T, ItemContainer> positions;
 	private final Map<T, ItemContainer> filteredOutItems;
 	private final IObservableReference<IItemFilter<T>> filterRef;
     private final IReferenceListener<IItemFilter<T>> filterListener;
@@ -20,6 +26,8 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		
 		private final T item;
 		private final IMutableObject mutable;
+		private RankedTree.Node<ItemContainer> node;
+		private ItemContainer duplicate;
 		
 		public ItemContainer(T item) {
 			this.item = item;
@@ -55,8 +63,9 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		super(source, monitor);
 
         final int size = source.getSize();
-		this.data = new ArrayListEx<ItemContainer>(size);
-		this.filteredOutItems = new HashMap<T, ItemContainer>();
+		this.data = new RankedTree<>();
+		this.positions = new IdentityHashMap<>(size);
+		this.filteredOutItems = new LinkedHashMap<T, ItemContainer>();
 		this.pendingChange = null;
         this.filterListener = new IReferenceListener<IItemFilter<T>>() {
             @Override
@@ -88,6 +97,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		removeMutableObserverFromItems(data);
 		removeMutableObserverFromItems(filteredOutItems.values());
 		filteredOutItems.clear();
+		positions.clear();
 	}
 	
 	@Override
@@ -121,9 +131,10 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 			if (container != null) {
 				container.unadvise();
 			} else {
-				int index = indexOfContainer(changingItem);
+				final ItemContainer changingContainer = unindexItem(changingItem);
+				final int index = data.indexOf(changingContainer.node);
 				
-				data.get(index).unadvise();
+				changingContainer.unadvise();
 				//
 				// Remember position of the changing item so it can be replaced with a new one later.
 				//
@@ -134,6 +145,18 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 	
 	@Override
 	protected void onChanged(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
+		//
+		// Changed items may be reported as several changes, additions and removals.
+		//
+		beginChangeSet();
+		try {
+			replaceChangedItems(source, startIndex, count);
+		} finally {
+			endChangeSet();
+		}
+	}
+
+	private void replaceChangedItems(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		Collection<ItemContainer> backItems = null;
 		int backItemsCapacity = pendingChange.size();
 		Iterator<Integer> emptySlots = pendingChange.iterator();
@@ -146,7 +169,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 				if (emptySlots.hasNext()) {
 					final int index = emptySlots.next().intValue();
 					notifyChanging(index, 1);
-					data.set(index, container);
+					placeContainer(data.nodeAt(index), container);
 					// TODO: optimize reporting - build ranges if added items are adjacent.
 					notifyChanged(index, 1);
 					backItemsCapacity--;
@@ -169,7 +192,9 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 			// Items must be added at the back of the list.
 			//
 			final int index = data.size();
-			data.addAll(backItems);
+			for (ItemContainer container : backItems) {
+				appendContainer(container);
+			}
 			notifyAdded(index, backItems.size());
 		} else {
 			//
@@ -213,6 +238,15 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 
 	@Override
 	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
+		beginChangeSet();
+		try {
+			removeItems(source, startIndex, count);
+		} finally {
+			endChangeSet();
+		}
+	}
+
+	private void removeItems(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		Set<Integer> removedIndexes = new TreeSet<>();
 		
 		for (int i = startIndex; i < startIndex + count; ++i) {
@@ -223,10 +257,10 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 				// No need to notify observers; the item was not visible to them.
 				container.unadvise();
 			} else {
-				int index = indexOfContainer(removedItem);
+				final ItemContainer removedContainer = unindexItem(removedItem);
 				
-				if (index >= 0) {
-					removedIndexes.add(index);
+				if (removedContainer != null) {
+					removedIndexes.add(data.indexOf(removedContainer.node));
 				}
 			}
 		}
@@ -283,6 +317,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		removeMutableObserverFromItems(data);
 		removeMutableObserverFromItems(filteredOutItems.values());		
 		data.clear();
+		positions.clear();
 		filteredOutItems.clear();
 
 		int size = source.getSize();
@@ -295,24 +330,77 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 	}
 
 	private void setFilter(IItemFilter<T> filter) {
-        Collection<ItemContainer> allItems = new ArrayList<ItemContainer>(data.size() + filteredOutItems.size());
-
-        notifyResetting();
-
-        allItems.addAll(data);
-        allItems.addAll(filteredOutItems.values());
-        data.clear();
-        filteredOutItems.clear();
-
-        for (ItemContainer c : allItems) {
-            if (filter.isIn(c.item())) {
-                data.add(c);
-            } else {
-                filteredOutItems.put(c.item(), c);
-            }
-        }
+		beginChangeSet();
+		try {
+			applyFilter(filter);
+		} finally {
+			endChangeSet();
+		}
+	}
 
-        notifyReset();
+	private void applyFilter(IItemFilter<T> filter) {
+		//
+		// Apply the new filter incrementally - report removal of the visible items that the new filter rejects
+		// and addition of the filtered out items that it admits, so downstream lists only process
+		// items that have changed their visibility.
+		//
+		final Collection<ItemContainer> admitted = new ArrayList<ItemContainer>();
+		final Iterator<ItemContainer> filteredOut = filteredOutItems.values().iterator();
+		
+		while (filteredOut.hasNext()) {
+			final ItemContainer container = filteredOut.next();
+			
+			if (filter.isIn(container.item())) {
+				admitted.add(container);
+				filteredOut.remove();
+			}
+		}
+		//
+		// Detect ranges of rejected items as pairs of start index and length.
+		//
+		final IntArrayList rejected = new IntArrayList();
+		int index = 0;
+		
+		for (ItemContainer container : data) {
+			if (!filter.isIn(container.item())) {
+				final int last = rejected.size() - 2;
+				
+				if (last >= 0 && rejected.get(last) + rejected.get(last + 1) == index) {
+					rejected.set(last + 1, rejected.get(last + 1) + 1);
+				} else {
+					rejected.add(index);
+					rejected.add(1);
+				}
+			}
+			++index;
+		}
+		//
+		// Remove ranges starting from the back of the list so indexes of the remaining ranges do not shift.
+		//
+		for (int i = rejected.size() - 2; i >= 0; i -= 2) {
+			final int start = rejected.get(i);
+			final int length = rejected.get(i + 1);
+			
+			for (int j = start; j < start + length; ++j) {
+				final ItemContainer container = data.get(j);
+				
+				unindexItem(container.item());
+				container.node = null;
+				filteredOutItems.put(container.item(), container);
+			}
+			notifyRemoving(start, length);
+			data.remove(start, length);
+			notifyRemoved(start, length);
+		}
+		
+		if (!admitted.isEmpty()) {
+			final int start = data.size();
+			
+			for (ItemContainer container : admitted) {
+				appendContainer(container);
+			}
+			notifyAdded(start, admitted.size());
+		}
 	}
 	
 	private void onItemMutated(T item) {
@@ -330,16 +418,18 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 				
 				if (container != null) {
 					int index = this.data.size();
-					this.data.add(container);
+					appendContainer(container);
 					notifyAdded(index, 1);
 				}
 			} else {
-				final int index = indexOfContainer(item);
+				final ItemContainer container = unindexItem(item);
 				
-				if (index >= 0) {
-					filteredOutItems.put(item, data.get(index));
+				if (container != null) {
+					final int index = data.indexOf(container.node);
+					filteredOutItems.put(item, container);
 					notifyRemoving(index, 1);
-					data.remove(index);
+					data.remove(container.node);
+					container.node = null;
 					notifyRemoved(index, 1);
 				}
 			}
@@ -348,7 +438,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		}
 	}
 	
-	private void removeMutableObserverFromItems(Collection<ItemContainer> containers) {
+	private void removeMutableObserverFromItems(Iterable<ItemContainer> containers) {
 		for (ItemContainer container : containers) {
 			container.unadvise();
 		}
@@ -360,7 +450,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		ItemContainer container = new ItemContainer(item);
 		
 		if (added) {
-			this.data.add(container);
+			appendContainer(container);
 		} else {
 			this.filteredOutItems.put(item, container);
 		}
@@ -368,18 +458,29 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		return added;
 	}
 	
-	private int indexOfContainer(T item) {
-		final int size = data.size();
-		int index = -1;
-
-		for (int i = 0; i < size && index < 0;) {
-			if (data.get(i).item() == item) {
-				index = i;
-			} else {
-				++i;
-			}
+	private void appendContainer(ItemContainer container) {
+		container.node = data.add(data.size(), container);
+		indexContainer(container);
+	}
+	
+	private void placeContainer(RankedTree.Node<ItemContainer> node, ItemContainer container) {
+		node.setValue(container);
+		container.node = node;
+		indexContainer(container);
+	}
+	
+	private void indexContainer(ItemContainer container) {
+		container.duplicate = positions.put(container.item(), container);
+	}
+	
+	private ItemContainer unindexItem(T item) {
+		final ItemContainer container = positions.remove(item);
+		
+		if (container != null && container.duplicate != null) {
+			positions.put(item, container.duplicate);
+			container.duplicate = null;
 		}
 		
-		return index;
+		return container;
 	}
 }
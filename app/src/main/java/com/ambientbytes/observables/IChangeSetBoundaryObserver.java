@@ -0,0 +1,18 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observer of the boundaries of change sets of an observable list. Linked lists implement the interface
+ * to make changes they report in response to a change set of the source list parts of their own change set.
+ * @author Pavel Karpenko
+ */
+interface IChangeSetBoundaryObserver extends IListObserver {
+	/**
+	 * Called before the observed list starts making a set of changes. Change sets may be nested.
+	 */
+	void beginChangeSet();
+
+	/**
+	 * Called after the observed list has made all changes of a set.
+	 */
+	void endChangeSet();
+}
@@ -0,0 +1,11 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of double values.
+ * @author Pavel Karpenko
+ */
+public interface IDoubleListBuilder {
+    IDoubleListBuilder filter(IObservableReference<IDoubleItemFilter> filter);
+    IDoubleListBuilder order(IObservableReference<IDoubleItemsOrder> order);
+    IReadOnlyDoubleObservableList build();
+}
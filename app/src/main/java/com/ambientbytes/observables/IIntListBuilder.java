@@ -0,0 +1,11 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of int values.
+ * @author Pavel Karpenko
+ */
+public interface IIntListBuilder {
+    IIntListBuilder filter(IObservableReference<IIntItemFilter> filter);
+    IIntListBuilder order(IObservableReference<IIntItemsOrder> order);
+    IReadOnlyIntObservableList build();
+}
@@ -0,0 +1,67 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a mutator of an observable list of int values.
+ * @author Pavel Karpenko
+ */
+public interface IIntListMutator {
+	/**
+	 * Append a new value at the end of the list.
+	 * @param value value to be added to the list.
+	 */
+	void add(int value);
+
+	/**
+	 * Insert a new value at the specified location and push existing values from that location upwards.
+	 * @param index index where the new value will appear.
+	 * @param value value to be added to the list.
+	 */
+	void add(int index, int value);
+
+	/**
+	 * Insert an array of new values at the specified location and push existing values from that location upwards.
+	 * @param index index where the first inserted value will appear, followed by the rest of the new values.
+	 * @param values values to be added to the list; the list copies the values.
+	 */
+	void add(int index, int[] values);
+
+	/**
+	 * Change a value at the specified index.
+	 * @param index index of the value to be changed.
+	 * @param value new value.
+	 */
+	void set(int index, int value);
+
+	/**
+	 * Change a range of values in the list starting at the specified index.
+	 * @param index index of the first value to be changed.
+	 * @param values new values; the method throws an exception if the values do not fit in the list.
+	 */
+	void set(int index, int[] values);
+
+	/**
+	 * Remove a range of values from the list.
+	 * @param index zero-based index of the first value to be removed.
+	 * @param count number of values to remove.
+	 */
+	void remove(int index, int count);
+
+	/**
+	 * Remove all values from the list.
+	 */
+	void clear();
+
+	/**
+	 * Move a rage of values in the list.
+	 * @param startIndex index of the first value in the moved range.
+	 * @param newIndex index where values must be moved.
+	 * @param count number of values to move.
+	 */
+	void move(int startIndex, int newIndex, int count);
+
+	/**
+	 * Reset contents of the list with new values.
+	 * @param newItems new contents of the list; the list copies the values.
+	 */
+	void reset(int[] newItems);
+}
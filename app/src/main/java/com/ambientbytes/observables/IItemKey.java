@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Function that identifies items of a list. Items with equal keys are treated as the same item
+ * with possibly changed contents.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items.
+ */
+public interface IItemKey<T> {
+	/**
+	 * Get the key of an item.
+	 * @param item item to identify.
+	 * @return key of the item; keys are compared with equals().
+	 */
+	Object keyOf(T item);
+}
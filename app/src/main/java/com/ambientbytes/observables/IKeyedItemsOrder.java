@@ -0,0 +1,19 @@
+package com.ambientbytes.observables;
+
+/**
+ * Order of items that is primarily defined by a numeric key extracted from each item.
+ * Ordering lists compute the key of an item once when the item is added or mutated and compare
+ * the cached keys; isLess is only called to break ties between items with equal keys.
+ * isLess must agree with the keys - an item with a lesser key must be less than an item with a greater key.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of ordered items.
+ */
+public interface IKeyedItemsOrder<T> extends IItemsOrder<T> {
+	/**
+	 * Extract the sort key of an item. Items are ordered by their keys in the ascending order.
+	 * @param item item for that the key is extracted.
+	 * @return sort key of the item.
+	 */
+	long key(T item);
+}
@@ -0,0 +1,33 @@
+package com.ambientbytes.observables;
+
+import java.util.Collection;
+
+/**
+ * Mutator of a keyed observable list that identifies items by keys. Lists find items by their keys
+ * in constant time, so changing m items of a list of n items takes O(m log n) time.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items of the list.
+ */
+public interface IKeyedListMutator<T> {
+	/**
+	 * Replace the item that has the same key as the passed item, or add the item at the end of the list
+	 * if the list has no item with the key.
+	 * @param item new item.
+	 */
+	void upsert(T item);
+
+	/**
+	 * Upsert a collection of items under one write lock. Replaced items are reported as changes
+	 * of runs of adjacent items and added items are reported as one addition at the end of the list.
+	 * If the collection has several items with the same key, the last one wins.
+	 * @param items new items.
+	 */
+	void upsertAll(Collection<T> items);
+
+	/**
+	 * Remove the item with the specified key; do nothing if the list has no item with the key.
+	 * @param key key of the item to remove.
+	 */
+	void removeByKey(Object key);
+}
@@ -0,0 +1,21 @@
+package com.ambientbytes.observables;
+
+/**
+ * Listener of requests from a keyed list mutator.
+ * @param <T> type of items in the list changed by the corresponding mutator.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IKeyedListMutatorListener<T> {
+	/**
+	 * Add a new unique non-null listener object.
+	 * @param listener unique non-null listener object to be added.
+	 */
+	void addListener(IKeyedListMutator<T> listener);
+
+	/**
+	 * Remove a listener object.
+	 * @param listener listener to be removed.
+	 */
+	void removeListener(IKeyedListMutator<T> listener);
+}
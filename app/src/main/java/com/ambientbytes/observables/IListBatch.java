@@ -0,0 +1,20 @@
+package com.ambientbytes.observables;
+
+/**
+ * Batch of changes of an observable list applied by IListMutator.batch().
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items of the list.
+ */
+public interface IListBatch<T> {
+	/**
+	 * Make the changes of the batch with the passed mutator. The mutator records the changes and merges
+	 * adjacent and overlapping ones; the list applies them when the method returns, so reading the list
+	 * in the method returns items that the list had before the batch. If the method throws an exception,
+	 * the list does not change.
+	 * A mutator that changes several lists calls the method once for each list, so the method must make
+	 * the same changes every time it is called.
+	 * @param mutator mutator that records changes of the batch.
+	 */
+	void apply(IListMutator<T> mutator);
+}
@@ -1,5 +1,8 @@
 package com.ambientbytes.observables;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Interface of an observable list builder.
  * @author Pavel Karpenko
@@ -7,8 +10,55 @@ package com.ambientbytes.observables;
 
 public interface IListBuilder<T> {
     IListBuilder<T> dispatch(IDispatcher dispatcher);
+    /**
+     * Copy changes through the dispatcher, holding at most maxBacklog items in dispatched actions
+     * that have not executed; when the backlog overflows, pending changes are dropped and replaced
+     * with one reset to a snapshot of the source list.
+     */
+    IListBuilder<T> dispatch(IDispatcher dispatcher, int maxBacklog);
+    /**
+     * Copy changes through the dispatcher, merging changes that arrive before the dispatcher has
+     * executed the previously dispatched action and applying them with one dispatched action.
+     */
+    IListBuilder<T> dispatchCoalesced(IDispatcher dispatcher);
+    /**
+     * Start a new segment of the pipeline: copy changes into a queue and apply them on the executor under
+     * the write lock of the passed monitor, so lists built behind this one run on the executor
+     * instead of the thread that changes the source. Lists behind this one use the passed monitor,
+     * which must not be the monitor of the lists in front of it.
+     */
+    IListBuilder<T> pipeline(Executor executor, IReadWriteMonitor monitor);
+    /**
+     * Continue the chain with lists guarded by another monitor. Changes are copied into the new segment
+     * on the thread that changes the source, under the write locks of both monitors taken in the order
+     * of the chain, so a source change still reaches the chains that share the source one after another
+     * while the source write lock is held. Only changes made inside the new segment, such as a new filter
+     * or order, lock just its monitor and may run in parallel with other chains; chains process source
+     * changes concurrently only when their segments start with {@link #pipeline(Executor, IReadWriteMonitor)}.
+     * The passed monitor must not be the monitor of the lists in front of it.
+     */
+    IListBuilder<T> monitor(IReadWriteMonitor monitor);
     IListBuilder<T> filter(IObservableReference<IItemFilter<T>> filter);
     IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order);
+    /**
+     * Order items and report changes of the order as moves of items rather than a reset,
+     * unless re-ordering needs more than maxReorderMoves moves.
+     */
+    IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order, int maxReorderMoves);
     <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper);
+    /**
+     * Map items lazily - only when they are read, keeping mapped items in a cache managed by the cache policy.
+     */
+    <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, IMappingCachePolicy<TMapped> cachePolicy);
+    /**
+     * Map items and map batches of at least parallelThreshold added or reset items on the pool.
+     * The mapper is called concurrently on threads of the pool and must be thread safe.
+     */
+    <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, ForkJoinPool pool, int parallelThreshold);
     IReadOnlyObservableList<T> build();
+    /**
+     * Build the chain of lists and add a list that keeps its items in a persistent vector
+     * and takes immutable snapshots of them in constant time.
+     */
+    ISnapshotObservableList<T> buildWithSnapshots();
 }
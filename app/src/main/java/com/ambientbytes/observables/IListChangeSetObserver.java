@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observer of an observable list that receives changes the list makes in one go as a single change set.
+ * Lists notify the observer with the fine-grained callbacks of IListObserver about single changes;
+ * when a list makes several changes at once, for example when it applies a batch of changes, re-filters
+ * or re-orders its items, the observer receives no fine-grained callbacks for them and is called once
+ * with all of the changes after they have been applied.
+ * @author Pavel Karpenko
+ */
+public interface IListChangeSetObserver extends IListObserver {
+	/**
+	 * Called after the observed list has applied a set of changes.
+	 * @param changeSet applied changes in the order they have been made.
+	 */
+	void applied(ListChangeSet changeSet);
+}
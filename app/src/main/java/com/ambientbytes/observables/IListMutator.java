@@ -73,4 +73,11 @@ public interface IListMutator<T> {
 	 * @param newItems new contents of the list.
 	 */
 	void reset(Collection<T> newItems);
+
+	/**
+	 * Apply a batch of changes under one write lock. Changes made by the batch are merged, so observers
+	 * receive one notification for every run of adjacent or overlapping changes instead of one for every change.
+	 * @param batch batch of changes.
+	 */
+	void batch(IListBatch<T> batch);
 }
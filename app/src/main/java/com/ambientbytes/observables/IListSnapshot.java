@@ -0,0 +1,30 @@
+package com.ambientbytes.observables;
+
+/**
+ * Immutable snapshot of the contents of an observable list. Snapshots never change, so any thread
+ * may read them without locks while the list keeps changing.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+public interface IListSnapshot<T> extends Iterable<T> {
+	/**
+	 * Get the version of the list the snapshot has been taken from. The version grows with every change
+	 * of the list, so snapshots with the same version have the same contents.
+	 * @return version of the list.
+	 */
+	long getVersion();
+
+	/**
+	 * Get an item at the specified index.
+	 * @param index zero-based index of the item to retrieve.
+	 * @return item at the specified index.
+	 */
+	T getAt(int index);
+
+	/**
+	 * Get the size of the snapshot.
+	 * @return number of items in the snapshot.
+	 */
+	int getSize();
+}
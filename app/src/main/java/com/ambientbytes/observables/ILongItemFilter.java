@@ -0,0 +1,14 @@
+package com.ambientbytes.observables;
+
+/**
+ * Filter of long values for observable lists that filter some values out.
+ * @author Pavel Karpenko
+ */
+public interface ILongItemFilter {
+	/**
+	 * Filtering predicate.
+	 * @param item value tested for complying with the filter.
+	 * @return true if the value passes through the filter; otherwise, false.
+	 */
+	boolean isIn(long item);
+}
@@ -0,0 +1,11 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of long values.
+ * @author Pavel Karpenko
+ */
+public interface ILongListBuilder {
+    ILongListBuilder filter(IObservableReference<ILongItemFilter> filter);
+    ILongListBuilder order(IObservableReference<ILongItemsOrder> order);
+    IReadOnlyLongObservableList build();
+}
@@ -0,0 +1,32 @@
+package com.ambientbytes.observables;
+
+/**
+ * Policy of the cache of mapped items in lazily mapping observable lists.
+ * Lazily mapping lists map items when they are read for the first time and keep mapped items in a cache;
+ * when the cache holds more items than its capacity, least recently read items are evicted first.
+ * @author Pavel Karpenko
+ *
+ * @param <TMapped> type of mapped items.
+ */
+public interface IMappingCachePolicy<TMapped> {
+	/**
+	 * Get the largest number of mapped items held by the cache.
+	 * @return capacity of the cache; must be positive.
+	 */
+	int capacity();
+
+	/**
+	 * Test if a mapped item may be evicted from the cache. Items that may not be evicted stay in the cache
+	 * even if it holds more items than its capacity.
+	 * @param item mapped item, the least recently read item that has not been tested yet.
+	 * @return true if the item may be evicted; otherwise, false.
+	 */
+	boolean isEvictable(TMapped item);
+
+	/**
+	 * Called when a mapped item has left the cache because it has been evicted, or the source item
+	 * has been removed or changed.
+	 * @param item mapped item that has left the cache.
+	 */
+	void released(TMapped item);
+}
@@ -0,0 +1,34 @@
+package com.ambientbytes.observables;
+
+/**
+ * Dispatcher that counts dispatched actions and measures how long actions wait before they are executed.
+ * Counters are updated without locks and may be read by any thread.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IMeasuredDispatcher extends IDispatcher {
+	/**
+	 * @return number of actions that have been dispatched and have not started executing yet.
+	 */
+	long getQueueDepth();
+
+	/**
+	 * @return largest queue depth observed by the dispatcher.
+	 */
+	long getMaxQueueDepth();
+
+	/**
+	 * @return number of actions that have started executing.
+	 */
+	long getExecutedCount();
+
+	/**
+	 * @return total time in nanoseconds that executed actions have waited between dispatching and execution.
+	 */
+	long getTotalLatencyNanos();
+
+	/**
+	 * @return longest time in nanoseconds that an action has waited between dispatching and execution.
+	 */
+	long getMaxLatencyNanos();
+}
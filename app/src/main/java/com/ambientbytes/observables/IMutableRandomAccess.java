@@ -0,0 +1,62 @@
+package com.ambientbytes.observables;
+
+import java.util.Collection;
+
+/**
+ * Random access collection that supports positional mutations.
+ * The interface abstracts the backing storage of mutable observable lists.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of elements in the collection.
+ */
+interface IMutableRandomAccess<T> extends IRandomAccess<T> {
+	/**
+	 * Replace the element at the specified zero-based index.
+	 * @param index zero-based index of the element to replace.
+	 * @param value new value of the element.
+	 * @return old value of the element.
+	 */
+	T set(int index, T value);
+
+	/**
+	 * Replace a range of elements starting at the specified zero-based index.
+	 * @param index zero-based index of the first replaced element.
+	 * @param values new values of the elements; all of them must fit between the index and the end of the collection.
+	 */
+	void setAll(int index, Collection<? extends T> values);
+
+	/**
+	 * Insert an element at the specified zero-based index and shift existing elements upwards.
+	 * @param index zero-based index where the new element will appear.
+	 * @param value element to insert.
+	 */
+	void add(int index, T value);
+
+	/**
+	 * Insert a collection of elements at the specified zero-based index and shift existing elements upwards.
+	 * @param index zero-based index where the first inserted element will appear.
+	 * @param values elements to insert.
+	 * @return true if the collection has changed.
+	 */
+	boolean addAll(int index, Collection<? extends T> values);
+
+	/**
+	 * Remove a range of elements.
+	 * @param start zero-based index of the first removed element.
+	 * @param length number of elements to remove.
+	 */
+	void remove(int start, int length);
+
+	/**
+	 * Move a range of elements to a new position.
+	 * @param source zero-based index of the first moved element.
+	 * @param destination zero-based index where the first moved element will appear after the move.
+	 * @param length number of moved elements.
+	 */
+	void move(int source, int destination, int length);
+
+	/**
+	 * Remove all elements.
+	 */
+	void clear();
+}
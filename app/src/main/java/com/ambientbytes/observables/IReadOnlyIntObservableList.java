@@ -0,0 +1,36 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list of int values.
+ * The list reports its changes to the same observers as IReadOnlyObservableList
+ * but stores and returns values without boxing them.
+ * @author Pavel Karpenko
+ */
+public interface IReadOnlyIntObservableList {
+	/**
+	 * Get a value at the specified index.
+	 * @param index zero-based index of the value to retrieve. If the index is outside of the list,
+	 * the method throws an exception.
+	 * @return value at the specified index.
+	 */
+	int getAt(int index);
+
+	/**
+	 * Get the current size of the list.
+	 * @return size of the list.
+	 */
+	int getSize();
+
+	/**
+	 * Add a new unique non-null observer. An observer may be added to the observable list only once.
+	 * An attempt to add an observer again must throw an exception.
+	 * @param observer new observer that will be receive changes made to the list.
+	 */
+	void addObserver(IListObserver observer);
+
+	/**
+	 * Remove a registered observer.
+	 * @param observer observer to be removed.
+	 */
+	void removeObserver(IListObserver observer);
+}
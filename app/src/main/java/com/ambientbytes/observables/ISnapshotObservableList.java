@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list that takes immutable snapshots of its contents.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+public interface ISnapshotObservableList<T> extends IReadOnlyObservableList<T> {
+	/**
+	 * Take a snapshot of the current contents of the list in constant time.
+	 * @return immutable snapshot of the list.
+	 */
+	IListSnapshot<T> snapshot();
+}
@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Dispatcher that executes actions on the dispatching thread before dispatch() returns.
+ * @author Pavel Karpenko
+ *
+ */
+final class ImmediateDispatcher extends MeasuredDispatcher {
+
+	@Override
+	public void dispatch(IAction action) {
+		final long dispatchTime = dispatched();
+
+		executing(dispatchTime);
+		action.execute();
+	}
+}
@@ -0,0 +1,222 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of int values with range operations done with System.arraycopy.
+ * Counterpart of ArrayListEx for primitive values; nothing is boxed.
+ * @author Pavel Karpenko
+ */
+final class IntArrayList {
+
+	private static final int[] EMPTY = new int[0];
+	private static final int MIN_CAPACITY = 10;
+
+	private int[] elements;
+	private int[] scratch;
+	private int size;
+
+	IntArrayList() {
+		this(0);
+	}
+
+	IntArrayList(int capacity) {
+		this.elements = capacity == 0 ? EMPTY : new int[capacity];
+		this.scratch = EMPTY;
+		this.size = 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int index) {
+		checkElementIndex(index);
+		return elements[index];
+	}
+
+	void set(int index, int value) {
+		checkElementIndex(index);
+		elements[index] = value;
+	}
+
+	void setAll(int index, int[] values) {
+		if (index < 0 || index + values.length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(values, 0, elements, index, values.length);
+	}
+
+	void add(int value) {
+		openGap(size, 1);
+		elements[size - 1] = value;
+	}
+
+	void add(int index, int value) {
+		checkPositionIndex(index);
+		openGap(index, 1);
+		elements[index] = value;
+	}
+
+	void addAll(int index, int[] values) {
+		checkPositionIndex(index);
+		openGap(index, values.length);
+		System.arraycopy(values, 0, elements, index, values.length);
+	}
+
+	/**
+	 * Insert a range of zeroes that the caller will overwrite.
+	 * @param index zero-based index of the first inserted value.
+	 * @param length number of inserted values.
+	 */
+	void insertGap(int index, int length) {
+		checkPositionIndex(index);
+		openGap(index, length);
+		Arrays.fill(elements, index, index + length, 0);
+	}
+
+	void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(elements, start + length, elements, start, size - start - length);
+		size -= length;
+	}
+
+	void move(int source, int destination, int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + length > size || destination + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && length > 0) {
+			//
+			// Stage the shorter of the two rotated segments in the scratch buffer,
+			// shift the longer one with a single arraycopy and put the staged segment back.
+			//
+			final int displaced = Math.abs(destination - source);
+			final int[] buffer = scratch(Math.min(length, displaced));
+
+			if (source < destination) {
+				if (length <= displaced) {
+					System.arraycopy(elements, source, buffer, 0, length);
+					System.arraycopy(elements, source + length, elements, source, displaced);
+					System.arraycopy(buffer, 0, elements, destination, length);
+				} else {
+					System.arraycopy(elements, source + length, buffer, 0, displaced);
+					System.arraycopy(elements, source, elements, destination, length);
+					System.arraycopy(buffer, 0, elements, source, displaced);
+				}
+			} else {
+				if (length <= displaced) {
+					System.arraycopy(elements, source, buffer, 0, length);
+					System.arraycopy(elements, destination, elements, destination + length, displaced);
+					System.arraycopy(buffer, 0, elements, destination, length);
+				} else {
+					System.arraycopy(elements, destination, buffer, 0, displaced);
+					System.arraycopy(elements, source, elements, destination, length);
+					System.arraycopy(buffer, 0, elements, destination + length, displaced);
+				}
+			}
+		}
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Sort values in place with heapsort; the sort does not allocate memory.
+	 * @param order order of values.
+	 */
+	void sort(IIntItemsOrder order) {
+		for (int i = size / 2 - 1; i >= 0; --i) {
+			siftDown(order, i, size);
+		}
+
+		for (int end = size - 1; end > 0; --end) {
+			final int tmp = elements[0];
+			elements[0] = elements[end];
+			elements[end] = tmp;
+			siftDown(order, 0, end);
+		}
+	}
+
+	/**
+	 * Find the index of the first value that is not less than the specified value.
+	 * @param order order of values in the list.
+	 * @param value searched value.
+	 * @return index where the value may be inserted without breaking the order.
+	 */
+	int lowerBound(IIntItemsOrder order, int value) {
+		int left = -1;
+		int right = size;
+
+		while (left + 1 != right) {
+			final int middle = left + (right - left) / 2;
+
+			if (order.isLess(elements[middle], value)) {
+				left = middle;
+			} else {
+				right = middle;
+			}
+		}
+
+		return right;
+	}
+
+	private void siftDown(IIntItemsOrder order, int root, int end) {
+		int parent = root;
+		int child = 2 * parent + 1;
+
+		while (child < end) {
+			if (child + 1 < end && order.isLess(elements[child], elements[child + 1])) {
+				child++;
+			}
+
+			if (!order.isLess(elements[parent], elements[child])) {
+				break;
+			}
+
+			final int tmp = elements[parent];
+			elements[parent] = elements[child];
+			elements[child] = tmp;
+			parent = child;
+			child = 2 * parent + 1;
+		}
+	}
+
+	private int[] scratch(int length) {
+		if (scratch.length < length) {
+			scratch = new int[length];
+		}
+
+		return scratch;
+	}
+
+	private void openGap(int index, int length) {
+		if (size + length > elements.length) {
+			elements = Arrays.copyOf(elements, Math.max(size + length, Math.max(MIN_CAPACITY, elements.length + (elements.length >> 1))));
+		}
+
+		System.arraycopy(elements, index, elements, index + length, size - index);
+		size += length;
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void checkPositionIndex(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
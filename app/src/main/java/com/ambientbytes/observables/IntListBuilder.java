@@ -0,0 +1,122 @@
+package com.ambientbytes.observables;
+
+/**
+ * Builders of chains of observable lists of int values.
+ * Instances are created by ListBuilder; the class mirrors ListBuilder's chained builders.
+ * @author Pavel Karpenko
+ */
+final class IntListBuilder {
+
+	private IntListBuilder() {
+	}
+
+	private abstract static class MonitoredIntListBuilder implements IIntListBuilder {
+
+		private final IReadWriteMonitor monitor;
+		private final ITrigger unlinker;
+
+		MonitoredIntListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+			this.monitor = monitor;
+			this.unlinker = unlinker;
+		}
+
+		protected abstract IReadOnlyIntObservableList buildList();
+
+		@Override
+		public final IIntListBuilder filter(IObservableReference<IIntItemFilter> filter) {
+			return new FilteringIntListBuilder(this, unlinker, monitor, filter);
+		}
+
+		@Override
+		public final IIntListBuilder order(IObservableReference<IIntItemsOrder> order) {
+			return new OrderingIntListBuilder(this, unlinker, monitor, order);
+		}
+
+		@Override
+		public final IReadOnlyIntObservableList build() {
+			final IReadOnlyIntObservableList list = buildList();
+
+			if (unlinker != null && list instanceof ILinked) {
+				ListBuilder.Unlinker.attachUnlinker((ILinked) list, unlinker);
+			}
+
+			return list;
+		}
+
+		protected final IReadWriteMonitor monitor() {
+			return monitor;
+		}
+	}
+
+	private final static class StraightIntListBuilder extends MonitoredIntListBuilder {
+
+		private final IReadOnlyIntObservableList sourceList;
+
+		StraightIntListBuilder(IReadOnlyIntObservableList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.sourceList = sourceList;
+		}
+
+		@Override
+		protected IReadOnlyIntObservableList buildList() {
+			return sourceList;
+		}
+	}
+
+	private final static class MutableIntListBuilder extends MonitoredIntListBuilder {
+
+		private final IIntListMutatorListener mutator;
+
+		MutableIntListBuilder(IIntListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.mutator = mutator;
+		}
+
+		@Override
+		protected IReadOnlyIntObservableList buildList() {
+			return new MutableIntObservableList(mutator, monitor());
+		}
+	}
+
+	private final static class FilteringIntListBuilder extends MonitoredIntListBuilder {
+
+		private final IIntListBuilder source;
+		private final IObservableReference<IIntItemFilter> filter;
+
+		FilteringIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IIntItemFilter> filter) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.filter = filter;
+		}
+
+		@Override
+		protected IReadOnlyIntObservableList buildList() {
+			return new FilteringIntObservableList(source.build(), filter, monitor());
+		}
+	}
+
+	private final static class OrderingIntListBuilder extends MonitoredIntListBuilder {
+
+		private final IIntListBuilder source;
+		private final IObservableReference<IIntItemsOrder> order;
+
+		OrderingIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IIntItemsOrder> order) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.order = order;
+		}
+
+		@Override
+		protected IReadOnlyIntObservableList buildList() {
+			return new OrderingIntObservableList(source.build(), order, monitor());
+		}
+	}
+
+	static IIntListBuilder mutable(IIntListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new MutableIntListBuilder(mutator, unlinker, monitor);
+	}
+
+	static IIntListBuilder source(IReadOnlyIntObservableList source, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new StraightIntListBuilder(source, unlinker, monitor);
+	}
+}
@@ -0,0 +1,108 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutator of observable lists of int values that forwards all requests to registered listeners.
+ * @author Pavel Karpenko
+ */
+public final class IntListMutator implements IIntListMutator, IIntListMutatorListener {
+
+	private final IReadWriteMonitor monitor;
+	private volatile IIntListMutator[] listeners;	// copy-on-write
+
+	public IntListMutator(IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.listeners = new IIntListMutator[0];
+	}
+
+	@Override
+	public void addListener(IIntListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (listener == null || CopyOnWriteArrays.indexOf(listeners, listener) >= 0) {
+				throw new IllegalArgumentException("Listeners must be unique and non-null.");
+			}
+			listeners = CopyOnWriteArrays.append(listeners, listener);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void removeListener(IIntListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final int index = CopyOnWriteArrays.indexOf(listeners, listener);
+
+			if (index >= 0) {
+				listeners = CopyOnWriteArrays.remove(listeners, index);
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void add(int value) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, int value) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, int[] values) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, int value) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, int[] values) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (IIntListMutator mutator : listeners) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(int[] newItems) {
+		for (IIntListMutator mutator : listeners) {
+			mutator.reset(newItems);
+		}
+	}
+}
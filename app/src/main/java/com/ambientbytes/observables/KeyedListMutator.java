@@ -0,0 +1,70 @@
+package com.ambientbytes.observables;
+
+import java.util.Collection;
+
+public final class KeyedListMutator<T> implements IKeyedListMutator<T>, IKeyedListMutatorListener<T> {
+
+	private final IReadWriteMonitor monitor;
+	private volatile IKeyedListMutator<T>[] listeners;	// copy-on-write
+
+	public KeyedListMutator(IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.listeners = newListeners();
+	}
+
+	@Override
+	public void addListener(IKeyedListMutator<T> listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (listener == null || CopyOnWriteArrays.indexOf(listeners, listener) >= 0) {
+				throw new IllegalArgumentException("Listeners must be unique and non-null.");
+			}
+			listeners = CopyOnWriteArrays.append(listeners, listener);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void removeListener(IKeyedListMutator<T> listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final int index = CopyOnWriteArrays.indexOf(listeners, listener);
+
+			if (index >= 0) {
+				listeners = CopyOnWriteArrays.remove(listeners, index);
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void upsert(T item) {
+		for (IKeyedListMutator<T> mutator : listeners) {
+			mutator.upsert(item);
+		}
+	}
+
+	@Override
+	public void upsertAll(Collection<T> items) {
+		for (IKeyedListMutator<T> mutator : listeners) {
+			mutator.upsertAll(items);
+		}
+	}
+
+	@Override
+	public void removeByKey(Object key) {
+		for (IKeyedListMutator<T> mutator : listeners) {
+			mutator.removeByKey(key);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> IKeyedListMutator<T>[] newListeners() {
+		return (IKeyedListMutator<T>[]) new IKeyedListMutator<?>[0];
+	}
+
+}
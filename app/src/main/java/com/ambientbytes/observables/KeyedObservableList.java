@@ -0,0 +1,227 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Observable list of items identified by keys. Items are kept in a ranked tree and a hash index maps keys
+ * to the tree nodes, so the list finds the position of an item by its key in O(log n) time.
+ * New items are added at the end of the list.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class KeyedObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
+
+	private final IReadWriteMonitor monitor;
+	private final IItemKey<? super T> key;
+	private final RankedTree<T> data;
+	private final Map<Object, RankedTree.Node<T>> index;
+	private final ListObservers<T> observers;
+	private final IKeyedListMutatorListener<T> mutatorListener;
+	private final ListChangeLog.ITarget<T> upsertTarget;
+	private IKeyedListMutator<T> mutatorCallback;
+
+	KeyedObservableList(
+			final IKeyedListMutatorListener<T> mutatorListener,
+			final IItemKey<? super T> key,
+			final IReadWriteMonitor monitor) {
+		if (monitor == null) {
+			throw new IllegalArgumentException("monitor cannot be null");
+		}
+		if (key == null) {
+			throw new IllegalArgumentException("key cannot be null");
+		}
+
+		this.monitor = monitor;
+		this.key = key;
+		this.data = new RankedTree<>();
+		this.index = new HashMap<>();
+		this.observers = new ListObservers<T>(monitor);
+		this.mutatorListener = mutatorListener;
+		this.upsertTarget = new ListChangeLog.ITarget<T>() {
+			@Override
+			public void added(int startIndex, List<T> items) {
+				for (int i = 0; i < items.size(); ++i) {
+					final T item = items.get(i);
+
+					index.put(key.keyOf(item), data.add(startIndex + i, item));
+				}
+				observers.added(startIndex, items.size());
+			}
+
+			@Override
+			public void changed(int startIndex, List<T> items) {
+				observers.changing(startIndex, items.size());
+				for (int i = 0; i < items.size(); ++i) {
+					data.nodeAt(startIndex + i).setValue(items.get(i));
+				}
+				observers.changed(startIndex, items.size());
+			}
+
+			@Override
+			public void removed(int startIndex, int count) {
+				throw new IllegalStateException("Upserts do not remove items");
+			}
+
+			@Override
+			public void moved(int oldStartIndex, int newStartIndex, int count) {
+				throw new IllegalStateException("Upserts do not move items");
+			}
+
+			@Override
+			public void reset(List<T> items) {
+				throw new IllegalStateException("Upserts do not reset the list");
+			}
+		};
+		this.mutatorCallback = new IKeyedListMutator<T>() {
+			@Override
+			public void upsert(T item) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					upsertUnsafe(item);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void upsertAll(Collection<T> items) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					upsertAllUnsafe(items);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void removeByKey(Object key) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					removeByKeyUnsafe(key);
+				} finally {
+					res.release();
+				}
+			}
+		};
+		this.mutatorListener.addListener(mutatorCallback);
+	}
+
+	@Override
+	public void unlink() {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (mutatorCallback != null) {
+				mutatorListener.removeListener(mutatorCallback);
+				mutatorCallback = null;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	private void upsertUnsafe(T item) {
+		final RankedTree.Node<T> node = index.get(key.keyOf(item));
+
+		if (node != null) {
+			final int position = data.indexOf(node);
+
+			observers.changing(position, 1);
+			node.setValue(item);
+			observers.changed(position, 1);
+		} else {
+			final int position = data.size();
+
+			index.put(key.keyOf(item), data.add(position, item));
+			observers.added(position, 1);
+		}
+	}
+
+	private void upsertAllUnsafe(Collection<T> items) {
+		//
+		// Replaced items are ordered by position so adjacent ones are reported as one change;
+		// new items are collected for one addition at the end of the list.
+		//
+		final TreeMap<Integer, T> replaced = new TreeMap<>();
+		final List<T> added = new ArrayList<>();
+		final Map<Object, Integer> addedPositions = new HashMap<>();
+
+		for (T item : items) {
+			final Object itemKey = key.keyOf(item);
+			final RankedTree.Node<T> node = index.get(itemKey);
+
+			if (node != null) {
+				replaced.put(data.indexOf(node), item);
+			} else {
+				final Integer position = addedPositions.get(itemKey);
+
+				if (position != null) {
+					added.set(position, item);
+				} else {
+					addedPositions.put(itemKey, added.size());
+					added.add(item);
+				}
+			}
+		}
+
+		final ListChangeLog<T> log = new ListChangeLog<>();
+
+		for (Map.Entry<Integer, T> entry : replaced.entrySet()) {
+			final List<T> changed = new ArrayList<>(1);
+
+			changed.add(entry.getValue());
+			log.changed(entry.getKey(), changed);
+		}
+		if (!added.isEmpty()) {
+			log.added(data.size(), added);
+		}
+
+		observers.beginChangeSet();
+		try {
+			log.replay(upsertTarget);
+		} finally {
+			observers.endChangeSet();
+		}
+	}
+
+	private void removeByKeyUnsafe(Object key) {
+		final RankedTree.Node<T> node = index.remove(key);
+
+		if (node != null) {
+			final int position = data.indexOf(node);
+
+			observers.removing(position, 1);
+			data.remove(node);
+			observers.removed(position, 1);
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Observable list that maps items of a source list lazily. The list keeps one slot per source item,
+ * maps a source item when the item is read for the first time and caches mapped items according to
+ * a cache policy. Moves and removals in the source list only move and remove slots.
+ * Reading items changes the cache, so reads are serialized on the cache.
+ * @author Pavel Karpenko
+ *
+ * @param <TSource> type of items in the source list.
+ * @param <TMapped> type of mapped items.
+ */
+final class LazyMappingReadOnlyObservableList<TSource, TMapped> implements ILinkedReadOnlyObservableList<TMapped> {
+
+	private final ListObservers<TMapped> observers;
+	private final IItemMapper<TSource, TMapped> mapper;
+	private final IMappingCachePolicy<TMapped> policy;
+	private final ArrayListEx<Slot<TMapped>> data;
+	//
+	// Sentinel of the circular list of slots with mapped items; the slot after the sentinel
+	// is the least recently read one.
+	//
+	private final Slot<TMapped> cache;
+	private int cachedCount;
+	private IListObserver sourceObserver;
+	private IReadOnlyObservableList<TSource> source;
+	//
+	// Source items captured by unlink, so items that have not been mapped yet can still be read.
+	//
+	private List<TSource> unlinkedItems;
+
+	private static final class Slot<TMapped> {
+		private TMapped value;
+		private boolean mapped;
+		private Slot<TMapped> previous;
+		private Slot<TMapped> next;
+	}
+
+	LazyMappingReadOnlyObservableList(
+			IReadOnlyObservableList<TSource> source,
+			IItemMapper<TSource, TMapped> mapper,
+			IMappingCachePolicy<TMapped> policy,
+			IReadWriteMonitor monitor) {
+		if (policy.capacity() <= 0) {
+			throw new IllegalArgumentException("capacity of the mapping cache must be positive");
+		}
+
+		this.observers = new ListObservers<>(monitor);
+		this.mapper = mapper;
+		this.policy = policy;
+		this.data = new ArrayListEx<>(source.getSize());
+		this.cache = new Slot<>();
+		this.cache.previous = this.cache;
+		this.cache.next = this.cache;
+		this.cachedCount = 0;
+		this.source = source;
+		this.data.addAll(newSlots(source.getSize()));
+		this.sourceObserver = new IListObserver() {
+			@Override public void added(int startIndex, int count) { onAdded(startIndex, count); }
+			@Override public void changing(int startIndex, int count) { observers.changing(startIndex, count); }
+			@Override public void changed(int startIndex, int count) { onChanged(startIndex, count); }
+			@Override public void removing(int startIndex, int count) { observers.removing(startIndex, count); }
+			@Override public void removed(int startIndex, int count) { onRemoved(startIndex, count); }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { onMoved(oldStartIndex, newStartIndex, count); }
+			@Override public void resetting() { observers.resetting(); }
+			@Override public void reset() { onReset(); }
+		};
+		this.source.addObserver(sourceObserver);
+	}
+
+	@Override
+	public TMapped getAt(int index) {
+		synchronized (cache) {
+			final Slot<TMapped> slot = data.get(index);
+
+			if (slot.mapped) {
+				unlinkSlot(slot);
+			} else {
+				slot.value = mapper.map(source != null ? source.getAt(index) : unlinkedItems.get(index));
+				slot.mapped = true;
+				cachedCount++;
+			}
+			//
+			// Append the slot at the most recently read end of the cache and evict least recently read items.
+			//
+			slot.previous = cache.previous;
+			slot.next = cache;
+			cache.previous.next = slot;
+			cache.previous = slot;
+
+			final TMapped value = slot.value;
+			evict();
+
+			return value;
+		}
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		if (source != null) {
+			source.removeObserver(sourceObserver);
+			synchronized (cache) {
+				unlinkedItems = new ArrayList<>(source.getSize());
+				for (int i = 0; i < source.getSize(); ++i) {
+					unlinkedItems.add(source.getAt(i));
+				}
+				source = null;
+			}
+			sourceObserver = null;
+		}
+	}
+
+	int cachedCount() {
+		synchronized (cache) {
+			return cachedCount;
+		}
+	}
+
+	private void onAdded(int startIndex, int count) {
+		data.addAll(startIndex, newSlots(count));
+		observers.added(startIndex, count);
+	}
+
+	private void onChanged(int startIndex, int count) {
+		synchronized (cache) {
+			for (int i = startIndex; i < startIndex + count; ++i) {
+				release(data.get(i));
+			}
+		}
+		observers.changed(startIndex, count);
+	}
+
+	private void onRemoved(int startIndex, int count) {
+		//
+		// Slots are removed when the source has removed its items, so reading the list
+		// in the "removing" callback maps the source items that are being removed.
+		//
+		synchronized (cache) {
+			for (int i = startIndex; i < startIndex + count; ++i) {
+				release(data.get(i));
+			}
+		}
+		data.remove(startIndex, count);
+		observers.removed(startIndex, count);
+	}
+
+	private void onMoved(int oldStartIndex, int newStartIndex, int count) {
+		data.move(oldStartIndex, newStartIndex, count);
+		observers.moved(oldStartIndex, newStartIndex, count);
+	}
+
+	private void onReset() {
+		synchronized (cache) {
+			for (Slot<TMapped> slot : data) {
+				release(slot);
+			}
+		}
+		data.clear();
+		data.addAll(newSlots(source.getSize()));
+		observers.reset();
+	}
+
+	private Collection<Slot<TMapped>> newSlots(int count) {
+		final Collection<Slot<TMapped>> slots = new ArrayList<>(count);
+
+		for (int i = 0; i < count; ++i) {
+			slots.add(new Slot<TMapped>());
+		}
+
+		return slots;
+	}
+
+	private void evict() {
+		final int capacity = policy.capacity();
+		Slot<TMapped> slot = cache.next;
+		//
+		// Walk from the least recently read slot and skip items that the policy does not let evict;
+		// never evict the most recently read slot.
+		//
+		while (cachedCount > capacity && slot != cache.previous) {
+			final Slot<TMapped> next = slot.next;
+
+			if (policy.isEvictable(slot.value)) {
+				release(slot);
+			}
+			slot = next;
+		}
+	}
+
+	private void release(Slot<TMapped> slot) {
+		if (slot.mapped) {
+			final TMapped value = slot.value;
+
+			unlinkSlot(slot);
+			slot.previous = null;
+			slot.next = null;
+			slot.value = null;
+			slot.mapped = false;
+			cachedCount--;
+			policy.released(value);
+		}
+	}
+
+	private void unlinkSlot(Slot<TMapped> slot) {
+		slot.previous.next = slot.next;
+		slot.next.previous = slot.previous;
+	}
+}
@@ -13,7 +13,7 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 	private IReadOnlyObservableList<T> source;
 	private IListObserver observer;
 
-	private final class ListObserver implements IListObserver {
+	private final class ListObserver implements IChangeSetBoundaryObserver {
 
 		private final IReadOnlyObservableList<T> source;
 
@@ -59,6 +59,20 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
         public void reset() {
             onReset(source);
         }
+
+        @Override
+        public void beginChangeSet() {
+            if (forwardsChangeSets()) {
+                onBeginChangeSet();
+            }
+        }
+
+        @Override
+        public void endChangeSet() {
+            if (forwardsChangeSets()) {
+                onEndChangeSet();
+            }
+        }
 	}
 	
 	protected LinkedReadOnlyObservableList(IReadOnlyObservableList<T> source, IReadWriteMonitor monitor) {
@@ -90,6 +104,31 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 	}
 
 	protected void onUnlinked() {}
+
+	/**
+	 * Check if changes the list reports in response to a change set of the source list make a change set
+	 * of the list. Lists that report changes to observers synchronously forward change sets;
+	 * lists that report changes later must not.
+	 * @return true if the list forwards change sets of the source list; otherwise, false.
+	 */
+	protected boolean forwardsChangeSets() {
+		return true;
+	}
+
+	/**
+	 * Called when a forwarded change set of the source list begins; starts a change set of the list.
+	 */
+	protected void onBeginChangeSet() {
+		beginChangeSet();
+	}
+
+	/**
+	 * Called when a forwarded change set of the source list ends; ends the change set of the list.
+	 */
+	protected void onEndChangeSet() {
+		endChangeSet();
+	}
+
 	protected abstract void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count);
 	protected abstract void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count);
 	protected abstract void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count);
@@ -134,4 +173,16 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 	protected final void notifyReset() {
 		this.observers.reset();
 	}
+
+	/**
+	 * Start a set of changes that change set observers receive in one notification. Every call must be
+	 * matched by a call of endChangeSet().
+	 */
+	protected final void beginChangeSet() {
+		this.observers.beginChangeSet();
+	}
+
+	protected final void endChangeSet() {
+		this.observers.endChangeSet();
+	}
 }
@@ -1,5 +1,8 @@
 package com.ambientbytes.observables;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Builder of all read-only observable lists.
  * The builder is seeded with the ultimate source creates a chain of collections that observe each other
@@ -44,8 +47,9 @@ public final class ListBuilder<T> {
 	//
 	// Unlinker that may be attached to observable lists created by list builder child classes if the caller
 	// of one of the methods of ListBuilder has provided an unlinking trigger.
+	// Builders of lists of primitive values attach the same unlinker.
 	//
-    private static final class Unlinker implements ITriggerListener {
+    static final class Unlinker implements ITriggerListener {
     	
     	private final ILinked source;
     	private final ITrigger trigger;
@@ -101,7 +105,39 @@ public final class ListBuilder<T> {
 
         @Override
         public final IListBuilder<T> dispatch(IDispatcher dispatcher) {
-            return new DispatchingListBuilder<>(this, unlinker, monitor, dispatcher);
+            return new DispatchingListBuilder<>(this, unlinker, monitor, dispatcher, false, 0);
+        }
+
+        @Override
+        public final IListBuilder<T> dispatch(IDispatcher dispatcher, int maxBacklog) {
+            if (maxBacklog <= 0) {
+                throw new IllegalArgumentException("maxBacklog must be positive");
+            }
+
+            return new DispatchingListBuilder<>(this, unlinker, monitor, dispatcher, false, maxBacklog);
+        }
+
+        @Override
+        public final IListBuilder<T> dispatchCoalesced(IDispatcher dispatcher) {
+            return new DispatchingListBuilder<>(this, unlinker, monitor, dispatcher, true, 0);
+        }
+
+        @Override
+        public final IListBuilder<T> pipeline(Executor executor, IReadWriteMonitor monitor) {
+            if (monitor == null || monitor == this.monitor) {
+                throw new IllegalArgumentException("pipeline needs a new monitor");
+            }
+
+            return new PipelineListBuilder<>(this, unlinker, this.monitor, executor, monitor);
+        }
+
+        @Override
+        public final IListBuilder<T> monitor(IReadWriteMonitor monitor) {
+            if (monitor == null || monitor == this.monitor) {
+                throw new IllegalArgumentException("monitor must be a new monitor");
+            }
+
+            return new LockBoundaryListBuilder<>(this, unlinker, this.monitor, monitor);
         }
 
         @Override
@@ -111,18 +147,52 @@ public final class ListBuilder<T> {
 
         @Override
         public final IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order) {
-            return new OrderingListBuilder<>(this, unlinker, monitor, order);
+            return new OrderingListBuilder<>(this, unlinker, monitor, order, 0);
+        }
+
+        @Override
+        public final IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order, int maxReorderMoves) {
+            return new OrderingListBuilder<>(this, unlinker, monitor, order, maxReorderMoves);
         }
 
         @Override
         public final <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper) {
-            return new MappingListBuilder<>(this, unlinker, monitor, mapper);
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, null, null, 0);
+        }
+
+        @Override
+        public final <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, IMappingCachePolicy<TMapped> cachePolicy) {
+            if (cachePolicy == null) {
+                throw new IllegalArgumentException("cachePolicy may not be null");
+            }
+
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, cachePolicy, null, 0);
+        }
+
+        @Override
+        public final <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, ForkJoinPool pool, int parallelThreshold) {
+            if (pool == null) {
+                throw new IllegalArgumentException("pool may not be null");
+            }
+
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, null, pool, parallelThreshold);
         }
         
         @Override
         public final IReadOnlyObservableList<T> build() {
         	return attachUnlinker(buildList());
         }
+
+        @Override
+        public final ISnapshotObservableList<T> buildWithSnapshots() {
+        	final SnapshotObservableList<T> list = new SnapshotObservableList<>(build(), monitor);
+
+        	if (unlinker != null) {
+        		Unlinker.attachUnlinker(list, unlinker);
+        	}
+
+        	return list;
+        }
         
         protected final IReadOnlyObservableList<T> attachUnlinker(IReadOnlyObservableList<T> list) {
         	if (unlinker != null && list instanceof ILinkedReadOnlyObservableList) {
@@ -165,44 +235,129 @@ public final class ListBuilder<T> {
     private final static class MutableListBuilder<T> extends MonitoredListBuilder<T> {
     	
     	private final IListMutatorListener<T> mutator;
+    	private final ListStorage storage;
+    	private final IItemKey<? super T> resetKey;
+    	private final int maxResetEdits;
 
-        MutableListBuilder(IListMutatorListener<T> mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+        MutableListBuilder(IListMutatorListener<T> mutator, ListStorage storage, ITrigger unlinker, IReadWriteMonitor monitor) {
+            this(mutator, storage, null, 0, unlinker, monitor);
+        }
+
+        MutableListBuilder(IListMutatorListener<T> mutator, ListStorage storage, IItemKey<? super T> resetKey,
+                int maxResetEdits, ITrigger unlinker, IReadWriteMonitor monitor) {
             super(unlinker, monitor);
             this.mutator = mutator;
+            this.storage = storage;
+            this.resetKey = resetKey;
+            this.maxResetEdits = maxResetEdits;
         }
 
         @Override
         public IReadOnlyObservableList<T> buildList() {
-            return new MutableObservableList<T>(mutator, monitor());
+            final IMutableRandomAccess<T> data;
+
+            if (storage == ListStorage.CHUNKED) {
+                data = new ChunkedList<>();
+            } else {
+                data = new ArrayListEx<>();
+            }
+
+            return new MutableObservableList<T>(mutator, monitor(), data, resetKey, maxResetEdits);
         }
     }
     
+    private final static class KeyedListBuilder<T> extends MonitoredListBuilder<T> {
+
+        private final IKeyedListMutatorListener<T> mutator;
+        private final IItemKey<? super T> key;
+
+        KeyedListBuilder(IKeyedListMutatorListener<T> mutator, IItemKey<? super T> key, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.mutator = mutator;
+            this.key = key;
+        }
+
+        @Override
+        public IReadOnlyObservableList<T> buildList() {
+            return new KeyedObservableList<T>(mutator, key, monitor());
+        }
+    }
+
     private final static class MergingListBuilder<T> extends MonitoredListBuilder<T> {
     	private final IListSet<T> listSet;
+    	private final MergeMode mode;
     	
-    	MergingListBuilder(IListSet<T> listSet, ITrigger unlinker, IReadWriteMonitor monitor) {
+    	MergingListBuilder(IListSet<T> listSet, MergeMode mode, ITrigger unlinker, IReadWriteMonitor monitor) {
     		super(unlinker, monitor);
     		this.listSet = listSet;
+    		this.mode = mode;
     	}
 
 		@Override
 		public IReadOnlyObservableList<T> buildList() {
-			return new MergingReadOnlyObservableList<>(listSet, monitor());
+			return new MergingReadOnlyObservableList<>(listSet, mode, monitor());
 		}
     }
 
+    private final static class PipelineListBuilder<T> extends ChainedListBuilder<T> {
+
+        private final IReadWriteMonitor sourceMonitor;
+        private final Executor executor;
+
+        PipelineListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor sourceMonitor, Executor executor,
+                IReadWriteMonitor monitor) {
+            super(source, unlinker, monitor);
+            this.sourceMonitor = sourceMonitor;
+            this.executor = executor;
+        }
+
+        @Override
+        public IReadOnlyObservableList<T> buildList() {
+            return new PipelinedObservableList<>(buildSource(), sourceMonitor, executor, monitor());
+        }
+    }
+
+    private final static class LockBoundaryListBuilder<T> extends ChainedListBuilder<T> {
+
+        private final IReadWriteMonitor sourceMonitor;
+
+        LockBoundaryListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor sourceMonitor,
+                IReadWriteMonitor monitor) {
+            super(source, unlinker, monitor);
+            this.sourceMonitor = sourceMonitor;
+        }
+
+        @Override
+        public IReadOnlyObservableList<T> buildList() {
+            return new LockBoundaryObservableList<>(buildSource(), sourceMonitor, monitor());
+        }
+    }
+
     private final static class DispatchingListBuilder<T> extends ChainedListBuilder<T> {
 
         private final IDispatcher dispatcher;
+        private final boolean coalesce;
+        private final int maxBacklog;	// 0 for unbounded backlog
 
-        DispatchingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IDispatcher dispatcher) {
+        DispatchingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IDispatcher dispatcher,
+                boolean coalesce, int maxBacklog) {
             super(source, unlinker, monitor);
             this.dispatcher = dispatcher;
+            this.coalesce = coalesce;
+            this.maxBacklog = maxBacklog;
         }
 
         @Override
         public IReadOnlyObservableList<T> buildList() {
-            return new DispatchingObservableList<>(buildSource(), dispatcher, monitor());
+            final IReadOnlyObservableList<T> list;
+
+            if (coalesce) {
+                list = new CoalescingDispatchingObservableList<>(buildSource(), dispatcher, monitor());
+            } else {
+                list = new DispatchingObservableList<>(buildSource(), dispatcher, maxBacklog, monitor());
+            }
+
+            return list;
         }
     }
 
@@ -224,15 +379,17 @@ public final class ListBuilder<T> {
     private final static class OrderingListBuilder<T> extends ChainedListBuilder<T> {
 
         private final IObservableReference<IItemsOrder<T>> order;
+        private final int maxReorderMoves;
 
-        OrderingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemsOrder<T>> order) {
+        OrderingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemsOrder<T>> order, int maxReorderMoves) {
             super(source, unlinker, monitor);
             this.order = order;
+            this.maxReorderMoves = maxReorderMoves;
         }
 
         @Override
         public IReadOnlyObservableList<T> buildList() {
-            return new OrderingReadOnlyObservableList<>(buildSource(), order, monitor());
+            return new OrderingReadOnlyObservableList<>(buildSource(), order, maxReorderMoves, monitor());
         }
     }
 
@@ -240,16 +397,32 @@ public final class ListBuilder<T> {
 
         private final IListBuilder<TSource> source;
         private final IItemMapper<TSource, TMapped> mapper;
+        private final IMappingCachePolicy<TMapped> cachePolicy;	// null for eager mapping
+        private final ForkJoinPool pool;	// null for mapping on the notifying thread
+        private final int parallelThreshold;
 
-        public MappingListBuilder(IListBuilder<TSource> source, ITrigger unlinker, IReadWriteMonitor monitor, IItemMapper<TSource, TMapped> mapper) {
+        public MappingListBuilder(IListBuilder<TSource> source, ITrigger unlinker, IReadWriteMonitor monitor,
+                IItemMapper<TSource, TMapped> mapper, IMappingCachePolicy<TMapped> cachePolicy,
+                ForkJoinPool pool, int parallelThreshold) {
             super(unlinker, monitor);
             this.source = source;
             this.mapper = mapper;
+            this.cachePolicy = cachePolicy;
+            this.pool = pool;
+            this.parallelThreshold = parallelThreshold;
         }
 
         @Override
         protected final IReadOnlyObservableList<TMapped> buildList() {
-            return new MappingReadOnlyObservableList<>(source.build(), mapper, monitor());
+            final IReadOnlyObservableList<TMapped> list;
+
+            if (cachePolicy == null) {
+                list = new MappingReadOnlyObservableList<>(source.build(), mapper, pool, parallelThreshold, monitor());
+            } else {
+                list = new LazyMappingReadOnlyObservableList<>(source.build(), mapper, cachePolicy, monitor());
+            }
+
+            return list;
         }
     }
 
@@ -277,7 +450,63 @@ public final class ListBuilder<T> {
      * @return
      */
     public IListBuilder<T> mutable(IListMutatorListener<T> mutator) {
-    	return new MutableListBuilder<>(mutator, unlinker, monitor);
+    	return mutable(mutator, ListStorage.ARRAY);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list with the specified kind of storage.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @param storage kind of storage that will back items of the list.
+     * @return new list builder that creates a new mutable list.
+     */
+    public IListBuilder<T> mutable(IListMutatorListener<T> mutator, ListStorage storage) {
+    	return new MutableListBuilder<>(mutator, storage, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates a new list of items identified by keys for the provided mutator.
+     * @param mutator injectable mutator that will upsert and remove items of the list by their keys.
+     * @param key function that identifies items of the list.
+     * @return new list builder that creates a new keyed list.
+     */
+    public IListBuilder<T> keyed(IKeyedListMutatorListener<T> mutator, IItemKey<? super T> key) {
+    	return new KeyedListBuilder<>(mutator, key, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list that applies resets as differences
+     * between old and new items. Items with equal keys that are not removed or added by a reset are kept
+     * and reported as changed if they are not equal to the new items, so lists down the chain only process
+     * the items that have changed. Resets that need more than the specified number of removed and added
+     * items replace all items of the list.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @param resetKey function that identifies items of the list.
+     * @param maxResetEdits maximum number of removed and added items that a reset may report.
+     * @return new list builder that creates a new mutable list.
+     */
+    public IListBuilder<T> mutable(IListMutatorListener<T> mutator, IItemKey<? super T> resetKey, int maxResetEdits) {
+    	return mutable(mutator, ListStorage.ARRAY, resetKey, maxResetEdits);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list with the specified kind of storage
+     * that applies resets as differences between old and new items.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @param storage kind of storage that will back items of the list.
+     * @param resetKey function that identifies items of the list.
+     * @param maxResetEdits maximum number of removed and added items that a reset may report.
+     * @return new list builder that creates a new mutable list.
+     */
+    public IListBuilder<T> mutable(IListMutatorListener<T> mutator, ListStorage storage,
+            IItemKey<? super T> resetKey, int maxResetEdits) {
+    	if (resetKey == null) {
+    		throw new IllegalArgumentException("resetKey may not be null");
+    	}
+    	if (maxResetEdits < 0) {
+    		throw new IllegalArgumentException("maxResetEdits may not be negative");
+    	}
+
+    	return new MutableListBuilder<>(mutator, storage, resetKey, maxResetEdits, unlinker, monitor);
     }
 
     /**
@@ -295,6 +524,71 @@ public final class ListBuilder<T> {
      * @return new list builder that creates a new merging observable list.
      */
     public IListBuilder<T> merge(IListSet<T> sources) {
-    	return new MergingListBuilder<>(sources, unlinker, monitor);
+    	return new MergingListBuilder<>(sources, MergeMode.COPY, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates an observable list that merges contents of lists in the passed list set
+     * and either copies items of the merged lists or reads them from the merged lists.
+     * @param sources collection of source observable lists.
+     * @param mode way the merging list keeps items of the merged lists.
+     * @return new list builder that creates a new merging observable list.
+     */
+    public IListBuilder<T> merge(IListSet<T> sources, MergeMode mode) {
+    	return new MergingListBuilder<>(sources, mode, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list of int values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new list builder that creates a new mutable list of int values.
+     */
+    public IIntListBuilder mutable(IIntListMutatorListener mutator) {
+    	return IntListBuilder.mutable(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial builder that will build a chain of observable lists of int values.
+     * @param source source observable list.
+     * @return new builder that will return the source list.
+     */
+    public IIntListBuilder source(IReadOnlyIntObservableList source) {
+    	return IntListBuilder.source(source, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list of long values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new list builder that creates a new mutable list of long values.
+     */
+    public ILongListBuilder mutable(ILongListMutatorListener mutator) {
+    	return LongListBuilder.mutable(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial builder that will build a chain of observable lists of long values.
+     * @param source source observable list.
+     * @return new builder that will return the source list.
+     */
+    public ILongListBuilder source(IReadOnlyLongObservableList source) {
+    	return LongListBuilder.source(source, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates a new mutable list of double values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new list builder that creates a new mutable list of double values.
+     */
+    public IDoubleListBuilder mutable(IDoubleListMutatorListener mutator) {
+    	return DoubleListBuilder.mutable(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial builder that will build a chain of observable lists of double values.
+     * @param source source observable list.
+     * @return new builder that will return the source list.
+     */
+    public IDoubleListBuilder source(IReadOnlyDoubleObservableList source) {
+    	return DoubleListBuilder.source(source, unlinker, monitor);
     }
 }
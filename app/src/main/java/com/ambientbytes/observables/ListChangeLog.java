@@ -0,0 +1,332 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered log of changes of a list that merges changes as they are logged: adjacent and overlapping additions,
+ * changes and removals become single changes, changes and removals of items added earlier in the log are applied
+ * to the added items, and a reset discards all earlier changes. Replaying the log applies the merged changes
+ * in the order they have been logged. The log is not thread safe.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class ListChangeLog<T> {
+
+	/**
+	 * Receiver of changes replayed from a log. Indexes of every change are relative to the list
+	 * with all earlier changes applied.
+	 */
+	interface ITarget<T> {
+		void added(int startIndex, List<T> items);
+		void changed(int startIndex, List<T> items);
+		void removed(int startIndex, int count);
+		void moved(int oldStartIndex, int newStartIndex, int count);
+		void reset(List<T> items);
+	}
+
+	private final List<Change<T>> changes;
+
+	private abstract static class Change<T> {
+		/**
+		 * Merge this change into the change logged right before it.
+		 * @param previous change logged right before this one.
+		 * @return true if this change has been merged; otherwise, false.
+		 */
+		abstract boolean mergeInto(Change<T> previous);
+
+		boolean mergeAdded(Added<T> next) {
+			return false;
+		}
+
+		boolean mergeChanged(Changed<T> next) {
+			return false;
+		}
+
+		boolean mergeRemoved(Removed<T> next) {
+			return false;
+		}
+
+		/**
+		 * @return true if the change does not change anything and may be dropped from the log.
+		 */
+		boolean isEmpty() {
+			return false;
+		}
+
+		/**
+		 * @return true if the change replaces all items, so changes logged before it may be discarded.
+		 */
+		boolean replacesAll() {
+			return false;
+		}
+
+		abstract void replay(ITarget<T> target);
+	}
+
+	private static final class Added<T> extends Change<T> {
+		private final int startIndex;
+		private final List<T> items;
+
+		Added(int startIndex, List<T> items) {
+			this.startIndex = startIndex;
+			this.items = items;
+		}
+
+		@Override
+		boolean mergeInto(Change<T> previous) {
+			return previous.mergeAdded(this);
+		}
+
+		@Override
+		boolean mergeAdded(Added<T> next) {
+			final boolean merged = next.startIndex >= startIndex && next.startIndex <= startIndex + items.size();
+
+			if (merged) {
+				items.addAll(next.startIndex - startIndex, next.items);
+			}
+
+			return merged;
+		}
+
+		@Override
+		boolean mergeChanged(Changed<T> next) {
+			final boolean merged = next.startIndex >= startIndex
+					&& next.startIndex + next.items.size() <= startIndex + items.size();
+
+			if (merged) {
+				for (int i = 0; i < next.items.size(); ++i) {
+					items.set(next.startIndex - startIndex + i, next.items.get(i));
+				}
+			}
+
+			return merged;
+		}
+
+		@Override
+		boolean mergeRemoved(Removed<T> next) {
+			final boolean merged = next.startIndex >= startIndex
+					&& next.startIndex + next.count <= startIndex + items.size();
+
+			if (merged) {
+				items.subList(next.startIndex - startIndex, next.startIndex - startIndex + next.count).clear();
+			}
+
+			return merged;
+		}
+
+		@Override
+		boolean isEmpty() {
+			return items.isEmpty();
+		}
+
+		@Override
+		void replay(ITarget<T> target) {
+			target.added(startIndex, items);
+		}
+	}
+
+	private static final class Changed<T> extends Change<T> {
+		private int startIndex;
+		private List<T> items;
+
+		Changed(int startIndex, List<T> items) {
+			this.startIndex = startIndex;
+			this.items = items;
+		}
+
+		@Override
+		boolean mergeInto(Change<T> previous) {
+			return previous.mergeChanged(this);
+		}
+
+		@Override
+		boolean mergeChanged(Changed<T> next) {
+			final int endIndex = startIndex + items.size();
+			final int nextEndIndex = next.startIndex + next.items.size();
+			final boolean merged = next.startIndex <= endIndex && nextEndIndex >= startIndex;
+
+			if (merged && next.startIndex >= startIndex) {
+				//
+				// The next change overwrites the tail of the run and may extend it; update the run in place,
+				// so a run built of n adjacent changes takes O(n) time.
+				//
+				for (int i = next.startIndex; i < nextEndIndex; ++i) {
+					final T item = next.items.get(i - next.startIndex);
+
+					if (i < endIndex) {
+						items.set(i - startIndex, item);
+					} else {
+						items.add(item);
+					}
+				}
+			} else if (merged) {
+				final int mergedEndIndex = Math.max(endIndex, nextEndIndex);
+				final List<T> mergedItems = new ArrayList<>(mergedEndIndex - next.startIndex);
+
+				for (int i = next.startIndex; i < mergedEndIndex; ++i) {
+					if (i < nextEndIndex) {
+						mergedItems.add(next.items.get(i - next.startIndex));
+					} else {
+						mergedItems.add(items.get(i - startIndex));
+					}
+				}
+				startIndex = next.startIndex;
+				items = mergedItems;
+			}
+
+			return merged;
+		}
+
+		@Override
+		void replay(ITarget<T> target) {
+			target.changed(startIndex, items);
+		}
+	}
+
+	private static final class Removed<T> extends Change<T> {
+		private int startIndex;
+		private int count;
+
+		Removed(int startIndex, int count) {
+			this.startIndex = startIndex;
+			this.count = count;
+		}
+
+		@Override
+		boolean mergeInto(Change<T> previous) {
+			return previous.mergeRemoved(this);
+		}
+
+		@Override
+		boolean mergeRemoved(Removed<T> next) {
+			//
+			// Items that follow the removed range have shifted to startIndex; the next removal is merged
+			// if it removes a range that touches that position.
+			//
+			final boolean merged = next.startIndex <= startIndex && next.startIndex + next.count >= startIndex;
+
+			if (merged) {
+				startIndex = next.startIndex;
+				count += next.count;
+			}
+
+			return merged;
+		}
+
+		@Override
+		void replay(ITarget<T> target) {
+			target.removed(startIndex, count);
+		}
+	}
+
+	private static final class Moved<T> extends Change<T> {
+		private final int oldStartIndex;
+		private final int newStartIndex;
+		private final int count;
+
+		Moved(int oldStartIndex, int newStartIndex, int count) {
+			this.oldStartIndex = oldStartIndex;
+			this.newStartIndex = newStartIndex;
+			this.count = count;
+		}
+
+		@Override
+		boolean mergeInto(Change<T> previous) {
+			return false;
+		}
+
+		@Override
+		void replay(ITarget<T> target) {
+			target.moved(oldStartIndex, newStartIndex, count);
+		}
+	}
+
+	private static final class Reset<T> extends Change<T> {
+		private final List<T> items;
+
+		Reset(List<T> items) {
+			this.items = items;
+		}
+
+		@Override
+		boolean mergeInto(Change<T> previous) {
+			return false;
+		}
+
+		@Override
+		boolean replacesAll() {
+			return true;
+		}
+
+		@Override
+		void replay(ITarget<T> target) {
+			target.reset(items);
+		}
+	}
+
+	ListChangeLog() {
+		this.changes = new ArrayList<>();
+	}
+
+	boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * @return number of merged changes in the log.
+	 */
+	int size() {
+		return changes.size();
+	}
+
+	/**
+	 * Log added items; the log keeps the list of items and may change it.
+	 */
+	void added(int startIndex, List<T> items) {
+		log(new Added<>(startIndex, items));
+	}
+
+	/**
+	 * Log new values of changed items; the log keeps the list of items and may change it.
+	 */
+	void changed(int startIndex, List<T> items) {
+		log(new Changed<>(startIndex, items));
+	}
+
+	void removed(int startIndex, int count) {
+		log(new Removed<T>(startIndex, count));
+	}
+
+	void moved(int oldStartIndex, int newStartIndex, int count) {
+		log(new Moved<T>(oldStartIndex, newStartIndex, count));
+	}
+
+	void reset(List<T> items) {
+		log(new Reset<>(items));
+	}
+
+	void replay(ITarget<T> target) {
+		for (Change<T> change : changes) {
+			change.replay(target);
+		}
+	}
+
+	private void log(Change<T> change) {
+		if (change.replacesAll()) {
+			changes.clear();
+			changes.add(change);
+		} else if (changes.isEmpty()) {
+			changes.add(change);
+		} else {
+			final Change<T> last = changes.get(changes.size() - 1);
+
+			if (!change.mergeInto(last)) {
+				changes.add(change);
+			} else if (last.isEmpty()) {
+				changes.remove(changes.size() - 1);
+			}
+		}
+	}
+}
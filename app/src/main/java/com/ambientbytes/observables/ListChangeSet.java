@@ -0,0 +1,126 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable ordered set of changes that an observable list has made in one go. Indexes of every change
+ * are relative to the list with all earlier changes of the set applied, so observers may replay the set
+ * change by change.
+ * @author Pavel Karpenko
+ */
+public final class ListChangeSet implements Iterable<ListChangeSet.Change> {
+
+	/**
+	 * Kind of a change in a change set.
+	 */
+	public enum Kind {
+		ADDED,
+		CHANGED,
+		REMOVED,
+		MOVED,
+		RESET
+	}
+
+	/**
+	 * Single change in a change set.
+	 */
+	public static final class Change {
+		private final Kind kind;
+		private final int startIndex;
+		private final int newStartIndex;
+		private final int count;
+
+		Change(Kind kind, int startIndex, int newStartIndex, int count) {
+			this.kind = kind;
+			this.startIndex = startIndex;
+			this.newStartIndex = newStartIndex;
+			this.count = count;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return zero-based index of the first affected item; for moves, the old index of the first moved item.
+		 * Zero for resets.
+		 */
+		public int getStartIndex() {
+			return startIndex;
+		}
+
+		/**
+		 * @return new zero-based index of the first moved item for moves; for other changes, the start index.
+		 */
+		public int getNewStartIndex() {
+			return newStartIndex;
+		}
+
+		/**
+		 * @return number of affected items; zero for resets.
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return kind + "(" + startIndex + ", " + newStartIndex + ", " + count + ")";
+		}
+	}
+
+	private final Change[] changes;
+
+	ListChangeSet(List<Change> changes) {
+		this.changes = changes.toArray(new Change[changes.size()]);
+	}
+
+	/**
+	 * Get a change at the specified index.
+	 * @param index zero-based index of the change.
+	 * @return change at the specified index.
+	 */
+	public Change getAt(int index) {
+		return changes[index];
+	}
+
+	/**
+	 * @return number of changes in the set.
+	 */
+	public int getSize() {
+		return changes.length;
+	}
+
+	@Override
+	public Iterator<Change> iterator() {
+		return new Iterator<Change>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < changes.length;
+			}
+
+			@Override
+			public Change next() {
+				if (next >= changes.length) {
+					throw new NoSuchElementException();
+				}
+				return changes[next++];
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(changes);
+	}
+}
@@ -0,0 +1,174 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Myers' difference algorithm that finds the shortest edit script turning one sequence of keys into another.
+ * The search takes O((N + M) * D) time and O(D^2) memory for D edits and gives up when the script needs
+ * more edits than a specified limit, so large differences cost no more than the limit allows.
+ * Common prefixes and suffixes of the sequences are skipped before the search.
+ * @author Pavel Karpenko
+ */
+final class ListDiff {
+
+	private ListDiff() {
+	}
+
+	/**
+	 * Find the shortest edit script.
+	 * @param oldKeys keys of the old sequence.
+	 * @param newKeys keys of the new sequence.
+	 * @param maxEdits maximum number of removed and inserted elements.
+	 * @return edit script as an array of quadruples (old start, old count, new start, new count) in the ascending
+	 * order, each replacing old count elements of the old sequence with new count elements of the new sequence;
+	 * null if the script needs more than maxEdits edits.
+	 */
+	static IntArrayList diff(Object[] oldKeys, Object[] newKeys, int maxEdits) {
+		int prefix = 0;
+		int oldEnd = oldKeys.length;
+		int newEnd = newKeys.length;
+
+		while (prefix < oldEnd && prefix < newEnd && same(oldKeys[prefix], newKeys[prefix])) {
+			++prefix;
+		}
+		while (oldEnd > prefix && newEnd > prefix && same(oldKeys[oldEnd - 1], newKeys[newEnd - 1])) {
+			--oldEnd;
+			--newEnd;
+		}
+
+		final int n = oldEnd - prefix;
+		final int m = newEnd - prefix;
+		final IntArrayList script = new IntArrayList();
+
+		if (n + m > 0) {
+			if (n == 0 || m == 0) {
+				if (n + m > maxEdits) {
+					return null;
+				}
+				addHunk(script, prefix, n, prefix, m);
+			} else if (!search(oldKeys, newKeys, prefix, n, m, maxEdits, script)) {
+				return null;
+			}
+		}
+
+		return script;
+	}
+
+	private static boolean search(Object[] oldKeys, Object[] newKeys, int prefix, int n, int m, int maxEdits,
+			IntArrayList script) {
+		final int max = Math.min(n + m, maxEdits);
+		final int offset = max + 1;
+		final int[] v = new int[2 * max + 3];
+		//
+		// Furthest reaching points of every step, kept for the diagonals the step may have reached.
+		//
+		final List<int[]> trace = new ArrayList<>();
+
+		for (int d = 0; d <= max; ++d) {
+			trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+
+			for (int k = -d; k <= d; k += 2) {
+				int x;
+
+				if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+					x = v[offset + k + 1];
+				} else {
+					x = v[offset + k - 1] + 1;
+				}
+
+				int y = x - k;
+
+				while (x < n && y < m && same(oldKeys[prefix + x], newKeys[prefix + y])) {
+					++x;
+					++y;
+				}
+				v[offset + k] = x;
+
+				if (x >= n && y >= m) {
+					backtrack(trace, n, m, prefix, script);
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static void backtrack(List<int[]> trace, int n, int m, int prefix, IntArrayList script) {
+		//
+		// Walk the trace back from the end and collect the edits as triples of the point the edit starts from
+		// and the kind of the edit, then join adjacent edits into hunks.
+		//
+		final IntArrayList edits = new IntArrayList();
+		int x = n;
+		int y = m;
+
+		for (int d = trace.size() - 1; d > 0; --d) {
+			final int[] v = trace.get(d);
+			final int k = x - y;
+			final int previousK;
+
+			if (k == -d || (k != d && v[k - 1 + d] < v[k + 1 + d])) {
+				previousK = k + 1;
+			} else {
+				previousK = k - 1;
+			}
+
+			final int previousX = v[previousK + d];
+			final int previousY = previousX - previousK;
+
+			while (x > previousX && y > previousY) {
+				--x;
+				--y;
+			}
+			//
+			// Removal moves from (x, y) to (x + 1, y); insertion moves from (x, y) to (x, y + 1).
+			//
+			edits.add(previousX);
+			edits.add(previousY);
+			edits.add(previousK < k ? 1 : 0);
+			x = previousX;
+			y = previousY;
+		}
+
+		int hunkOldStart = -1;
+		int hunkNewStart = -1;
+		int hunkOldEnd = -1;
+		int hunkNewEnd = -1;
+
+		for (int i = edits.size() - 3; i >= 0; i -= 3) {
+			final int editX = edits.get(i);
+			final int editY = edits.get(i + 1);
+			final boolean removal = edits.get(i + 2) != 0;
+
+			if (editX != hunkOldEnd || editY != hunkNewEnd) {
+				if (hunkOldStart >= 0) {
+					addHunk(script, prefix + hunkOldStart, hunkOldEnd - hunkOldStart,
+							prefix + hunkNewStart, hunkNewEnd - hunkNewStart);
+				}
+				hunkOldStart = editX;
+				hunkNewStart = editY;
+			}
+			hunkOldEnd = removal ? editX + 1 : editX;
+			hunkNewEnd = removal ? editY : editY + 1;
+		}
+
+		if (hunkOldStart >= 0) {
+			addHunk(script, prefix + hunkOldStart, hunkOldEnd - hunkOldStart,
+					prefix + hunkNewStart, hunkNewEnd - hunkNewStart);
+		}
+	}
+
+	private static boolean same(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private static void addHunk(IntArrayList script, int oldStart, int oldCount, int newStart, int newCount) {
+		script.add(oldStart);
+		script.add(oldCount);
+		script.add(newStart);
+		script.add(newCount);
+	}
+}
@@ -1,17 +1,15 @@
 package com.ambientbytes.observables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 
 public final class ListMutator<T> implements IListMutator<T>, IListMutatorListener<T> {
 
 	private final IReadWriteMonitor monitor;
-	private final Collection<IListMutator<T>> listeners;
+	private volatile IListMutator<T>[] listeners;	// copy-on-write
 	
 	public ListMutator(IReadWriteMonitor monitor) {
 		this.monitor = monitor;
-		this.listeners = new HashSet<>();
+		this.listeners = newListeners();
 	}
 
 	@Override
@@ -19,9 +17,10 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 		IResource lock = monitor.acquireWrite();
 		
 		try {
-			if (listener == null || !listeners.add(listener)) {
+			if (listener == null || CopyOnWriteArrays.indexOf(listeners, listener) >= 0) {
 				throw new IllegalArgumentException("Listeners must be unique and non-null.");
 			}
+			listeners = CopyOnWriteArrays.append(listeners, listener);
 		} finally {
 			lock.release();
 		}		
@@ -32,7 +31,11 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 		IResource lock = monitor.acquireWrite();
 		
 		try {
-			listeners.remove(listener);
+			final int index = CopyOnWriteArrays.indexOf(listeners, listener);
+
+			if (index >= 0) {
+				listeners = CopyOnWriteArrays.remove(listeners, index);
+			}
 		} finally {
 			lock.release();
 		}
@@ -40,78 +43,77 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 
 	@Override
 	public void add(T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(value);
 		}
 	}
 
 	@Override
 	public void add(int index, T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(index, value);
 		}
 	}
 
 	@Override
 	public void add(int index, Collection<T> values) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(index, values);
 		}
 	}
 
 	@Override
 	public void set(int index, T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.set(index, value);
 		}
 	}
 
 	@Override
 	public void set(int index, Collection<T> values) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.set(index, values);
 		}
 	}
 
 	@Override
 	public void remove(int index, int count) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.remove(index, count);
 		}
 	}
 
 	@Override
 	public void clear() {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.clear();
 		}
 	}
 
 	@Override
 	public void move(int startIndex, int newIndex, int count) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.move(startIndex, newIndex, count);
 		}
 	}
 
 	@Override
 	public void reset(Collection<T> newItems) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.reset(newItems);
 		}
 	}
-	
-	private Iterable<IListMutator<T>> makeInvocationList() {
-		IResource lock = monitor.acquireRead();
-		Iterable<IListMutator<T>> iterable;
-		
-		try {
-			iterable = new ArrayList<>(listeners);
-		} finally {
-			lock.release();
+
+	@Override
+	public void batch(IListBatch<T> batch) {
+		for (IListMutator<T> mutator : listeners) {
+			mutator.batch(batch);
 		}
-		
-		return iterable;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> IListMutator<T>[] newListeners() {
+		return (IListMutator<T>[]) new IListMutator<?>[0];
 	}
 
 }
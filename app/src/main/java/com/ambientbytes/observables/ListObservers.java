@@ -1,26 +1,61 @@
 package com.ambientbytes.observables;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
-final class ListObservers<T> implements IListObserver {
+/**
+ * Set of list observers that forwards notifications to all observers in the set.
+ * Observers are kept in copy-on-write arrays, so notifications neither lock the monitor nor allocate memory.
+ * Notifications made between beginChangeSet() and endChangeSet() are recorded for change set observers,
+ * that receive them in one change set when the outermost change set ends.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the observed list.
+ */
+final class ListObservers<T> implements IChangeSetBoundaryObserver {
 	
+	private static final IListObserver[] NO_OBSERVERS = new IListObserver[0];
+	private static final IListChangeSetObserver[] NO_CHANGE_SET_OBSERVERS = new IListChangeSetObserver[0];
+	private static final IChangeSetBoundaryObserver[] NO_BOUNDARY_OBSERVERS = new IChangeSetBoundaryObserver[0];
+
 	private final IReadWriteMonitor monitor;
-	private final Set<IListObserver> observers;
+	private volatile IListObserver[] observers;
+	private volatile IListChangeSetObserver[] changeSetObservers;
+	private volatile IChangeSetBoundaryObserver[] boundaryObservers;
+	//
+	// State of the current change set; notifications come under the write lock of the monitor,
+	// so only one thread uses the state at a time.
+	//
+	private int changeSetDepth;
+	private IListChangeSetObserver[] changeSetRecipients;
+	private List<ListChangeSet.Change> changeSetChanges;
 	
 	ListObservers(final IReadWriteMonitor monitor) {
 		this.monitor = monitor;
-		this.observers = new HashSet<>();
+		this.observers = NO_OBSERVERS;
+		this.changeSetObservers = NO_CHANGE_SET_OBSERVERS;
+		this.boundaryObservers = NO_BOUNDARY_OBSERVERS;
+		this.changeSetDepth = 0;
 	}
 	
 	public void add(IListObserver observer) {
 		final IResource l = monitor.acquireWrite();
 		
 		try {
-			if (!observers.add(observer)) {
+			if (CopyOnWriteArrays.indexOf(observers, observer) >= 0
+					|| CopyOnWriteArrays.indexOf(changeSetObservers, observer) >= 0) {
 				throw new IllegalStateException("Duplicate list observer");
 			}
+			if (observer instanceof IListChangeSetObserver) {
+				changeSetObservers = CopyOnWriteArrays.append(changeSetObservers, (IListChangeSetObserver) observer);
+			} else {
+				observers = CopyOnWriteArrays.append(observers, observer);
+
+				if (observer instanceof IChangeSetBoundaryObserver) {
+					boundaryObservers = CopyOnWriteArrays.append(boundaryObservers,
+							(IChangeSetBoundaryObserver) observer);
+				}
+			}
 		} finally {
 			l.release();
 		}
@@ -30,78 +65,220 @@ final class ListObservers<T> implements IListObserver {
 		final IResource l = monitor.acquireWrite();
 		
 		try {
-			observers.remove(observer);
+			int index = CopyOnWriteArrays.indexOf(observers, observer);
+
+			if (index >= 0) {
+				observers = CopyOnWriteArrays.remove(observers, index);
+			}
+			index = CopyOnWriteArrays.indexOf(changeSetObservers, observer);
+			if (index >= 0) {
+				changeSetObservers = CopyOnWriteArrays.remove(changeSetObservers, index);
+			}
+			index = CopyOnWriteArrays.indexOf(boundaryObservers, observer);
+			if (index >= 0) {
+				boundaryObservers = CopyOnWriteArrays.remove(boundaryObservers, index);
+			}
 		} finally {
 			l.release();
 		}
 	}
 
+	@Override
+	public void beginChangeSet() {
+		if (changeSetDepth++ == 0) {
+			changeSetRecipients = changeSetObservers;
+
+			if (changeSetRecipients.length > 0) {
+				changeSetChanges = new ArrayList<>();
+			}
+		}
+
+		for (IChangeSetBoundaryObserver observer : boundaryObservers) {
+			observer.beginChangeSet();
+		}
+	}
+
+	@Override
+	public void endChangeSet() {
+		for (IChangeSetBoundaryObserver observer : boundaryObservers) {
+			observer.endChangeSet();
+		}
+
+		if (--changeSetDepth == 0) {
+			final IListChangeSetObserver[] recipients = changeSetRecipients;
+			final List<ListChangeSet.Change> changes = changeSetChanges;
+
+			changeSetRecipients = null;
+			changeSetChanges = null;
+
+			if (changes != null && !changes.isEmpty()) {
+				final ListChangeSet changeSet = new ListChangeSet(changes);
+				final IListChangeSetObserver[] current = changeSetObservers;
+
+				for (IListChangeSetObserver observer : recipients) {
+					//
+					// Observers removed while the change set was being made do not receive it.
+					//
+					if (current == recipients || CopyOnWriteArrays.indexOf(current, observer) >= 0) {
+						observer.applied(changeSet);
+					}
+				}
+			}
+		}
+	}
+
 	@Override
 	public void added(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.added(startIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.added(startIndex, count);
+			}
+		}
+		record(ListChangeSet.Kind.ADDED, startIndex, startIndex, count);
 	}
 	
 	@Override
 	public void changing(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.changing(startIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.changing(startIndex, count);
+			}
+		}
 	}
 	
 	@Override
 	public void changed(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.changed(startIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.changed(startIndex, count);
+			}
+		}
+		record(ListChangeSet.Kind.CHANGED, startIndex, startIndex, count);
 	}
 	
 	@Override
 	public void removing(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.removing(startIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.removing(startIndex, count);
+			}
+		}
 	}
 
 	@Override
 	public void removed(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.removed(startIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.removed(startIndex, count);
+			}
+		}
+		record(ListChangeSet.Kind.REMOVED, startIndex, startIndex, count);
 	}
 
 	@Override
 	public void moved(int oldStartIndex, int newStartIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.moved(oldStartIndex, newStartIndex, count);
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.moved(oldStartIndex, newStartIndex, count);
+			}
+		}
+		record(ListChangeSet.Kind.MOVED, oldStartIndex, newStartIndex, count);
 	}
 
 	@Override
 	public void resetting() {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.resetting();
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.resetting();
+			}
+		}
 	}
 
 	@Override
 	public void reset() {
-		for (IListObserver observer : makeInvocationList()) {
+		final IListChangeSetObserver[] changeSet = changeSetObservers;
+
+		for (IListObserver observer : observers) {
 			observer.reset();
 		}
+		if (changeSet.length > 0) {
+			for (IListObserver observer : fineGrainedChangeSetObservers(changeSet)) {
+				observer.reset();
+			}
+		}
+		record(ListChangeSet.Kind.RESET, 0, 0, 0);
 	}
-	
-	private Iterable<IListObserver> makeInvocationList() {
-		Iterable<IListObserver> iterable;
-		final IResource l = monitor.acquireRead();
-		
-		try {
-			iterable = new ArrayList<>(observers);
-		} finally {
-			l.release();
+
+	/**
+	 * Get change set observers that must receive fine-grained notifications - all of them outside of change sets
+	 * and the ones added after the current change set has begun inside of change sets.
+	 * Notifications call it only if there are change set observers, so lists without them only notify
+	 * plain observers.
+	 */
+	private IListChangeSetObserver[] fineGrainedChangeSetObservers(IListChangeSetObserver[] current) {
+		IListChangeSetObserver[] fineGrained = current;
+
+		if (changeSetDepth > 0) {
+			if (current == changeSetRecipients) {
+				fineGrained = NO_CHANGE_SET_OBSERVERS;
+			} else {
+				fineGrained = NO_CHANGE_SET_OBSERVERS;
+
+				for (IListChangeSetObserver observer : current) {
+					if (CopyOnWriteArrays.indexOf(changeSetRecipients, observer) < 0) {
+						fineGrained = CopyOnWriteArrays.append(fineGrained, observer);
+					}
+				}
+			}
+		}
+
+		return fineGrained;
+	}
+
+	private void record(ListChangeSet.Kind kind, int startIndex, int newStartIndex, int count) {
+		if (changeSetChanges != null) {
+			if (kind == ListChangeSet.Kind.RESET) {
+				//
+				// A reset replaces all items, so observers do not need changes made before it.
+				//
+				changeSetChanges.clear();
+			}
+			changeSetChanges.add(new ListChangeSet.Change(kind, startIndex, newStartIndex, count));
 		}
-		
-		return iterable;
 	}
 }
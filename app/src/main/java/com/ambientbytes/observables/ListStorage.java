@@ -0,0 +1,19 @@
+package com.ambientbytes.observables;
+
+/**
+ * Kind of storage that backs items of a mutable observable list.
+ * @author Pavel Karpenko
+ */
+public enum ListStorage {
+	/**
+	 * Single contiguous array. Fastest random access; positional inserts and removals
+	 * shift the entire tail of the list.
+	 */
+	ARRAY,
+
+	/**
+	 * Chunked, tree-indexed sequence. Random access takes O(log n); positional inserts
+	 * and removals shift at most one chunk, which suits large lists changed in the middle.
+	 */
+	CHUNKED
+}
@@ -0,0 +1,156 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Observable list that copies items of a source list guarded by one monitor and is guarded by another monitor,
+ * so lists behind it only lock their own monitor. The list applies every change of the source list under
+ * the write lock of its own monitor, which it takes while the source list holds the write lock of the source monitor,
+ * so monitors are always locked in the order of the chain and never deadlock. Changes of the source are delivered
+ * to each list behind a shared source one after another, taking and releasing their locks in turn, while changes
+ * made only behind the list - like new filters or orders - lock neither the source monitor nor monitors
+ * of other chains that share the source.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class LockBoundaryObservableList<T> extends LinkedReadOnlyObservableList<T> {
+
+	private final ArrayListEx<T> data;
+	private final Deque<IResource> changeSetLocks;	// guarded by the source monitor
+
+	LockBoundaryObservableList(IReadOnlyObservableList<T> source, IReadWriteMonitor sourceMonitor,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+		this.data = new ArrayListEx<>();
+		this.changeSetLocks = new ArrayDeque<>();
+
+		final IResource lock = sourceMonitor.acquireRead();
+
+		try {
+			data.addAll(0, copyItems(source, 0, source.getSize()));
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected void onBeginChangeSet() {
+		//
+		// Hold the lock for the whole change set, so readers behind the list never see a part of it.
+		//
+		changeSetLocks.push(monitor().acquireWrite());
+		beginChangeSet();
+	}
+
+	@Override
+	protected void onEndChangeSet() {
+		try {
+			endChangeSet();
+		} finally {
+			changeSetLocks.pop().release();
+		}
+	}
+
+	@Override
+	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = copyItems(source, startIndex, count);
+		final IResource lock = monitor().acquireWrite();
+
+		try {
+			data.addAll(startIndex, items);
+			notifyAdded(startIndex, count);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	protected void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = copyItems(source, startIndex, count);
+		final IResource lock = monitor().acquireWrite();
+
+		try {
+			notifyChanging(startIndex, count);
+			data.setAll(startIndex, items);
+			notifyChanged(startIndex, count);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	protected void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final IResource lock = monitor().acquireWrite();
+
+		try {
+			notifyRemoving(startIndex, count);
+			data.remove(startIndex, count);
+			notifyRemoved(startIndex, count);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		final IResource lock = monitor().acquireWrite();
+
+		try {
+			data.move(oldStartIndex, newStartIndex, count);
+			notifyMoved(oldStartIndex, newStartIndex, count);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	protected void onResetting(IReadOnlyObservableList<T> source) {
+	}
+
+	@Override
+	protected void onReset(IReadOnlyObservableList<T> source) {
+		final List<T> items = copyItems(source, 0, source.getSize());
+		final IResource lock = monitor().acquireWrite();
+
+		try {
+			notifyResetting();
+			data.clear();
+			data.addAll(0, items);
+			notifyReset();
+		} finally {
+			lock.release();
+		}
+	}
+
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		return items;
+	}
+}
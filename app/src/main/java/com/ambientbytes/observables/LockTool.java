@@ -16,4 +16,15 @@ public final class LockTool {
 	public static IReadWriteMonitor createReadWriteMonitor(ReadWriteLock lock) {
 		return new ReadWriteMonitor(lock);
 	}
+
+    /**
+     * Create a new read/write monitor wrapping a Java's ReadWriteLock object that does not allocate memory
+     * when it acquires locks. Resources returned by the monitor are reused by later acquisitions on the same thread,
+     * so every acquired resource must be released exactly once, on the thread that has acquired it.
+     * @param lock read/write lock used by the monitor.
+     * @return new read/write monitor.
+     */
+	public static IReadWriteMonitor createReusableReadWriteMonitor(ReadWriteLock lock) {
+		return new ReusableReadWriteMonitor(lock);
+	}
 }
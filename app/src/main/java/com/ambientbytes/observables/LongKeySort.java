@@ -0,0 +1,89 @@
+package com.ambientbytes.observables;
+
+/**
+ * Stable LSD radix sort of objects by 64-bit signed keys.
+ * Sorting runs one counting pass per byte of the keys and skips bytes that are the same in all keys,
+ * so keys from a narrow range are sorted in a few linear passes.
+ * @author Pavel Karpenko
+ */
+final class LongKeySort {
+
+	private static final int RADIX_BITS = 8;
+	private static final int RADIX = 1 << RADIX_BITS;
+	private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+	private LongKeySort() {
+	}
+
+	/**
+	 * Sort items by their keys in the ascending order; items with equal keys keep their relative order.
+	 * @param keys keys of the items; sorted together with the items.
+	 * @param items items to sort; the item at each position has the key at the same position of keys.
+	 * @param length number of items to sort from the beginning of the arrays.
+	 */
+	static void sort(long[] keys, Object[] items, int length) {
+		if (keys.length < length || items.length < length) {
+			throw new IllegalArgumentException("keys and items must have at least length elements");
+		}
+
+		if (length > 1) {
+			long[] sourceKeys = keys;
+			Object[] sourceItems = items;
+			long[] targetKeys = new long[length];
+			Object[] targetItems = new Object[length];
+			final int[] counts = new int[RADIX];
+
+			for (int pass = 0; pass < PASSES; ++pass) {
+				final int shift = pass * RADIX_BITS;
+
+				if (countDigits(sourceKeys, length, shift, counts)) {
+					for (int i = 0, offset = 0; i < RADIX; ++i) {
+						final int count = counts[i];
+						counts[i] = offset;
+						offset += count;
+					}
+
+					for (int i = 0; i < length; ++i) {
+						final int position = counts[digit(sourceKeys[i], shift)]++;
+						targetKeys[position] = sourceKeys[i];
+						targetItems[position] = sourceItems[i];
+					}
+
+					final long[] swappedKeys = sourceKeys;
+					final Object[] swappedItems = sourceItems;
+					sourceKeys = targetKeys;
+					sourceItems = targetItems;
+					targetKeys = swappedKeys;
+					targetItems = swappedItems;
+				}
+			}
+
+			if (sourceKeys != keys) {
+				System.arraycopy(sourceKeys, 0, keys, 0, length);
+				System.arraycopy(sourceItems, 0, items, 0, length);
+			}
+		}
+	}
+
+	private static boolean countDigits(long[] keys, int length, int shift, int[] counts) {
+		//
+		// Count occurrences of each digit; report if the pass is needed - if not all keys have the same digit.
+		//
+		for (int i = 0; i < RADIX; ++i) {
+			counts[i] = 0;
+		}
+
+		for (int i = 0; i < length; ++i) {
+			counts[digit(keys[i], shift)]++;
+		}
+
+		return counts[digit(keys[0], shift)] != length;
+	}
+
+	private static int digit(long key, int shift) {
+		//
+		// Flip the sign bit so negative keys sort before positive ones.
+		//
+		return (int) (((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1));
+	}
+}
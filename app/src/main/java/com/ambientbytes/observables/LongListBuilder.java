@@ -0,0 +1,122 @@
+package com.ambientbytes.observables;
+
+/**
+ * Builders of chains of observable lists of long values.
+ * Instances are created by ListBuilder; the class mirrors ListBuilder's chained builders.
+ * @author Pavel Karpenko
+ */
+final class LongListBuilder {
+
+	private LongListBuilder() {
+	}
+
+	private abstract static class MonitoredLongListBuilder implements ILongListBuilder {
+
+		private final IReadWriteMonitor monitor;
+		private final ITrigger unlinker;
+
+		MonitoredLongListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+			this.monitor = monitor;
+			this.unlinker = unlinker;
+		}
+
+		protected abstract IReadOnlyLongObservableList buildList();
+
+		@Override
+		public final ILongListBuilder filter(IObservableReference<ILongItemFilter> filter) {
+			return new FilteringLongListBuilder(this, unlinker, monitor, filter);
+		}
+
+		@Override
+		public final ILongListBuilder order(IObservableReference<ILongItemsOrder> order) {
+			return new OrderingLongListBuilder(this, unlinker, monitor, order);
+		}
+
+		@Override
+		public final IReadOnlyLongObservableList build() {
+			final IReadOnlyLongObservableList list = buildList();
+
+			if (unlinker != null && list instanceof ILinked) {
+				ListBuilder.Unlinker.attachUnlinker((ILinked) list, unlinker);
+			}
+
+			return list;
+		}
+
+		protected final IReadWriteMonitor monitor() {
+			return monitor;
+		}
+	}
+
+	private final static class StraightLongListBuilder extends MonitoredLongListBuilder {
+
+		private final IReadOnlyLongObservableList sourceList;
+
+		StraightLongListBuilder(IReadOnlyLongObservableList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.sourceList = sourceList;
+		}
+
+		@Override
+		protected IReadOnlyLongObservableList buildList() {
+			return sourceList;
+		}
+	}
+
+	private final static class MutableLongListBuilder extends MonitoredLongListBuilder {
+
+		private final ILongListMutatorListener mutator;
+
+		MutableLongListBuilder(ILongListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+			super(unlinker, monitor);
+			this.mutator = mutator;
+		}
+
+		@Override
+		protected IReadOnlyLongObservableList buildList() {
+			return new MutableLongObservableList(mutator, monitor());
+		}
+	}
+
+	private final static class FilteringLongListBuilder extends MonitoredLongListBuilder {
+
+		private final ILongListBuilder source;
+		private final IObservableReference<ILongItemFilter> filter;
+
+		FilteringLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<ILongItemFilter> filter) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.filter = filter;
+		}
+
+		@Override
+		protected IReadOnlyLongObservableList buildList() {
+			return new FilteringLongObservableList(source.build(), filter, monitor());
+		}
+	}
+
+	private final static class OrderingLongListBuilder extends MonitoredLongListBuilder {
+
+		private final ILongListBuilder source;
+		private final IObservableReference<ILongItemsOrder> order;
+
+		OrderingLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<ILongItemsOrder> order) {
+			super(unlinker, monitor);
+			this.source = source;
+			this.order = order;
+		}
+
+		@Override
+		protected IReadOnlyLongObservableList buildList() {
+			return new OrderingLongObservableList(source.build(), order, monitor());
+		}
+	}
+
+	static ILongListBuilder mutable(ILongListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new MutableLongListBuilder(mutator, unlinker, monitor);
+	}
+
+	static ILongListBuilder source(IReadOnlyLongObservableList source, ITrigger unlinker, IReadWriteMonitor monitor) {
+		return new StraightLongListBuilder(source, unlinker, monitor);
+	}
+}
@@ -0,0 +1,108 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutator of observable lists of long values that forwards all requests to registered listeners.
+ * @author Pavel Karpenko
+ */
+public final class LongListMutator implements ILongListMutator, ILongListMutatorListener {
+
+	private final IReadWriteMonitor monitor;
+	private volatile ILongListMutator[] listeners;	// copy-on-write
+
+	public LongListMutator(IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.listeners = new ILongListMutator[0];
+	}
+
+	@Override
+	public void addListener(ILongListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (listener == null || CopyOnWriteArrays.indexOf(listeners, listener) >= 0) {
+				throw new IllegalArgumentException("Listeners must be unique and non-null.");
+			}
+			listeners = CopyOnWriteArrays.append(listeners, listener);
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void removeListener(ILongListMutator listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final int index = CopyOnWriteArrays.indexOf(listeners, listener);
+
+			if (index >= 0) {
+				listeners = CopyOnWriteArrays.remove(listeners, index);
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void add(long value) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, long value) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, long[] values) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, long value) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, long[] values) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (ILongListMutator mutator : listeners) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(long[] newItems) {
+		for (ILongListMutator mutator : listeners) {
+			mutator.reset(newItems);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mapping cache policy that evicts the least recently read items once the cache holds more items than its capacity.
+ * @author Pavel Karpenko
+ *
+ * @param <TMapped> type of mapped items.
+ */
+public final class LruMappingCachePolicy<TMapped> implements IMappingCachePolicy<TMapped> {
+
+	private final int capacity;
+
+	public LruMappingCachePolicy(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+
+		this.capacity = capacity;
+	}
+
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	@Override
+	public boolean isEvictable(TMapped item) {
+		return true;
+	}
+
+	@Override
+	public void released(TMapped item) {
+	}
+}
@@ -1,13 +1,16 @@
 package com.ambientbytes.observables;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedReadOnlyObservableList<TMapped> {
 
 	private final ListObservers<TMapped> observers;
 	private final IItemMapper<TSource, TMapped> mapper;
 	private final ArrayListEx<TMapped> data;
+	private final ForkJoinPool pool;	// null if items are mapped on the notifying thread
+	private final int parallelThreshold;
 	private IListObserver sourceObserver;
 	private IReadOnlyObservableList<TSource> source;
 
@@ -15,13 +18,33 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 			IReadOnlyObservableList<TSource> source,
 			IItemMapper<TSource, TMapped> mapper,
             IReadWriteMonitor monitor) {
+		this(source, mapper, null, 0, monitor);
+	}
+
+	/**
+	 * Create a mapping list that maps batches of at least parallelThreshold items on a fork/join pool.
+	 * Source items of a batch are read on the notifying thread; only the mapper is called on threads of the pool,
+	 * so the mapper must be thread safe.
+	 * @param pool pool that maps large batches of items; null to map all items on the notifying thread.
+	 * @param parallelThreshold smallest number of items mapped on the pool.
+	 */
+	MappingReadOnlyObservableList(
+			IReadOnlyObservableList<TSource> source,
+			IItemMapper<TSource, TMapped> mapper,
+			ForkJoinPool pool,
+			int parallelThreshold,
+			IReadWriteMonitor monitor) {
+		if (pool != null && parallelThreshold <= 0) {
+			throw new IllegalArgumentException("parallelThreshold must be positive");
+		}
+
 		this.observers = new ListObservers<>(monitor);
 		this.mapper = mapper;
+		this.pool = pool;
+		this.parallelThreshold = parallelThreshold;
 		this.data = new ArrayListEx<>(source.getSize());
 		this.source = source;
-		for (int i = 0; i < source.getSize(); ++i) {
-			this.data.add(mapper.map(source.getAt(i)));
-		}
+		this.data.addAll(mapItems(0, source.getSize()));
 		this.sourceObserver = new IListObserver() {
 			@Override public void added(int startIndex, int count)
 			{
@@ -68,14 +91,7 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 	}
 	
 	private void onAdded(int startIndex, int count) {
-		Collection<TMapped> mapped = new ArrayList<>(count);
-		
-		for (int i = 0; i < count; ++i) {
-            TSource sourceValue = source.getAt(startIndex + i);
-            TMapped mappedValue = mapper.map(sourceValue);
-			mapped.add(mappedValue);
-		}
-		data.addAll(startIndex, mapped);
+		data.addAll(startIndex, mapItems(startIndex, count));
 		observers.added(startIndex, count);
 	}
 	
@@ -94,22 +110,7 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 	}
 	
 	private void onMoved(int oldStartIndex, int newStartIndex, int count) {
-		final int low, pivot, high;
-		
-		if (oldStartIndex < newStartIndex) {
-			low = oldStartIndex;
-			pivot = oldStartIndex + count;
-			high = newStartIndex + count;
-		} else {
-			low = newStartIndex;
-			pivot = oldStartIndex;
-			high = pivot + count;
-		}
-				
-		reverseRange(low, pivot);
-		reverseRange(pivot, high);
-		reverseRange(low, high);
-
+		data.move(oldStartIndex, newStartIndex, count);
 		observers.moved(oldStartIndex, newStartIndex, count);
 	}
 	
@@ -118,28 +119,30 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 	}
 	
 	private void onReset() {
-		final int size = source.getSize();
-		
+		final List<TMapped> mapped = mapItems(0, source.getSize());
+
 		data.clear();
-		for (int i = 0; i < size; ++i) {
-			data.add(mapper.map(source.getAt(i)));
-		}
+		data.addAll(mapped);
 		observers.reset();
 	}
-	
-	private void reverseRange(int low, int high) {
-		if (high - low > 1) {
-			int l = low;
-			int h = high - 1;
-			
-			while (l < h) {
-				TMapped tmp = data.get(l);
-				data.set(l, data.get(h));
-				data.set(h,  tmp);
-				l++;
-				h--;
+
+	@SuppressWarnings("unchecked")
+	private List<TMapped> mapItems(int startIndex, int count) {
+		final Object[] items = new Object[count];
+
+		for (int i = 0; i < count; ++i) {
+			items[i] = source.getAt(startIndex + i);
+		}
+
+		if (pool != null && count >= parallelThreshold) {
+			ParallelMapping.map(pool, mapper, items);
+		} else {
+			for (int i = 0; i < count; ++i) {
+				items[i] = mapper.map((TSource) items[i]);
 			}
 		}
+
+		return (List<TMapped>) (List<?>) Arrays.asList(items);
 	}
 
 }
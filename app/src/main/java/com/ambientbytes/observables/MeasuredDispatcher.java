@@ -0,0 +1,88 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for dispatchers that keeps the counters of IMeasuredDispatcher.
+ * Subclasses call dispatched() when they accept an action and executing() right before they execute it.
+ * @author Pavel Karpenko
+ *
+ */
+abstract class MeasuredDispatcher implements IMeasuredDispatcher {
+
+	private final AtomicLong dispatchedCount;
+	private final AtomicLong executedCount;
+	private final AtomicLong maxQueueDepth;
+	private final AtomicLong totalLatency;
+	private final AtomicLong maxLatency;
+
+	protected MeasuredDispatcher() {
+		this.dispatchedCount = new AtomicLong();
+		this.executedCount = new AtomicLong();
+		this.maxQueueDepth = new AtomicLong();
+		this.totalLatency = new AtomicLong();
+		this.maxLatency = new AtomicLong();
+	}
+
+	@Override
+	public final long getQueueDepth() {
+		//
+		// Read the executed count first, so a concurrent dispatch never makes the depth negative.
+		//
+		final long executed = executedCount.get();
+
+		return dispatchedCount.get() - executed;
+	}
+
+	@Override
+	public final long getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	@Override
+	public final long getExecutedCount() {
+		return executedCount.get();
+	}
+
+	@Override
+	public final long getTotalLatencyNanos() {
+		return totalLatency.get();
+	}
+
+	@Override
+	public final long getMaxLatencyNanos() {
+		return maxLatency.get();
+	}
+
+	/**
+	 * Count a dispatched action.
+	 * @return time of dispatching that must be passed to executing().
+	 */
+	protected final long dispatched() {
+		final long depth = dispatchedCount.incrementAndGet() - executedCount.get();
+
+		updateMax(maxQueueDepth, depth);
+
+		return System.nanoTime();
+	}
+
+	/**
+	 * Count an action that starts executing.
+	 * @param dispatchTime time returned by dispatched() when the action has been dispatched.
+	 */
+	protected final void executing(long dispatchTime) {
+		final long latency = System.nanoTime() - dispatchTime;
+
+		executedCount.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		updateMax(maxLatency, latency);
+	}
+
+	private static void updateMax(AtomicLong max, long value) {
+		long current = max.get();
+
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+}
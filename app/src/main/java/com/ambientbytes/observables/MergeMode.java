@@ -0,0 +1,19 @@
+package com.ambientbytes.observables;
+
+/**
+ * Way a merging observable list keeps items of the merged lists.
+ * @author Pavel Karpenko
+ */
+public enum MergeMode {
+	/**
+	 * Items of all merged lists are copied in one array. Fastest random access; every change of a merged list
+	 * is also applied to the copy.
+	 */
+	COPY,
+
+	/**
+	 * Items are not copied; reading an item finds the merged list that holds it in O(log k), where k is the number
+	 * of merged lists, and reads the item from that list. Suits many large lists of that only a part is ever read.
+	 */
+	VIRTUAL
+}
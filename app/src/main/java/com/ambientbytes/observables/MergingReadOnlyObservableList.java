@@ -1,15 +1,36 @@
 package com.ambientbytes.observables;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Observable list that merges contents of all lists in a list set.
+ * In the COPY mode the list keeps a copy of all merged items; in the VIRTUAL mode it only keeps sizes
+ * of merged lists and reads items from the merged lists.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
 final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservableList<T> {
 	
 	private final IReadWriteMonitor monitor;
 	private final ListObservers<T> observers;
-	private final List<ListInfo> lists;
-	private final ArrayListEx<T> data;
+	//
+	// Merged lists occupy slots in the order they have been added; slots of removed lists are empty (null)
+	// until the slots are compacted. Sizes of lists in slots are kept in a Fenwick tree, so the offset
+	// of a list in data is the sum of sizes of all slots before the list's slot.
+	//
+	private final List<ListInfo> slots;
+	private final FenwickTree sizes;
+	private final Map<IReadOnlyObservableList<T>, ListInfo> lists;
+	private final ArrayListEx<T> data;	// null in the VIRTUAL mode
+	//
+	// Items captured by unlink in the VIRTUAL mode, so the unlinked list keeps its last contents
+	// without reading the merged lists.
+	//
+	private List<T> unlinkedItems;
 	private final IListSet<T> listSet;
 	private final IListSetListener<T> listSetListener;
 	
@@ -29,21 +50,20 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 	 * Wrapper and observer of dependency observable lists.
 	 * Each list added to MergingReadOnlyObservableList is represented by a ListInfo object
 	 * that listens to the added list's events and updates the merged collection in MergingReadOnlyObservableList.
-	 * List info stores its index in the list of dependency lists maintained by MergingReadOnlyObservableList
-	 * and the offset of its first element in the master list (MergingReadOnlyObservableList.data)
+	 * List info stores its slot in the list of slots maintained by MergingReadOnlyObservableList;
+	 * the offset of its first element in the master list (MergingReadOnlyObservableList.data)
+	 * is computed from sizes of lists in the preceding slots.
 	 *
 	 */
 	private final class ListInfo implements IListObserver {
 		private final IReadOnlyObservableList<T> list;
-		private int index;	// index of the list in the "lists" collection
-		private int offset;	// index of the first element of the list in the "data" collection
+		private int slot;	// index of the list in the "slots" collection and in the "sizes" tree
 		private ListChange pendingChange;
 		
-		ListInfo(IReadOnlyObservableList<T> list, int index, int offset) {
+		ListInfo(IReadOnlyObservableList<T> list, int slot) {
 			this.list = list;
 			this.list.addObserver(this);
-			this.index = index;
-			this.offset = offset;
+			this.slot = slot;
 			this.pendingChange = null;
 		}
 		
@@ -51,82 +71,88 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 			list.removeObserver(this);
 		}
 		
-		boolean hasList(IReadOnlyObservableList<T> list) {
-			return this.list == list;
-		}
-		
-		int removeData() {
+		void removeData() {
 			//
 			// Remove all items of the ListInfo from the merged list.
 			//
-			int length = list.getSize();
+			final int offset = offset();
+			final int length = sizes.get(slot);
 
-			observers.removing(offset, length);
-			data.remove(offset, length);
-			observers.removed(offset, length);
-			
-			return length;
-		}
-		
-		void shiftBack(int indexShift, int itemCount) {
-			offset -= itemCount;
-			index -= indexShift;
+			if (length > 0) {
+				observers.removing(offset, length);
+				if (data != null) {
+					data.remove(offset, length);
+				}
+				sizes.add(slot, -length);
+				observers.removed(offset, length);
+			}
 		}
 		
-		void shiftForward(int indexShift, int itemCount) {
-			offset += itemCount;
-			index += indexShift;
+		private int offset() {
+			return sizes.prefixSum(slot);
 		}
 
 		@Override
 		public void added(int startIndex, int count) {
-			if (count > 1) {
-				List<T> newItems = new ArrayList<>(count);
-				for (int i = 0; i < count; ++i) {
-					newItems.add(list.getAt(startIndex + i));
-				}
-				data.addAll(offset + startIndex, newItems);
+			final int offset = offset();
+			
+			if (data == null) {
+				// Nothing to copy.
+			} else if (count > 1) {
+				data.addAll(offset + startIndex, copyItems(list, startIndex, count));
 			} else {
 				data.add(offset + startIndex, list.getAt(startIndex));
 			}
-			
-			for (int listIndex = index + 1; listIndex < lists.size(); ++listIndex) {
-				lists.get(listIndex).shiftForward(0, count);
-			}
-			
+			sizes.add(slot, count);
 			observers.added(offset + startIndex, count);
 		}
 		
 		@Override
 		public void changing(int startIndex, int count) {
-			observers.changing(offset + startIndex, count);
+			observers.changing(offset() + startIndex, count);
 		}
 		
 		@Override
 		public void changed(int startIndex, int count) {
-			for (int i = startIndex; i < startIndex + count; ++i) {
-				data.set(offset + i, list.getAt(i));
+			final int offset = offset();
+			
+			if (data != null) {
+				data.setAll(offset + startIndex, copyItems(list, startIndex, count));
 			}
 			observers.changed(offset + startIndex, count);
 		}
 
 		@Override
 		public void removing(int startIndex, int count) {
+			final int offset = offset();
+			
 			observers.removing(offset + startIndex, count);
-			data.remove(offset + startIndex, count);
-			for (int listIndex = index + 1; listIndex < lists.size(); ++listIndex) {
-				lists.get(listIndex).shiftBack(0, count);
+			//
+			// The source list still has the removed items; in the VIRTUAL mode the sizes
+			// are updated when the items are gone.
+			//
+			if (data != null) {
+				data.remove(offset + startIndex, count);
+				sizes.add(slot, -count);
+				observers.removed(offset + startIndex, count);
 			}
-			observers.removed(offset + startIndex, count);
 		}
 
 		@Override
 		public void removed(int startIndex, int count) {
+			if (data == null) {
+				sizes.add(slot, -count);
+				observers.removed(offset() + startIndex, count);
+			}
 		}
 
 		@Override
 		public void moved(int oldStartIndex, int newStartIndex, int count) {
-			data.move(offset + oldStartIndex, offset + newStartIndex, count);
+			final int offset = offset();
+			
+			if (data != null) {
+				data.move(offset + oldStartIndex, offset + newStartIndex, count);
+			}
 			observers.moved(offset + oldStartIndex, offset + newStartIndex, count);
 		}
 
@@ -138,43 +164,39 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 
 		@Override
 		public void reset() {
+			final int offset = offset();
 			final int newSize = list.getSize();
 			final int sizeDifference = newSize - pendingChange.getOldSize();
 			pendingChange = null;
 			
-			if (sizeDifference <= 0) {
+			if (data == null) {
+				sizes.add(slot, sizeDifference);
+			} else if (sizeDifference <= 0) {
 				if (sizeDifference != 0) {
-					for (int i = index + 1; i < lists.size(); ++i) {
-						lists.get(i).shiftBack(0, -sizeDifference);
-					}
+					sizes.add(slot, sizeDifference);
 					data.remove(offset, -sizeDifference);
 				}
-				for (int i = 0; i < list.getSize(); ++i) {
-					data.set(offset + i, list.getAt(i));
-				}
+				data.setAll(offset, copyItems(list, 0, newSize));
 			} else if (sizeDifference > 0) {
-				Collection<T> newHeadItems = new ArrayList<>(sizeDifference);
-				int i = 0;
-				while (i < sizeDifference) {
-					newHeadItems.add(list.getAt(i++));
-				}
-				data.addAll(offset, newHeadItems);
-				while (i < newSize) {
-					data.set(offset + i, list.getAt(i++));
-				}
-				for (i = index + 1; i < lists.size(); ++i) {
-					lists.get(i).shiftForward(0, sizeDifference);
-				}
+				data.addAll(offset, copyItems(list, 0, sizeDifference));
+				data.setAll(offset + sizeDifference, copyItems(list, sizeDifference, newSize - sizeDifference));
+				sizes.add(slot, sizeDifference);
 			}
 			observers.reset();
 		}
 	}
 	
 	MergingReadOnlyObservableList(IListSet<T> listSet, IReadWriteMonitor monitor) {
+		this(listSet, MergeMode.COPY, monitor);
+	}
+	
+	MergingReadOnlyObservableList(IListSet<T> listSet, MergeMode mode, IReadWriteMonitor monitor) {
 		this.monitor = monitor;
 		this.observers = new ListObservers<>(monitor);
-		this.lists = new ArrayList<>();
-		this.data = new ArrayListEx<>();
+		this.slots = new ArrayList<>();
+		this.sizes = new FenwickTree();
+		this.lists = new IdentityHashMap<>();
+		this.data = mode == MergeMode.VIRTUAL ? null : new ArrayListEx<T>();
 		this.listSet = listSet;
 		
 		for (IReadOnlyObservableList<T> list : listSet) {
@@ -198,12 +220,37 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 
 	@Override
 	public T getAt(int index) {
-		return data.get(index);
+		final T item;
+		
+		if (data != null) {
+			item = data.get(index);
+		} else if (unlinkedItems != null) {
+			item = unlinkedItems.get(index);
+		} else {
+			final int slot = sizes.search(index);
+			
+			if (index < 0 || slot >= slots.size()) {
+				throw new IndexOutOfBoundsException();
+			}
+			item = slots.get(slot).list.getAt(index - sizes.prefixSum(slot));
+		}
+		
+		return item;
 	}
 
 	@Override
 	public int getSize() {
-		return data.size();
+		final int size;
+
+		if (data != null) {
+			size = data.size();
+		} else if (unlinkedItems != null) {
+			size = unlinkedItems.size();
+		} else {
+			size = sizes.prefixSum(sizes.size());
+		}
+
+		return size;
 	}
 
 	@Override
@@ -222,10 +269,21 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		
 		try {
 			listSet.removeListener(listSetListener);
-			for (ListInfo list : lists) {
+			if (data == null && unlinkedItems == null) {
+				final int size = getSize();
+				final List<T> items = new ArrayList<>(size);
+
+				for (int i = 0; i < size; ++i) {
+					items.add(getAt(i));
+				}
+				unlinkedItems = items;
+			}
+			for (ListInfo list : lists.values()) {
 				list.unlink();
 			}
 			lists.clear();
+			slots.clear();
+			sizes.clear();
 		} finally {
 			res.release();
 		}
@@ -235,21 +293,21 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		IResource res = monitor.acquireWrite();
 		
 		try {
-			for (ListInfo listInfo : lists) {
-				if (listInfo.hasList(list)) {
-					throw new IllegalArgumentException("duplicate list in the collection");
-				}
+			if (lists.containsKey(list)) {
+				throw new IllegalArgumentException("duplicate list in the collection");
 			}
 			
-			int startIndex = data.size();
+			int startIndex = getSize();
 			int length = list.getSize();
+			ListInfo listInfo = new ListInfo(list, slots.size());
 			
-			lists.add(new ListInfo(list, lists.size(), startIndex));
+			lists.put(list, listInfo);
+			slots.add(listInfo);
+			sizes.append(length);
 			
 			if (length > 0) {
-				data.ensureCapacity(data.size() + length);
-				for (int i = 0; i < length; ++i) {
-					data.add(list.getAt(i));
+				if (data != null) {
+					data.addAll(copyItems(list, 0, length));
 				}
 				observers.added(startIndex, length);
 			}
@@ -262,27 +320,58 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		IResource res = monitor.acquireWrite();
 		
 		try {
-			int i = 0;
+			final ListInfo listInfo = lists.remove(list);
 			
-			while(i < lists.size()) {
-				ListInfo listInfo = lists.get(i);
+			if (listInfo != null) {
+				listInfo.unlink();
+				listInfo.removeData();
+				slots.set(listInfo.slot, null);
 				
-				if (listInfo.hasList(list)) {
-					listInfo.unlink();
-					int removedLength = listInfo.removeData();
-					lists.remove(i);
-					
-					while (i < lists.size()) {
-						listInfo = lists.get(i);
-						listInfo.shiftBack(1, removedLength);
-						++i;
-					}
-				} else {
-					++i;
+				if (slots.size() > 2 * lists.size() + 8) {
+					compactSlots();
 				}
 			}
 		} finally {
 			res.release();
 		}
 	}
+	
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> list, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(list.getAt(i));
+		}
+
+		return items;
+	}
+
+	private void compactSlots() {
+		//
+		// Drop empty slots of removed lists so they do not grow the tree; the order of lists is preserved.
+		//
+		final List<ListInfo> liveSlots = new ArrayList<>(lists.size());
+		
+		for (ListInfo listInfo : slots) {
+			if (listInfo != null) {
+				liveSlots.add(listInfo);
+			}
+		}
+		
+		final int[] liveSizes = new int[liveSlots.size()];
+		
+		for (int i = 0; i < liveSizes.length; ++i) {
+			liveSizes[i] = sizes.get(liveSlots.get(i).slot);
+		}
+		
+		slots.clear();
+		sizes.clear();
+		
+		for (int i = 0; i < liveSizes.length; ++i) {
+			final ListInfo listInfo = liveSlots.get(i);
+			listInfo.slot = i;
+			slots.add(listInfo);
+			sizes.append(liveSizes[i]);
+		}
+	}
 }
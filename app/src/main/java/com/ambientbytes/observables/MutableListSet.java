@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 
 /**
  * Mutable implementation of IListSet that acquires a write lock on a read/write monitor before any mutations.
@@ -19,7 +20,7 @@ public final class MutableListSet<T> implements IListSet<T> {
 	
 	public MutableListSet(IReadWriteMonitor monitor) {
 		this.monitor = monitor;
-		this.lists = new HashSet<>();
+		this.lists = new LinkedHashSet<>();
 		this.listeners = new HashSet<>();
 		
 		for (IReadOnlyObservableList<T> list : lists) {
@@ -0,0 +1,232 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable list of long values changed by a mutator.
+ * @author Pavel Karpenko
+ */
+final class MutableLongObservableList implements IReadOnlyLongObservableList, ILinked {
+
+	private final IReadWriteMonitor monitor;
+	private final LongArrayList data;
+	private final ListObservers<Long> observers;
+	private final ILongListMutatorListener mutatorListener;
+	private ILongListMutator mutatorCallback;
+
+	MutableLongObservableList(final ILongListMutatorListener mutatorListener, final IReadWriteMonitor monitor) {
+		if (monitor == null) {
+			throw new IllegalArgumentException("monitor cannot be null");
+		}
+
+		this.monitor = monitor;
+		this.data = new LongArrayList();
+		this.observers = new ListObservers<>(monitor);
+		this.mutatorListener = mutatorListener;
+		this.mutatorCallback = new ILongListMutator() {
+
+			@Override
+			public void add(long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(data.size(), value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void add(int index, long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void add(int index, long[] values) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(index, values);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void set(int index, long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					setUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void set(int index, long[] values) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					setUnsafe(index, values);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void remove(int index, int count) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					removeUnsafe(index, count);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void clear() {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					clearUnsafe();
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void move(int startIndex, int newIndex, int count) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					moveUnsafe(startIndex, newIndex, count);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public void reset(long[] newItems) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					resetUnsafe(newItems);
+				} finally {
+					res.release();
+				}
+			}
+		};
+		this.mutatorListener.addListener(mutatorCallback);
+	}
+
+	@Override
+	public void unlink() {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (mutatorCallback != null) {
+				mutatorListener.removeListener(mutatorCallback);
+				mutatorCallback = null;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public long getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	private void removeUnsafe(int index, int count) {
+		if (index < 0 || index >= data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final int length = Math.min(count, data.size() - index);
+
+		if (length > 0) {
+			observers.removing(index, length);
+			data.remove(index, length);
+			observers.removed(index, length);
+		}
+	}
+
+	private void insertUnsafe(int index, long value) {
+		data.add(index, value);
+		observers.added(index, 1);
+	}
+
+	private void insertUnsafe(int index, long[] values) {
+		if (values.length != 0) {
+			data.addAll(index, values);
+			observers.added(index, values.length);
+		}
+	}
+
+	private void setUnsafe(int index, long value) {
+		if (index < 0 || index >= data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		observers.changing(index, 1);
+		data.set(index, value);
+		observers.changed(index, 1);
+	}
+
+	private void setUnsafe(int index, long[] values) {
+		if (index < 0 || index + values.length > data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		observers.changing(index, values.length);
+		data.setAll(index, values);
+		observers.changed(index, values.length);
+	}
+
+	private void clearUnsafe() {
+		final int size = data.size();
+
+		if (size > 0) {
+			observers.removing(0, size);
+			data.clear();
+			observers.removed(0, size);
+		}
+	}
+
+	private void moveUnsafe(int startIndex, int newIndex, int count) {
+		data.move(startIndex, newIndex, count);
+
+		if (startIndex != newIndex && count > 0) {
+			observers.moved(startIndex, newIndex, count);
+		}
+	}
+
+	private void resetUnsafe(long[] newItems) {
+		observers.resetting();
+		data.clear();
+		data.addAll(0, newItems);
+		observers.reset();
+	}
+}
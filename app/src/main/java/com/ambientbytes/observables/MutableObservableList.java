@@ -1,24 +1,191 @@
 package com.ambientbytes.observables;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 	
 	private final IReadWriteMonitor monitor;
-	private final ArrayListEx<T> data;
+	private final IMutableRandomAccess<T> data;
 	private final ListObservers<T> observers;
 	private final IListMutatorListener<T> mutatorListener;
+	private final ListChangeLog.ITarget<T> batchTarget;
+	private final IItemKey<? super T> resetKey;
+	private final int maxResetEdits;
 	private IListMutator<T> mutatorCallback;
+
+	//
+	// Mutator that records changes made by a batch in a change log, validating them against the size
+	// that the list will have after all earlier recorded changes.
+	//
+	private static final class BatchRecorder<T> implements IListMutator<T> {
+
+		private final ListChangeLog<T> log;
+		private int size;
+
+		BatchRecorder(int size) {
+			this.log = new ListChangeLog<>();
+			this.size = size;
+		}
+
+		@Override
+		public void add(T value) {
+			add(size, value);
+		}
+
+		@Override
+		public void add(int index, T value) {
+			final List<T> items = new ArrayList<>(1);
+
+			items.add(value);
+			insert(index, items);
+		}
+
+		@Override
+		public void add(int index, Collection<T> values) {
+			insert(index, new ArrayList<>(values));
+		}
+
+		@Override
+		public void set(int index, T value) {
+			final List<T> items = new ArrayList<>(1);
+
+			items.add(value);
+			change(index, items);
+		}
+
+		@Override
+		public void set(int index, Collection<T> values) {
+			change(index, new ArrayList<>(values));
+		}
+
+		@Override
+		public void remove(int index, int count) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			final int length = Math.min(count, size - index);
+
+			if (length > 0) {
+				log.removed(index, length);
+				size -= length;
+			}
+		}
+
+		@Override
+		public void clear() {
+			if (size > 0) {
+				log.removed(0, size);
+				size = 0;
+			}
+		}
+
+		@Override
+		public void move(int startIndex, int newIndex, int count) {
+			if (startIndex < 0 || newIndex < 0 || count < 0 || startIndex + count > size || newIndex + count > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (startIndex != newIndex && count > 0) {
+				log.moved(startIndex, newIndex, count);
+			}
+		}
+
+		@Override
+		public void reset(Collection<T> newItems) {
+			log.reset(new ArrayList<>(newItems));
+			size = newItems.size();
+		}
+
+		@Override
+		public void batch(IListBatch<T> batch) {
+			batch.apply(this);
+		}
+
+		private void insert(int index, List<T> items) {
+			if (index < 0 || index > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (!items.isEmpty()) {
+				log.added(index, items);
+				size += items.size();
+			}
+		}
+
+		private void change(int index, List<T> items) {
+			if (index < 0 || index + items.size() > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (!items.isEmpty()) {
+				log.changed(index, items);
+			}
+		}
+	}
 	
 	public MutableObservableList(final IListMutatorListener<T> mutatorListener, final IReadWriteMonitor monitor) {
+		this(mutatorListener, monitor, new ArrayListEx<T>());
+	}
+	
+	MutableObservableList(
+			final IListMutatorListener<T> mutatorListener,
+			final IReadWriteMonitor monitor,
+			final IMutableRandomAccess<T> storage) {
+		this(mutatorListener, monitor, storage, null, 0);
+	}
+
+	/**
+	 * Create a list that applies resets as differences between old and new items when it can.
+	 * @param resetKey function that identifies items when resetting the list; null to reset the list
+	 * without looking for differences.
+	 * @param maxResetEdits maximum number of removed and added items that a reset may report;
+	 * resets that need more edits replace all items of the list.
+	 */
+	MutableObservableList(
+			final IListMutatorListener<T> mutatorListener,
+			final IReadWriteMonitor monitor,
+			final IMutableRandomAccess<T> storage,
+			final IItemKey<? super T> resetKey,
+			final int maxResetEdits) {
 		if (monitor == null) {
 			throw new IllegalArgumentException("monitor cannot be null");
 		}
 		
 		this.monitor = monitor;
-		this.data = new ArrayListEx<T>();
+		this.data = storage;
 		this.observers = new ListObservers<T>(monitor);
 		this.mutatorListener = mutatorListener;
+		this.resetKey = resetKey;
+		this.maxResetEdits = maxResetEdits;
+		this.batchTarget = new ListChangeLog.ITarget<T>() {
+			@Override
+			public void added(int startIndex, List<T> items) {
+				insertUnsafe(startIndex, items);
+			}
+
+			@Override
+			public void changed(int startIndex, List<T> items) {
+				setUnsafe(startIndex, items);
+			}
+
+			@Override
+			public void removed(int startIndex, int count) {
+				removeUnsafe(startIndex, count);
+			}
+
+			@Override
+			public void moved(int oldStartIndex, int newStartIndex, int count) {
+				moveUnsafe(oldStartIndex, newStartIndex, count);
+			}
+
+			@Override
+			public void reset(List<T> items) {
+				resetUnsafe(items);
+			}
+		};
 		this.mutatorCallback = new IListMutator<T>() {
 			
 			@Override
@@ -119,6 +286,17 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 					res.release();
 				}
 			}
+
+			@Override
+			public final void batch(IListBatch<T> batch) {
+				IResource res = monitor.acquireWrite();
+				
+				try {
+					batchUnsafe(batch);
+				} finally {
+					res.release();
+				}
+			}
 		};
 		this.mutatorListener.addListener(mutatorCallback);
 	}
@@ -207,10 +385,7 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 		}
 					
 		observers.changing(index, count);
-		int i = index;
-		for (T value : values) {
-			data.set(i++, value);
-		}
+		data.setAll(index, values);
 		observers.changed(index, count);
 	}
 
@@ -233,9 +408,87 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 	}
 	
 	private void resetUnsafe(Collection<T> newItems) {
-		observers.resetting();
-		data.clear();
-		data.addAll(newItems);
-		observers.reset();
+		if (resetKey == null || !resetWithDiffUnsafe(newItems)) {
+			observers.resetting();
+			data.clear();
+			data.addAll(0, newItems);
+			observers.reset();
+		}
+	}
+
+	/**
+	 * Replace items of the list with new items by removing and adding only the items that differ,
+	 * and changing items that have the same keys but are not equal.
+	 * @return true if the list has been updated; false if the difference is too large.
+	 */
+	private boolean resetWithDiffUnsafe(Collection<T> newItems) {
+		final List<T> items = new ArrayList<>(newItems);
+		final Object[] oldKeys = new Object[data.size()];
+		final Object[] newKeys = new Object[items.size()];
+
+		for (int i = 0; i < oldKeys.length; ++i) {
+			oldKeys[i] = resetKey.keyOf(data.get(i));
+		}
+		for (int i = 0; i < newKeys.length; ++i) {
+			newKeys[i] = resetKey.keyOf(items.get(i));
+		}
+
+		final IntArrayList script = ListDiff.diff(oldKeys, newKeys, maxResetEdits);
+
+		if (script != null) {
+			observers.beginChangeSet();
+			try {
+				//
+				// Remove all items first, so an item that moves is never in the list twice - lists down the chain
+				// may index items by value. Removals go from the back, so old indexes of earlier hunks stay valid.
+				// Then only the kept items are left and insertions go from the front at their new indexes.
+				//
+				for (int i = script.size() - 4; i >= 0; i -= 4) {
+					if (script.get(i + 1) > 0) {
+						removeUnsafe(script.get(i), script.get(i + 1));
+					}
+				}
+				for (int i = 0; i < script.size(); i += 4) {
+					final int newStart = script.get(i + 2);
+
+					insertUnsafe(newStart, items.subList(newStart, newStart + script.get(i + 3)));
+				}
+
+				int changedStart = -1;
+
+				for (int i = 0; i <= items.size(); ++i) {
+					final boolean changed = i < items.size() && !equal(data.get(i), items.get(i));
+
+					if (changed && changedStart < 0) {
+						changedStart = i;
+					} else if (!changed && changedStart >= 0) {
+						setUnsafe(changedStart, items.subList(changedStart, i));
+						changedStart = -1;
+					}
+				}
+			} finally {
+				observers.endChangeSet();
+			}
+		}
+
+		return script != null;
+	}
+
+	private static boolean equal(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private void batchUnsafe(IListBatch<T> batch) {
+		final BatchRecorder<T> recorder = new BatchRecorder<>(data.size());
+		//
+		// The batch only records changes, so the list does not change if the batch throws.
+		//
+		batch.apply(recorder);
+		observers.beginChangeSet();
+		try {
+			recorder.log.replay(batchTarget);
+		} finally {
+			observers.endChangeSet();
+		}
 	}
 }
@@ -0,0 +1,158 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable list of int values that orders values of another list according to an ordering object.
+ * @author Pavel Karpenko
+ */
+final class OrderingIntObservableList implements IReadOnlyIntObservableList, ILinked {
+
+	private final IReadWriteMonitor monitor;
+	private final ListObservers<Integer> observers;
+	private final IntArrayList data;
+	private final IObservableReference<IIntItemsOrder> orderRef;
+	private final IReferenceListener<IIntItemsOrder> orderListener;
+	private IReadOnlyIntObservableList source;
+	private IListObserver sourceObserver;
+
+	OrderingIntObservableList(
+			IReadOnlyIntObservableList source,
+			IObservableReference<IIntItemsOrder> order,
+			IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.observers = new ListObservers<>(monitor);
+		this.data = new IntArrayList(source.getSize());
+		this.orderRef = order;
+		this.source = source;
+		this.orderListener = new IReferenceListener<IIntItemsOrder>() {
+			@Override
+			public void changed(IObservableReference<IIntItemsOrder> sender, IIntItemsOrder oldValue) {
+				onOrderChanged();
+			}
+		};
+		this.sourceObserver = new IListObserver() {
+			@Override public void added(int startIndex, int count) { onAdded(startIndex, count); }
+			@Override public void changing(int startIndex, int count) { onRemoving(startIndex, count); }
+			@Override public void changed(int startIndex, int count) { onAdded(startIndex, count); }
+			@Override public void removing(int startIndex, int count) { onRemoving(startIndex, count); }
+			@Override public void removed(int startIndex, int count) { /* do nothing */ }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { /* order does not depend on source positions */ }
+			@Override public void resetting() { observers.resetting(); }
+			@Override public void reset() { onReset(); }
+		};
+
+		IResource res = monitor.acquireRead();
+
+		try {
+			rebuild();
+		} finally {
+			res.release();
+		}
+
+		this.orderRef.addListener(orderListener);
+		this.source.addObserver(sourceObserver);
+	}
+
+	@Override
+	public int getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		if (source != null) {
+			source.removeObserver(sourceObserver);
+			orderRef.removeListener(orderListener);
+			source = null;
+			sourceObserver = null;
+		}
+	}
+
+	private void onAdded(int startIndex, int count) {
+		final IIntItemsOrder order = orderRef.getValue();
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			final int value = source.getAt(i);
+			final int index = data.lowerBound(order, value);
+
+			data.add(index, value);
+			observers.added(index, 1);
+		}
+	}
+
+	private void onRemoving(int startIndex, int count) {
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			final int index = indexOf(source.getAt(i));
+
+			if (index >= 0) {
+				observers.removing(index, 1);
+				data.remove(index, 1);
+				observers.removed(index, 1);
+			}
+		}
+	}
+
+	private void onReset() {
+		rebuild();
+		observers.reset();
+	}
+
+	private void onOrderChanged() {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (source != null) {
+				observers.resetting();
+				data.sort(orderRef.getValue());
+				observers.reset();
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	private void rebuild() {
+		final int size = source.getSize();
+
+		data.clear();
+		for (int i = 0; i < size; ++i) {
+			data.add(source.getAt(i));
+		}
+		data.sort(orderRef.getValue());
+	}
+
+	private int indexOf(int value) {
+		//
+		// Values have no identity; any value equal to the removed one may be removed.
+		//
+		final IIntItemsOrder order = orderRef.getValue();
+		int index = data.lowerBound(order, value);
+
+		while (index < data.size() && !order.isLess(value, data.get(index))) {
+			if (same(data.get(index), value)) {
+				return index;
+			}
+			++index;
+		}
+
+		return -1;
+	}
+
+	private static boolean same(int a, int b) {
+		return a == b;
+	}
+}
@@ -1,27 +1,55 @@
 package com.ambientbytes.observables;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of IReadOnlyObservableList that orders items of another observable list
  * according to an ordering object.
+ * Ordered items are kept in a ranked tree, so inserting or removing an item and finding
+ * the position of an item take O(log n).
+ * If the order is an IKeyedItemsOrder, the key of each item is computed once when the item is added
+ * or mutated and cached in the item's container, and full re-sorts are radix sorts of the keys.
+ * When the order changes, the list may report a minimal set of moves instead of a reset - the items
+ * that form the longest increasing subsequence of old positions stay in place and all others are moved.
  * @author Pavel Karpenko
  *
  * @param <T> type of the list item.
  */
 final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableList<T> {
 
-	private final ArrayListEx<ItemContainer> data;
+	//
+	// Below this number of items full re-sorts use the comparator even if the order is keyed.
+	//
+	private static final int RADIX_SORT_THRESHOLD = 64;
+
+	private final RankedTree<ItemContainer> data;
+	//
+	// Identity index of containers in data; containers of the same item added more than once
+	// are chained through ItemContainer.duplicate.
+	//
+	private final Map<T, ItemContainer> positions;
 	private final IObservableReference<IItemsOrder<T>> order;
 	private final IReferenceListener<IItemsOrder<T>> orderListener;
+	private final int maxReorderMoves;
+	private Comparator<ItemContainer> comparator;
+	private IKeyedItemsOrder<T> keyedOrder;
 	
 	private final class ItemContainer implements IObjectMutationObserver {
 		private final T item;
 		private IMutableObject mutable;
+		private RankedTree.Node<ItemContainer> node;
+		private ItemContainer duplicate;
+		private long key;
+		private int previousIndex;	// position before re-ordering; valid only while the order changes
 		
 		public ItemContainer(T item) {
 			this.item = item;
+			this.key = keyOf(item);
 			if (item instanceof IMutableObject) {
 				this.mutable = (IMutableObject) item;
 				this.mutable.addObserver(this);
@@ -43,23 +71,46 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 
 		@Override
 		public void mutated() {
-			onItemMutated(item);
+			onItemMutated(this);
 		}
 	}
 
+	/**
+	 * Construct a new OrderingReadOnlyObservableList object, copy items from the source list,
+	 * and subscribe for updates of the source. The list reports a reset when a new order moves any items.
+	 * @param source source list.
+	 * @param order rule object for ordering item in the ordering list.
+	 */
+	public OrderingReadOnlyObservableList(
+			IReadOnlyObservableList<T> source,
+			IObservableReference<IItemsOrder<T>> order,
+			IReadWriteMonitor monitor) {
+		this(source, order, 0, monitor);
+	}
+
 	/**
 	 * Construct a new OrderingReadOnlyObservableList object, copy items from the source list,
 	 * and subscribe for updates of the source.
 	 * @param source source list.
 	 * @param order rule object for ordering item in the ordering list.
+	 * @param maxReorderMoves largest number of moves reported when the order changes;
+	 * if re-ordering needs more moves, the list reports a reset.
 	 */
 	public OrderingReadOnlyObservableList(
 			IReadOnlyObservableList<T> source,
 			IObservableReference<IItemsOrder<T>> order,
+			int maxReorderMoves,
 			IReadWriteMonitor monitor) {
 		super(source, monitor);
-		this.data = new ArrayListEx<>(source.getSize());
+		if (maxReorderMoves < 0) {
+			throw new IllegalArgumentException("maxReorderMoves may not be negative");
+		}
+		this.maxReorderMoves = maxReorderMoves;
+		this.data = new RankedTree<>();
+		this.positions = new IdentityHashMap<>(source.getSize());
 		this.order = order;
+		this.keyedOrder = keyedOrder(order.getValue());
+		this.comparator = makeComparator(order.getValue());
 		this.orderListener = new IReferenceListener<IItemsOrder<T>>() {
 			@Override
 			public void changed(IObservableReference<IItemsOrder<T>> sender, IItemsOrder<T> oldValue) {
@@ -72,11 +123,12 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		
 		try {
 			final int size = source.getSize();
+			final List<ItemContainer> containers = new ArrayList<>(size);
 			
 			for (int i = 0; i < size; ++i) {
-				this.data.add(new ItemContainer(source.getAt(i)));
+				containers.add(new ItemContainer(source.getAt(i)));
 			}
-			Collections.sort(this.data, makeComparator(order.getValue()));
+			sortAndAppend(containers);
 		} finally {
 			res.release();
 		}
@@ -94,17 +146,37 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 
 	private void setOrder(IItemsOrder<T> order) {
 		if (this.order != order) {
-			notifyResetting();
-			Collections.sort(this.data, makeComparator(order));
-			notifyReset();
+			final List<ItemContainer> containers = new ArrayList<>(data.size());
+			
+			keyedOrder = keyedOrder(order);
+			comparator = makeComparator(order);
+			for (ItemContainer c : data) {
+				c.key = keyOf(c.item());
+				c.previousIndex = containers.size();
+				containers.add(c);
+			}
+			sortContainers(containers);
+			beginChangeSet();
+			try {
+				if (!reorderWithMoves(containers)) {
+					notifyResetting();
+					data.clear();
+					positions.clear();
+					appendContainers(containers);
+					notifyReset();
+				}
+			} finally {
+				endChangeSet();
+			}
 		}
 	}
 
 	@Override
 	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
-		for (int i = 0; i < count; ++i) {
-			// TODO: optimize reporting - bundle items up in ranges
-			insertAndNotify(source.getAt(startIndex + i));
+		if (count == 1) {
+			insertAndNotify(source.getAt(startIndex));
+		} else if (count > 1) {
+			insertBatchAndNotify(source, startIndex, count);
 		}
 	}
 
@@ -120,18 +192,27 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 	
 	@Override
 	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
+		beginChangeSet();
+		try {
+			removeItems(source, startIndex, count);
+		} finally {
+			endChangeSet();
+		}
+	}
+
+	private void removeItems(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		for (int i = startIndex; i < startIndex + count; ++i) {
-			final T item = source.getAt(i);
-			final int index = indexOfItem(item);
+			final ItemContainer container = unindexItem(source.getAt(i));
 			
-			if (index >= 0) {
-				ItemContainer container = data.get(index);
+			if (container != null) {
+				final int index = data.indexOf(container.node);
 				// Unadvise the container before notifying subscribers about the change
 				// so if the subscribers will mutate the item in the observer callbacks,
 				// the correct item will be removed from data.
 				container.unadvise();
 				notifyRemoving(index, 1);
-				data.remove(index);
+				data.remove(container.node);
+				container.node = null;
 				notifyRemoved(index, 1);
 			}
 		}
@@ -157,11 +238,14 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 			c.unadvise();
 		}
 		data.clear();
+		positions.clear();
+		
+		final List<ItemContainer> containers = new ArrayList<>(source.getSize());
 		
 		for (int i = 0; i < source.getSize(); ++i) {
-			data.add(new ItemContainer(source.getAt(i)));
+			containers.add(new ItemContainer(source.getAt(i)));
 		}
-		Collections.sort(data, makeComparator(order.getValue()));
+		sortAndAppend(containers);
 		notifyReset();
 	}
 	
@@ -173,7 +257,7 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		order.removeListener(orderListener);
 	}
 	
-	private void onItemMutated(T item) {
+	private void onItemMutated(ItemContainer container) {
 		//
 		// Item mutations must be processed under a write lock because they
 		// may change the collection that is updated by event handlers that are supposed
@@ -183,17 +267,20 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		IResource lock = monitor().acquireWrite();
 		
 		try {
-			final int oldIndex = indexOfMutatedItem(item);
-			//
-			// Exclude the mutated item and binary search the new position for the item.
-			// If the position has changed, move the item.
-			//
-			IRandomAccess<ItemContainer> pokedAccess = new PokedListRandomAccess<>(data, oldIndex);
-			final int newIndex = indexOfFirstGreaterOrEqualItem(pokedAccess, item);
-			
-			if (oldIndex != newIndex) {
-				data.move(oldIndex, newIndex, 1);
-				notifyMoved(oldIndex, newIndex, 1);
+			if (container.node != null) {
+				//
+				// Take the mutated item out of the tree and search the new position among the remaining items.
+				// If the position has changed, report a move.
+				//
+				final int oldIndex = data.indexOf(container.node);
+				data.remove(container.node);
+				container.key = keyOf(container.item());
+				final int newIndex = data.lowerBound(container, comparator);
+				container.node = data.add(newIndex, container);
+				
+				if (oldIndex != newIndex) {
+					notifyMoved(oldIndex, newIndex, 1);
+				}
 			}
 		} finally {
 			lock.release();
@@ -201,88 +288,225 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 	}
 	
 	private Comparator<ItemContainer> makeComparator(final IItemsOrder<T> order) {
-		return new Comparator<ItemContainer>() {
-			@Override
-			public int compare(ItemContainer c1, ItemContainer c2) {
-				int result = 0;
-				
-				if (order.isLess(c1.item(), c2.item())) {
-					result = -1;
-				} else if (order.isLess(c2.item(), c1.item())) {
-					result = 1;
+		final Comparator<ItemContainer> comparator;
+		
+		if (order instanceof IKeyedItemsOrder) {
+			comparator = new Comparator<ItemContainer>() {
+				@Override
+				public int compare(ItemContainer c1, ItemContainer c2) {
+					int result = 0;
+					
+					if (c1.key < c2.key) {
+						result = -1;
+					} else if (c2.key < c1.key) {
+						result = 1;
+					} else if (order.isLess(c1.item(), c2.item())) {
+						result = -1;
+					} else if (order.isLess(c2.item(), c1.item())) {
+						result = 1;
+					}
+					
+					return result;
 				}
-				
-				return result;
-			}
-		};
+			};
+		} else {
+			comparator = new Comparator<ItemContainer>() {
+				@Override
+				public int compare(ItemContainer c1, ItemContainer c2) {
+					int result = 0;
+					
+					if (order.isLess(c1.item(), c2.item())) {
+						result = -1;
+					} else if (order.isLess(c2.item(), c1.item())) {
+						result = 1;
+					}
+					
+					return result;
+				}
+			};
+		}
+		
+		return comparator;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private IKeyedItemsOrder<T> keyedOrder(IItemsOrder<T> order) {
+		return order instanceof IKeyedItemsOrder ? (IKeyedItemsOrder<T>) order : null;
+	}
+	
+	private long keyOf(T item) {
+		return keyedOrder == null ? 0 : keyedOrder.key(item);
 	}
 	
-	private int indexOfItem(T item) {
-		IRandomAccess<ItemContainer> access = new ListRandomAccess<>(data);
-		int index = indexOfFirstGreaterOrEqualItem(access, item);
-        IItemsOrder<T> itemsOrder = order.getValue();
+	private boolean reorderWithMoves(List<ItemContainer> sorted) {
+		//
+		// Find the longest increasing subsequence of old positions of the sorted items; those items
+		// keep their relative order. Every other item is moved once, right after the item
+		// that precedes it in the new order.
+		//
+		final int size = sorted.size();
+		final int[] tails = new int[size];			// indexes in sorted of the smallest tail of each subsequence length
+		final int[] predecessors = new int[size];
+		int length = 0;
 		
-		while (index < data.size() && !itemsOrder.isLess(data.get(index).item(), item)) {
-			if (data.get(index).item() == item) {
-				break;
-			} else {
-				++index;
+		for (int i = 0; i < size; ++i) {
+			final int position = sorted.get(i).previousIndex;
+			int left = 0;
+			int right = length;
+			
+			while (left < right) {
+				final int middle = (left + right) >>> 1;
+				
+				if (sorted.get(tails[middle]).previousIndex < position) {
+					left = middle + 1;
+				} else {
+					right = middle;
+				}
+			}
+			predecessors[i] = left > 0 ? tails[left - 1] : -1;
+			tails[left] = i;
+			if (left == length) {
+				++length;
 			}
 		}
 		
-		if (index >= data.size()) {
-			index = -1;
+		final boolean reordered = size - length <= maxReorderMoves;
+		
+		if (reordered) {
+			final boolean[] staying = new boolean[size];
+			
+			for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+				staying[i] = true;
+			}
+			
+			ItemContainer previous = null;
+			
+			for (int i = 0; i < size; ++i) {
+				final ItemContainer container = sorted.get(i);
+				
+				if (!staying[i]) {
+					final int oldIndex = data.indexOf(container.node);
+					data.remove(container.node);
+					final int newIndex = previous == null ? 0 : data.indexOf(previous.node) + 1;
+					container.node = data.add(newIndex, container);
+					
+					if (oldIndex != newIndex) {
+						notifyMoved(oldIndex, newIndex, 1);
+					}
+				}
+				previous = container;
+			}
 		}
 		
-		return index;
+		return reordered;
+	}
+	
+	private void sortAndAppend(List<ItemContainer> containers) {
+		sortContainers(containers);
+		appendContainers(containers);
+	}
+	
+	private void sortContainers(List<ItemContainer> containers) {
+		if (keyedOrder != null && containers.size() >= RADIX_SORT_THRESHOLD) {
+			sortByKeys(containers);
+		} else {
+			Collections.sort(containers, comparator);
+		}
 	}
 	
-	private int indexOfMutatedItem(T item) {
+	private void appendContainers(List<ItemContainer> containers) {
+		for (ItemContainer container : containers) {
+			container.node = data.add(data.size(), container);
+			indexContainer(container);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void sortByKeys(List<ItemContainer> containers) {
+		final int size = containers.size();
+		final long[] keys = new long[size];
+		
+		for (int i = 0; i < size; ++i) {
+			keys[i] = containers.get(i).key;
+		}
+		
+		final Object[] sorted = containers.toArray();
+		LongKeySort.sort(keys, sorted, size);
+		
+		for (int i = 0; i < size; ++i) {
+			containers.set(i, (ItemContainer) sorted[i]);
+		}
 		//
-		// Must do a linear scan of the data list because we may be looking for a mutated item
-		// that went out of order.
+		// The radix sort is stable and leaves items with equal keys next to each other;
+		// order each run of equal keys with the tie-breaker.
 		//
-		int index = -1;
+		int runStart = 0;
 		
-		for (int i = 0; index < 0 && i < data.size(); ++i) {
-			if (data.get(i).item() == item) {
-				index = i;
-			} else {
-				++i;
+		for (int i = 1; i <= size; ++i) {
+			if (i == size || keys[i] != keys[runStart]) {
+				if (i - runStart > 1) {
+					Collections.sort(containers.subList(runStart, i), comparator);
+				}
+				runStart = i;
 			}
 		}
-		
-		return index;
 	}
 	
-	private int indexOfFirstGreaterOrEqualItem(IRandomAccess<ItemContainer> dataAccess, T item) {
+	private void insertAndNotify(T item) {
+		final ItemContainer container = new ItemContainer(item);
+		final int insertionIndex = data.lowerBound(container, comparator);
+		container.node = data.add(insertionIndex, container);
+		indexContainer(container);
+		notifyAdded(insertionIndex, 1);
+	}
+	
+	private void insertBatchAndNotify(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<ItemContainer> batch = new ArrayList<>(count);
+		
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			batch.add(new ItemContainer(source.getAt(i)));
+		}
+		Collections.sort(batch, comparator);
 		//
-		// Return index of the first item that is greater or equal than the specified item
-		// according to the set order.
-		// A new item may be inserted at the returned index.
+		// Insert the sorted batch starting from the greatest item, so every item lands at or before
+		// the items inserted so far. An item that lands right before the previously inserted one
+		// extends the current range; the range is reported once an item lands elsewhere.
+		// Observers see the ranges from the back of the list to the front, and each reported range
+		// is consistent with the contents of the list at the time of the report.
 		//
-		int left = -1;
-		int right = dataAccess.size();
-        IItemsOrder<T> itemsOrder = order.getValue();
+		int rangeStart = -1;
+		int rangeLength = 0;
 		
-		while (left + 1 != right) {
-			int middle = left + (right - left) / 2;
+		for (int i = batch.size() - 1; i >= 0; --i) {
+			final ItemContainer container = batch.get(i);
+			final int index = data.lowerBound(container, comparator);
 			
-			if (itemsOrder.isLess(dataAccess.get(middle).item(), item)) {
-				left = middle;
-			} else {
-				right = middle;
+			if (index != rangeStart && rangeLength > 0) {
+				notifyAdded(rangeStart, rangeLength);
+				rangeLength = 0;
 			}
+			container.node = data.add(index, container);
+			indexContainer(container);
+			rangeStart = index;
+			++rangeLength;
 		}
 		
-		return right;
+		notifyAdded(rangeStart, rangeLength);
 	}
 	
-	private void insertAndNotify(T item) {
-		IRandomAccess<ItemContainer> access = new ListRandomAccess<>(data);
-		int insertionIndex = indexOfFirstGreaterOrEqualItem(access, item);
-		data.add(insertionIndex, new ItemContainer(item));
-		notifyAdded(insertionIndex, 1);
+	private void indexContainer(ItemContainer container) {
+		container.duplicate = positions.put(container.item(), container);
+	}
+	
+	private ItemContainer unindexItem(T item) {
+		final ItemContainer container = positions.remove(item);
+		
+		if (container != null && container.duplicate != null) {
+			positions.put(item, container.duplicate);
+			container.duplicate = null;
+		}
+		
+		return container;
 	}
 
 }
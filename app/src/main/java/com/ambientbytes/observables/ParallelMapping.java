@@ -0,0 +1,66 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maps arrays of items on a fork/join pool. The array is split in halves until the pieces are small enough
+ * to be mapped sequentially; every mapped item is stored at the position of its source item,
+ * so results keep the order of the source items.
+ * @author Pavel Karpenko
+ */
+final class ParallelMapping {
+
+	private static final int MIN_CHUNK = 256;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelMapping() {
+	}
+
+	/**
+	 * Map items on a fork/join pool and wait until all items have been mapped.
+	 * The mapper is called concurrently on threads of the pool.
+	 * @param pool pool that maps the items.
+	 * @param mapper thread safe mapper of the items.
+	 * @param items source items; mapped items replace them in the array.
+	 */
+	static <TSource, TMapped> void map(ForkJoinPool pool, IItemMapper<TSource, TMapped> mapper, Object[] items) {
+		final int chunk = Math.max(MIN_CHUNK, items.length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+
+		pool.invoke(new MapTask<>(mapper, items, 0, items.length, chunk));
+	}
+
+	private static final class MapTask<TSource, TMapped> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IItemMapper<TSource, TMapped> mapper;
+		private final Object[] items;
+		private final int start;
+		private final int end;
+		private final int chunk;
+
+		MapTask(IItemMapper<TSource, TMapped> mapper, Object[] items, int start, int end, int chunk) {
+			this.mapper = mapper;
+			this.items = items;
+			this.start = start;
+			this.end = end;
+			this.chunk = chunk;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void compute() {
+			if (end - start <= chunk) {
+				for (int i = start; i < end; ++i) {
+					items[i] = mapper.map((TSource) items[i]);
+				}
+			} else {
+				final int middle = (start + end) >>> 1;
+
+				invokeAll(new MapTask<>(mapper, items, start, middle, chunk),
+						new MapTask<>(mapper, items, middle, end, chunk));
+			}
+		}
+	}
+}
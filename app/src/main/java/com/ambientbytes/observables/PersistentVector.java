@@ -0,0 +1,275 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable sequence of elements that shares structure with the sequences it has been made from.
+ * Elements are kept in a randomized binary search tree ordered by position; every change copies only
+ * the O(log n) nodes on the paths to the changed positions and returns a new vector, while existing vectors
+ * remain unchanged and may be read by any thread.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements in the vector.
+ */
+final class PersistentVector<E> implements Iterable<E> {
+
+	private static final PersistentVector<Object> EMPTY = new PersistentVector<>(null);
+
+	private final Node<E> root;
+
+	private static final class Node<E> {
+		private final E value;
+		private final int size;
+		private final Node<E> left;
+		private final Node<E> right;
+
+		Node(E value, Node<E> left, Node<E> right) {
+			this.value = value;
+			this.size = 1 + size(left) + size(right);
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	//
+	// Result of splitting a tree; split returns the left part and the right part.
+	//
+	private static final class Split<E> {
+		private Node<E> left;
+		private Node<E> right;
+	}
+
+	private PersistentVector(Node<E> root) {
+		this.root = root;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E> PersistentVector<E> empty() {
+		return (PersistentVector<E>) EMPTY;
+	}
+
+	static <E> PersistentVector<E> of(List<? extends E> elements) {
+		return elements.isEmpty() ? PersistentVector.<E>empty() : new PersistentVector<>(build(elements, 0, elements.size()));
+	}
+
+	int size() {
+		return size(root);
+	}
+
+	E get(int index) {
+		checkIndex(index, size() - 1);
+
+		Node<E> node = root;
+		int position = index;
+
+		for (;;) {
+			final int leftSize = size(node.left);
+
+			if (position < leftSize) {
+				node = node.left;
+			} else if (position > leftSize) {
+				position -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.value;
+			}
+		}
+	}
+
+	/**
+	 * Make a vector with elements inserted at the specified position.
+	 * @param index position of the first inserted element.
+	 * @param elements inserted elements.
+	 * @return new vector.
+	 */
+	PersistentVector<E> insert(int index, List<? extends E> elements) {
+		checkIndex(index, size());
+
+		if (elements.isEmpty()) {
+			return this;
+		}
+
+		final Split<E> split = split(root, index);
+
+		return new PersistentVector<>(merge(merge(split.left, build(elements, 0, elements.size())), split.right));
+	}
+
+	/**
+	 * Make a vector with a range of elements removed.
+	 * @param index position of the first removed element.
+	 * @param count number of removed elements.
+	 * @return new vector.
+	 */
+	PersistentVector<E> remove(int index, int count) {
+		checkRange(index, count);
+
+		if (count == 0) {
+			return this;
+		}
+
+		final Split<E> head = split(root, index);
+		final Split<E> tail = split(head.right, count);
+
+		return new PersistentVector<>(merge(head.left, tail.right));
+	}
+
+	/**
+	 * Make a vector with a range of elements replaced with new elements.
+	 * @param index position of the first replaced element.
+	 * @param elements new elements.
+	 * @return new vector.
+	 */
+	PersistentVector<E> set(int index, List<? extends E> elements) {
+		checkRange(index, elements.size());
+
+		PersistentVector<E> vector = this;
+
+		if (!elements.isEmpty()) {
+			final Split<E> head = split(root, index);
+			final Split<E> tail = split(head.right, elements.size());
+
+			vector = new PersistentVector<>(merge(merge(head.left, build(elements, 0, elements.size())), tail.right));
+		}
+
+		return vector;
+	}
+
+	/**
+	 * Make a vector with a range of elements moved to a new position.
+	 * @param index position of the first moved element.
+	 * @param newIndex position of the first moved element after the move.
+	 * @param count number of moved elements.
+	 * @return new vector.
+	 */
+	PersistentVector<E> move(int index, int newIndex, int count) {
+		checkRange(index, count);
+		checkRange(newIndex, count);
+
+		PersistentVector<E> vector = this;
+
+		if (index != newIndex && count != 0) {
+			final Split<E> head = split(root, index);
+			final Split<E> tail = split(head.right, count);
+			final Node<E> rest = merge(head.left, tail.right);
+			final Split<E> target = split(rest, newIndex);
+
+			vector = new PersistentVector<>(merge(merge(target.left, tail.left), target.right));
+		}
+
+		return vector;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private final Deque<Node<E>> path = new ArrayDeque<>();
+			private Node<E> next = root;
+
+			@Override
+			public boolean hasNext() {
+				return next != null || !path.isEmpty();
+			}
+
+			@Override
+			public E next() {
+				while (next != null) {
+					path.push(next);
+					next = next.left;
+				}
+
+				if (path.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+
+				final Node<E> node = path.pop();
+
+				next = node.right;
+
+				return node.value;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <E> Node<E> build(List<? extends E> elements, int start, int end) {
+		Node<E> node = null;
+
+		if (start < end) {
+			final int middle = (start + end) >>> 1;
+
+			node = new Node<E>(elements.get(middle), PersistentVector.<E>build(elements, start, middle),
+					PersistentVector.<E>build(elements, middle + 1, end));
+		}
+
+		return node;
+	}
+
+	private static <E> Split<E> split(Node<E> node, int index) {
+		final Split<E> split = new Split<>();
+
+		splitInto(node, index, split);
+
+		return split;
+	}
+
+	private static <E> void splitInto(Node<E> node, int index, Split<E> split) {
+		if (node == null) {
+			split.left = null;
+			split.right = null;
+		} else {
+			final int leftSize = size(node.left);
+
+			if (index <= leftSize) {
+				splitInto(node.left, index, split);
+				split.right = new Node<>(node.value, split.right, node.right);
+			} else {
+				splitInto(node.right, index - leftSize - 1, split);
+				split.left = new Node<>(node.value, node.left, split.left);
+			}
+		}
+	}
+
+	private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+		final Node<E> merged;
+
+		if (left == null) {
+			merged = right;
+		} else if (right == null) {
+			merged = left;
+		} else if (ThreadLocalRandom.current().nextInt(left.size + right.size) < left.size) {
+			//
+			// Pick the root proportionally to sizes of the merged trees to keep the tree balanced in expectation.
+			//
+			merged = new Node<>(left.value, left.left, merge(left.right, right));
+		} else {
+			merged = new Node<>(right.value, merge(left, right.left), right.right);
+		}
+
+		return merged;
+	}
+
+	private void checkIndex(int index, int maxIndex) {
+		if (index < 0 || index > maxIndex) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void checkRange(int index, int count) {
+		if (index < 0 || count < 0 || index + count > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
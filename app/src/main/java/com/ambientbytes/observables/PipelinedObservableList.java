@@ -0,0 +1,224 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Observable list that starts a new segment of a pipeline. The list copies changes of a source list into
+ * a single-producer/single-consumer queue on the thread that changes the source and applies them on an executor
+ * under the write lock of its own monitor, so the producer only pays for the stages in front of the list
+ * and for copying the changed items, while the stages behind the list run on the executor.
+ * Lists of different segments work on different cores at the same time.
+ * Lists behind the pipelined one must use the monitor of the pipelined list.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class PipelinedObservableList<T> extends LinkedReadOnlyObservableList<T> {
+
+	//
+	// Largest number of changes applied under one acquisition of the write lock, so readers
+	// of the segment are not locked out while a long queue is drained.
+	//
+	private static final int MAX_CHANGES_PER_LOCK = 64;
+
+	private final ArrayListEx<T> data;
+	private final Executor executor;
+	private final SpscQueue<Change> queue;
+	private final AtomicBoolean scheduled;
+	private final Runnable drain;
+	private boolean started;	// guarded by the source monitor
+
+	private abstract static class Change {
+		abstract void apply();
+	}
+
+	PipelinedObservableList(
+			IReadOnlyObservableList<T> source,
+			IReadWriteMonitor sourceMonitor,
+			Executor executor,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+
+		if (executor == null) {
+			throw new IllegalArgumentException("executor cannot be null");
+		}
+
+		this.data = new ArrayListEx<>();
+		this.executor = executor;
+		this.queue = new SpscQueue<>();
+		this.scheduled = new AtomicBoolean(false);
+		this.drain = new Runnable() {
+			@Override
+			public void run() {
+				drain();
+			}
+		};
+
+		final IResource lock = sourceMonitor.acquireRead();
+
+		try {
+			//
+			// Changes reported before the snapshot are part of it; changes reported after it are queued.
+			//
+			onReset(source);
+			started = true;
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected boolean forwardsChangeSets() {
+		//
+		// Changes are applied later on the executor, outside of change sets of the source list.
+		//
+		return false;
+	}
+
+	@Override
+	protected void onAdded(IReadOnlyObservableList<T> source, final int startIndex, int count) {
+		if (started) {
+			final List<T> items = copyItems(source, startIndex, count);
+
+			enqueue(new Change() {
+				@Override
+				void apply() {
+					data.addAll(startIndex, items);
+					notifyAdded(startIndex, items.size());
+				}
+			});
+		}
+	}
+
+	@Override
+	protected void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onChanged(IReadOnlyObservableList<T> source, final int startIndex, int count) {
+		if (started) {
+			final List<T> items = copyItems(source, startIndex, count);
+
+			enqueue(new Change() {
+				@Override
+				void apply() {
+					notifyChanging(startIndex, items.size());
+					data.setAll(startIndex, items);
+					notifyChanged(startIndex, items.size());
+				}
+			});
+		}
+	}
+
+	@Override
+	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
+		if (started) {
+			enqueue(new Change() {
+				@Override
+				void apply() {
+					notifyRemoving(startIndex, count);
+					data.remove(startIndex, count);
+					notifyRemoved(startIndex, count);
+				}
+			});
+		}
+	}
+
+	@Override
+	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onMoved(IReadOnlyObservableList<T> source, final int oldStartIndex, final int newStartIndex,
+			final int count) {
+		if (started) {
+			enqueue(new Change() {
+				@Override
+				void apply() {
+					data.move(oldStartIndex, newStartIndex, count);
+					notifyMoved(oldStartIndex, newStartIndex, count);
+				}
+			});
+		}
+	}
+
+	@Override
+	protected void onResetting(IReadOnlyObservableList<T> source) {
+	}
+
+	@Override
+	protected void onReset(IReadOnlyObservableList<T> source) {
+		final List<T> items = copyItems(source, 0, source.getSize());
+
+		enqueue(new Change() {
+			@Override
+			void apply() {
+				notifyResetting();
+				data.clear();
+				data.addAll(0, items);
+				notifyReset();
+			}
+		});
+	}
+
+	private void enqueue(Change change) {
+		//
+		// Changes come from the source list under the write lock of its monitor, so there is one producer at a time.
+		//
+		queue.offer(change);
+		if (scheduled.compareAndSet(false, true)) {
+			executor.execute(drain);
+		}
+	}
+
+	private void drain() {
+		try {
+			Change change = queue.poll();
+
+			while (change != null) {
+				final IResource lock = monitor().acquireWrite();
+
+				try {
+					for (int i = 0; change != null && i < MAX_CHANGES_PER_LOCK; ++i) {
+						change.apply();
+						change = queue.poll();
+					}
+				} finally {
+					lock.release();
+				}
+			}
+		} finally {
+			//
+			// Changes queued after the queue has been found empty and before the flag is cleared
+			// did not schedule a drain, so check the queue again.
+			//
+			scheduled.set(false);
+			if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+				executor.execute(drain);
+			}
+		}
+	}
+
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		return items;
+	}
+}
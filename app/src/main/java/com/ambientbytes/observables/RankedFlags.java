@@ -0,0 +1,290 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Sequence of boolean flags with O(log n) insertion, removal and moves of ranges of flags and O(log n) counting
+ * of set flags before a position. Flags are kept in a treap stored in parallel int arrays, so the sequence
+ * allocates no object per flag.
+ * @author Pavel Karpenko
+ */
+final class RankedFlags {
+
+	private static final int MIN_CAPACITY = 16;
+	private static final int NIL = 0;	// node 0 is the empty tree; its size and count are always 0
+
+	private int[] left;
+	private int[] right;
+	private int[] priority;
+	private int[] size;		// number of flags in the subtree
+	private int[] count;	// number of set flags in the subtree
+	private boolean[] flag;
+	private int root;
+	private int allocated;	// number of nodes ever used, including node 0
+	private int free;		// first node of the list of released nodes linked through "right"
+	private int seed;
+	//
+	// Results of split(); the sequence is not thread safe, so one pair of fields is enough.
+	//
+	private int splitLeft;
+	private int splitRight;
+
+	RankedFlags() {
+		this.left = new int[MIN_CAPACITY];
+		this.right = new int[MIN_CAPACITY];
+		this.priority = new int[MIN_CAPACITY];
+		this.size = new int[MIN_CAPACITY];
+		this.count = new int[MIN_CAPACITY];
+		this.flag = new boolean[MIN_CAPACITY];
+		this.root = NIL;
+		this.allocated = 1;
+		this.free = NIL;
+		this.seed = 0x2545F491;
+	}
+
+	int size() {
+		return size[root];
+	}
+
+	boolean get(int index) {
+		checkElementIndex(index);
+
+		int node = root;
+		int i = index;
+
+		while (true) {
+			final int leftSize = size[left[node]];
+
+			if (i < leftSize) {
+				node = left[node];
+			} else if (i == leftSize) {
+				return flag[node];
+			} else {
+				i -= leftSize + 1;
+				node = right[node];
+			}
+		}
+	}
+
+	void set(int index, boolean value) {
+		checkElementIndex(index);
+		set(root, index, value);
+	}
+
+	void add(boolean value) {
+		root = merge(root, newNode(value));
+	}
+
+	/**
+	 * Insert a range of cleared flags that the caller will set.
+	 * @param index zero-based index of the first inserted flag.
+	 * @param length number of inserted flags.
+	 */
+	void insertGap(int index, int length) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int gap = NIL;
+
+		for (int i = 0; i < length; ++i) {
+			gap = merge(gap, newNode(false));
+		}
+		split(root, index);
+		root = merge(merge(splitLeft, gap), splitRight);
+	}
+
+	void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		split(root, start);
+		final int head = splitLeft;
+		split(splitRight, length);
+		final int tail = splitRight;
+
+		release(splitLeft);
+		root = merge(head, tail);
+	}
+
+	void move(int source, int destination, int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + length > size() || destination + length > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && length > 0) {
+			split(root, source);
+			final int head = splitLeft;
+			split(splitRight, length);
+			final int moved = splitLeft;
+
+			split(merge(head, splitRight), destination);
+			root = merge(merge(splitLeft, moved), splitRight);
+		}
+	}
+
+	void clear() {
+		root = NIL;
+		allocated = 1;
+		free = NIL;
+	}
+
+	/**
+	 * Count set flags before the specified position.
+	 * @param end zero-based position that follows the last counted flag.
+	 * @return number of set flags at positions from 0 to end - 1.
+	 */
+	int rank(int end) {
+		if (end < 0 || end > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int node = root;
+		int i = end;
+		int total = 0;
+
+		while (node != NIL) {
+			final int leftSize = size[left[node]];
+
+			if (i <= leftSize) {
+				node = left[node];
+			} else {
+				total += count[left[node]] + (flag[node] ? 1 : 0);
+				i -= leftSize + 1;
+				node = right[node];
+			}
+		}
+
+		return total;
+	}
+
+	/**
+	 * Count set flags in a range of positions.
+	 * @param start zero-based position of the first counted flag.
+	 * @param length number of counted flags.
+	 * @return number of set flags at positions from start to start + length - 1.
+	 */
+	int count(int start, int length) {
+		return rank(start + length) - rank(start);
+	}
+
+	private void set(int node, int index, boolean value) {
+		final int leftSize = size[left[node]];
+
+		if (index < leftSize) {
+			set(left[node], index, value);
+		} else if (index == leftSize) {
+			flag[node] = value;
+		} else {
+			set(right[node], index - leftSize - 1, value);
+		}
+		update(node);
+	}
+
+	/**
+	 * Split a tree into the first "index" flags, stored in splitLeft, and the rest, stored in splitRight.
+	 */
+	private void split(int node, int index) {
+		if (node == NIL) {
+			splitLeft = NIL;
+			splitRight = NIL;
+		} else if (size[left[node]] < index) {
+			split(right[node], index - size[left[node]] - 1);
+			right[node] = splitLeft;
+			update(node);
+			splitLeft = node;
+		} else {
+			split(left[node], index);
+			left[node] = splitRight;
+			update(node);
+			splitRight = node;
+		}
+	}
+
+	private int merge(int first, int second) {
+		final int merged;
+
+		if (first == NIL) {
+			merged = second;
+		} else if (second == NIL) {
+			merged = first;
+		} else if (priority[first] > priority[second]) {
+			right[first] = merge(right[first], second);
+			update(first);
+			merged = first;
+		} else {
+			left[second] = merge(first, left[second]);
+			update(second);
+			merged = second;
+		}
+
+		return merged;
+	}
+
+	private void update(int node) {
+		size[node] = size[left[node]] + 1 + size[right[node]];
+		count[node] = count[left[node]] + (flag[node] ? 1 : 0) + count[right[node]];
+	}
+
+	private int newNode(boolean value) {
+		final int node;
+
+		if (free != NIL) {
+			node = free;
+			free = right[node];
+		} else {
+			if (allocated == left.length) {
+				grow();
+			}
+			node = allocated++;
+		}
+		left[node] = NIL;
+		right[node] = NIL;
+		priority[node] = nextPriority();
+		flag[node] = value;
+		update(node);
+
+		return node;
+	}
+
+	private void release(int node) {
+		if (node != NIL) {
+			release(left[node]);
+			release(right[node]);
+			right[node] = free;
+			free = node;
+		}
+	}
+
+	private void grow() {
+		final int capacity = left.length * 2;
+
+		left = Arrays.copyOf(left, capacity);
+		right = Arrays.copyOf(right, capacity);
+		priority = Arrays.copyOf(priority, capacity);
+		size = Arrays.copyOf(size, capacity);
+		count = Arrays.copyOf(count, capacity);
+		flag = Arrays.copyOf(flag, capacity);
+	}
+
+	private int nextPriority() {
+		//
+		// Xorshift generator; treap priorities only need to be well spread.
+		//
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	private void checkElementIndex(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
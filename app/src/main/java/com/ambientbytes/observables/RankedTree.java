@@ -0,0 +1,320 @@
+package com.ambientbytes.observables;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed sequence stored in a balanced tree (treap) with subtree sizes and parent links.
+ * Positional access, insertion and removal take O(log n). Each element is held by a node
+ * that stays valid while the element is in the tree, so the position of an element
+ * can be found from its node in O(log n) without searching the sequence.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements in the sequence.
+ */
+final class RankedTree<E> implements Iterable<E> {
+
+	private Node<E> root;
+	private int seed;
+
+	/**
+	 * Node of the tree that holds one element.
+	 * @param <E> type of the element.
+	 */
+	static final class Node<E> {
+		private E value;
+		private final int priority;
+		private int size;
+		private Node<E> left;
+		private Node<E> right;
+		private Node<E> parent;
+
+		private Node(E value, int priority) {
+			this.value = value;
+			this.priority = priority;
+			this.size = 1;
+		}
+
+		E value() {
+			return value;
+		}
+
+		void setValue(E value) {
+			this.value = value;
+		}
+	}
+
+	RankedTree() {
+		this.root = null;
+		this.seed = 0x2545F491;
+	}
+
+	int size() {
+		return size(root);
+	}
+
+	E get(int index) {
+		return nodeAt(index).value;
+	}
+
+	Node<E> nodeAt(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Node<E> node = root;
+		int i = index;
+
+		while (true) {
+			final int leftSize = size(node.left);
+
+			if (i < leftSize) {
+				node = node.left;
+			} else if (i == leftSize) {
+				return node;
+			} else {
+				i -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Insert a new element at the specified position.
+	 * @param index zero-based position of the new element.
+	 * @param value new element.
+	 * @return node that holds the new element.
+	 */
+	Node<E> add(int index, E value) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final Node<E> node = new Node<>(value, nextPriority());
+		attach(index, node);
+		return node;
+	}
+
+	/**
+	 * Find the first position in a sorted sequence where an element may be inserted
+	 * without breaking the order; the position precedes all elements equal to the probed one.
+	 * @param probe element for that the position is searched.
+	 * @param comparator order of elements in the sequence.
+	 * @return zero-based position of the first element that is not less than the probe.
+	 */
+	int lowerBound(E probe, Comparator<? super E> comparator) {
+		Node<E> node = root;
+		int index = 0;
+
+		while (node != null) {
+			if (comparator.compare(node.value, probe) < 0) {
+				index += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Get the current position of an element held by a node.
+	 * @param node node in the tree.
+	 * @return zero-based position of the node's element in the sequence.
+	 */
+	int indexOf(Node<E> node) {
+		int index = size(node.left);
+
+		for (Node<E> child = node; child.parent != null; child = child.parent) {
+			if (child == child.parent.right) {
+				index += size(child.parent.left) + 1;
+			}
+		}
+
+		return index;
+	}
+
+	void remove(Node<E> node) {
+		//
+		// Rotate the node down until it becomes a leaf and cut it off.
+		//
+		while (node.left != null || node.right != null) {
+			final Node<E> child;
+
+			if (node.right == null || (node.left != null && node.left.priority > node.right.priority)) {
+				child = node.left;
+			} else {
+				child = node.right;
+			}
+			rotateUp(child);
+		}
+
+		final Node<E> parent = node.parent;
+
+		if (parent == null) {
+			root = null;
+		} else {
+			if (parent.left == node) {
+				parent.left = null;
+			} else {
+				parent.right = null;
+			}
+
+			for (Node<E> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+				ancestor.size--;
+			}
+		}
+
+		node.parent = null;
+	}
+
+	void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		for (int i = 0; i < length; ++i) {
+			remove(nodeAt(start));
+		}
+	}
+
+	void clear() {
+		root = null;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node<E> next = root == null ? null : leftmost(root);
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public E next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+
+				final E value = next.value;
+				next = successor(next);
+				return value;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private void attach(int index, Node<E> node) {
+		if (root == null) {
+			root = node;
+		} else {
+			Node<E> parent = root;
+			int i = index;
+
+			while (true) {
+				parent.size++;
+				final int leftSize = size(parent.left);
+
+				if (i <= leftSize) {
+					if (parent.left == null) {
+						parent.left = node;
+						break;
+					}
+					parent = parent.left;
+				} else {
+					i -= leftSize + 1;
+					if (parent.right == null) {
+						parent.right = node;
+						break;
+					}
+					parent = parent.right;
+				}
+			}
+
+			node.parent = parent;
+
+			while (node.parent != null && node.priority > node.parent.priority) {
+				rotateUp(node);
+			}
+		}
+	}
+
+	private void rotateUp(Node<E> node) {
+		final Node<E> parent = node.parent;
+		final Node<E> grandparent = parent.parent;
+
+		if (node == parent.left) {
+			parent.left = node.right;
+			if (node.right != null) {
+				node.right.parent = parent;
+			}
+			node.right = parent;
+		} else {
+			parent.right = node.left;
+			if (node.left != null) {
+				node.left.parent = parent;
+			}
+			node.left = parent;
+		}
+
+		parent.parent = node;
+		node.parent = grandparent;
+
+		if (grandparent == null) {
+			root = node;
+		} else if (grandparent.left == parent) {
+			grandparent.left = node;
+		} else {
+			grandparent.right = node;
+		}
+
+		parent.size = size(parent.left) + size(parent.right) + 1;
+		node.size = size(node.left) + size(node.right) + 1;
+	}
+
+	private int nextPriority() {
+		//
+		// Xorshift generator; treap priorities only need to be well spread.
+		//
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	private static <E> int size(Node<E> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <E> Node<E> leftmost(Node<E> node) {
+		Node<E> leftmost = node;
+
+		while (leftmost.left != null) {
+			leftmost = leftmost.left;
+		}
+
+		return leftmost;
+	}
+
+	private static <E> Node<E> successor(Node<E> node) {
+		if (node.right != null) {
+			return leftmost(node.right);
+		}
+
+		Node<E> child = node;
+
+		while (child.parent != null && child == child.parent.right) {
+			child = child.parent;
+		}
+
+		return child.parent;
+	}
+}
@@ -0,0 +1,70 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Implementation of IReadWriteMonitor that uses Java's ReadWriteLock interface and does not allocate memory
+ * when it acquires and releases locks. Every thread gets its own pair of resource objects the first time
+ * it uses the monitor and the objects are returned by all later acquisitions on the thread.
+ * Resource objects count nested acquisitions, so each acquisition must be released exactly once,
+ * on the thread that has acquired the lock.
+ * @author Pavel Karpenko
+ */
+final class ReusableReadWriteMonitor implements IReadWriteMonitor {
+
+	private final ThreadLocal<ThreadResources> resources;
+
+	private static final class HeldLock implements IResource {
+		private final Lock lock;
+		private int holdCount;
+
+		HeldLock(Lock lock) {
+			this.lock = lock;
+			this.holdCount = 0;
+		}
+
+		IResource acquire() {
+			lock.lock();
+			holdCount++;
+			return this;
+		}
+
+		@Override
+		public void release() {
+			if (holdCount > 0) {
+				holdCount--;
+				lock.unlock();
+			}
+		}
+	}
+
+	private static final class ThreadResources {
+		private final HeldLock read;
+		private final HeldLock write;
+
+		ThreadResources(ReadWriteLock lock) {
+			this.read = new HeldLock(lock.readLock());
+			this.write = new HeldLock(lock.writeLock());
+		}
+	}
+
+	ReusableReadWriteMonitor(final ReadWriteLock lock) {
+		this.resources = new ThreadLocal<ThreadResources>() {
+			@Override
+			protected ThreadResources initialValue() {
+				return new ThreadResources(lock);
+			}
+		};
+	}
+
+	@Override
+	public IResource acquireRead() {
+		return resources.get().read.acquire();
+	}
+
+	@Override
+	public IResource acquireWrite() {
+		return resources.get().write.acquire();
+	}
+}
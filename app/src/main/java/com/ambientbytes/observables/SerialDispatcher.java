@@ -0,0 +1,86 @@
+package com.ambientbytes.observables;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatcher that executes actions one at a time in the order they have been dispatched on an executor.
+ * The dispatcher submits one drain task to the executor when it has pending actions and the task executes
+ * up to a limited number of queued actions before it submits a new drain task for the rest, so actions
+ * never run concurrently even if the executor has many threads, and a steady stream of actions does not keep
+ * a single-threaded executor, like a UI looper, inside one task.
+ * @author Pavel Karpenko
+ *
+ */
+final class SerialDispatcher extends MeasuredDispatcher {
+
+	//
+	// Largest number of actions executed by one drain task; remaining actions are executed by a new task,
+	// so other tasks of the executor run in between.
+	//
+	private static final int MAX_ACTIONS_PER_DRAIN = 64;
+
+	private final Executor executor;
+	private final Queue<Entry> queue;
+	private final AtomicBoolean draining;
+	private final Runnable drain;
+
+	private static final class Entry {
+		private final IAction action;
+		private final long dispatchTime;
+
+		Entry(IAction action, long dispatchTime) {
+			this.action = action;
+			this.dispatchTime = dispatchTime;
+		}
+	}
+
+	SerialDispatcher(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("executor cannot be null");
+		}
+
+		this.executor = executor;
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.draining = new AtomicBoolean(false);
+		this.drain = new Runnable() {
+			@Override
+			public void run() {
+				drain();
+			}
+		};
+	}
+
+	@Override
+	public void dispatch(IAction action) {
+		queue.add(new Entry(action, dispatched()));
+		scheduleDrain();
+	}
+
+	private void scheduleDrain() {
+		if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+			executor.execute(drain);
+		}
+	}
+
+	private void drain() {
+		try {
+			Entry entry;
+
+			for (int i = 0; i < MAX_ACTIONS_PER_DRAIN && (entry = queue.poll()) != null; ++i) {
+				executing(entry.dispatchTime);
+				entry.action.execute();
+			}
+		} finally {
+			//
+			// Actions dispatched after the queue has been found empty and before the flag is cleared
+			// did not schedule a drain, so check the queue again. If the task has reached its limit
+			// or an action has thrown, the remaining actions are executed by a new drain task.
+			//
+			draining.set(false);
+			scheduleDrain();
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Observable list that copies items of a source list into a persistent vector, so taking a snapshot of the list
+ * takes constant time and snapshots may be read without locks. Every change of the source list replaces
+ * the vector and increments the version of the list. Reading items of the list takes O(log n) time.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class SnapshotObservableList<T> extends LinkedReadOnlyObservableList<T> implements ISnapshotObservableList<T> {
+
+	private volatile Snapshot<T> current;
+
+	private static final class Snapshot<T> implements IListSnapshot<T> {
+		private final long version;
+		private final PersistentVector<T> items;
+
+		Snapshot(long version, PersistentVector<T> items) {
+			this.version = version;
+			this.items = items;
+		}
+
+		@Override
+		public long getVersion() {
+			return version;
+		}
+
+		@Override
+		public T getAt(int index) {
+			return items.get(index);
+		}
+
+		@Override
+		public int getSize() {
+			return items.size();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return items.iterator();
+		}
+	}
+
+	SnapshotObservableList(IReadOnlyObservableList<T> source, IReadWriteMonitor monitor) {
+		super(source, monitor);
+
+		final IResource lock = monitor.acquireRead();
+
+		try {
+			this.current = new Snapshot<>(0, PersistentVector.of(copyItems(source, 0, source.getSize())));
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		return current;
+	}
+
+	@Override
+	public T getAt(int index) {
+		return current.getAt(index);
+	}
+
+	@Override
+	public int getSize() {
+		return current.getSize();
+	}
+
+	@Override
+	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		update(current.items.insert(startIndex, copyItems(source, startIndex, count)));
+		notifyAdded(startIndex, count);
+	}
+
+	@Override
+	protected void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		notifyChanging(startIndex, count);
+		update(current.items.set(startIndex, copyItems(source, startIndex, count)));
+		notifyChanged(startIndex, count);
+	}
+
+	@Override
+	protected void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		notifyRemoving(startIndex, count);
+		update(current.items.remove(startIndex, count));
+		notifyRemoved(startIndex, count);
+	}
+
+	@Override
+	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+	}
+
+	@Override
+	protected void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		update(current.items.move(oldStartIndex, newStartIndex, count));
+		notifyMoved(oldStartIndex, newStartIndex, count);
+	}
+
+	@Override
+	protected void onResetting(IReadOnlyObservableList<T> source) {
+		notifyResetting();
+	}
+
+	@Override
+	protected void onReset(IReadOnlyObservableList<T> source) {
+		update(PersistentVector.of(copyItems(source, 0, source.getSize())));
+		notifyReset();
+	}
+
+	private void update(PersistentVector<T> items) {
+		//
+		// Changes come from the source list under the write lock of the monitor, so they never race.
+		//
+		current = new Snapshot<>(current.version + 1, items);
+	}
+
+	private static <T> List<T> copyItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		return items;
+	}
+}
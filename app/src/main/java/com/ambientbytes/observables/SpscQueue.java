@@ -0,0 +1,66 @@
+package com.ambientbytes.observables;
+
+/**
+ * Unbounded linked queue for one producer thread and one consumer thread. Offering and polling take
+ * constant time without locks or compare-and-set loops; the producer publishes an element with one volatile write
+ * and the consumer takes it with one volatile read. Several producers or consumers may use the queue
+ * only if something else orders their calls, for example a lock held by all producers.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements in the queue.
+ */
+final class SpscQueue<E> {
+
+	private static final class Node<E> {
+		private E value;
+		private volatile Node<E> next;
+
+		Node(E value) {
+			this.value = value;
+		}
+	}
+
+	private volatile Node<E> head;	// consumer side; the node before the first element
+	private Node<E> tail;			// producer side
+
+	SpscQueue() {
+		final Node<E> stub = new Node<>(null);
+
+		this.head = stub;
+		this.tail = stub;
+	}
+
+	/**
+	 * Add an element at the end of the queue; called by the producer.
+	 */
+	void offer(E element) {
+		final Node<E> node = new Node<>(element);
+
+		tail.next = node;
+		tail = node;
+	}
+
+	/**
+	 * Take the first element of the queue; called by the consumer.
+	 * @return the first element; null if the queue is empty.
+	 */
+	E poll() {
+		final Node<E> first = head.next;
+		E element = null;
+
+		if (first != null) {
+			element = first.value;
+			first.value = null;
+			head = first;
+		}
+
+		return element;
+	}
+
+	/**
+	 * Check if the queue is empty; may be called by any thread.
+	 */
+	boolean isEmpty() {
+		return head.next == null;
+	}
+}
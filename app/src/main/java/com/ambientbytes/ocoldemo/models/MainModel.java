@@ -28,7 +28,7 @@ public final class MainModel {
     private final IReadOnlyObservableList<IModel> everyone;
 
     public MainModel() {
-        this.monitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+        this.monitor = LockTool.createReusableReadWriteMonitor(new ReentrantReadWriteLock());
         this.threadPool = new ScheduledThreadPoolExecutor(4);
 
         this.unlinker = new Trigger(monitor);
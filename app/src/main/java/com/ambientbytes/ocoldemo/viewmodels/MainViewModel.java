@@ -4,11 +4,12 @@ import android.databinding.BaseObservable;
 import android.databinding.Bindable;
 import android.os.Handler;
 
-import com.ambientbytes.observables.IAction;
+import com.ambientbytes.observables.DispatcherTool;
 import com.ambientbytes.observables.IDispatcher;
 import com.ambientbytes.observables.IItemFilter;
 import com.ambientbytes.observables.IItemMapper;
 import com.ambientbytes.observables.IItemsOrder;
+import com.ambientbytes.observables.IKeyedItemsOrder;
 import com.ambientbytes.observables.IReadOnlyObservableList;
 import com.ambientbytes.observables.IReadWriteMonitor;
 import com.ambientbytes.observables.ITrigger;
@@ -19,6 +20,8 @@ import com.ambientbytes.ocoldemo.models.IModel;
 import com.ambientbytes.ocoldemo.models.MainModel;
 import com.ambientbytes.ocoldemo.models.RobotModel;
 
+import java.util.concurrent.Executor;
+
 /**
  * View model of the main view.
  * @author Pavel Karpenko
@@ -46,7 +49,13 @@ public class MainViewModel extends BaseObservable {
         }
     };
 
-    private static IItemsOrder<IModel> order = new IItemsOrder<IModel>() {
+    private static IItemsOrder<IModel> order = new IKeyedItemsOrder<IModel>() {
+        @Override
+        public long key(IModel item) {
+            // Older workers go first.
+            return -item.getAge();
+        }
+
         @Override
         public boolean isLess(IModel lesser, IModel greater) {
             boolean isLess = lesser.getAge() > greater.getAge();
@@ -60,17 +69,12 @@ public class MainViewModel extends BaseObservable {
     };
 
     public MainViewModel(MainModel model) {
-        IDispatcher dispatcher = new IDispatcher() {
+        IDispatcher dispatcher = DispatcherTool.createSerialDispatcher(new Executor() {
             @Override
-            public void dispatch(final IAction action) {
-                handler.post(new Runnable() {
-                    @Override
-                    public void run() {
-                        action.execute();
-                    }
-                });
+            public void execute(Runnable command) {
+                handler.post(command);
             }
-        };
+        });
         IItemMapper<IModel, WorkerViewModel> mapper = new IItemMapper<IModel, WorkerViewModel>() {
             @Override
             public WorkerViewModel map(IModel item) {
@@ -90,7 +94,7 @@ public class MainViewModel extends BaseObservable {
         this.data = ListBuilder.<IModel>create(model.unlinker(), model.monitor()).source(model.everyone())
                 .order(new ImmutableObservableReference<IItemsOrder<IModel>>(order))
                 .map(mapper)
-                .dispatch(dispatcher)
+                .dispatchCoalesced(dispatcher)
                 .build();
 
         this.youngRobots = createFilteredDispatchingList(model.everyone(), youngRobotsFilter, mapper, dispatcher, model.unlinker(), model.monitor());
@@ -152,7 +156,7 @@ public class MainViewModel extends BaseObservable {
                 .filter(new ImmutableObservableReference<IItemFilter<IModel>>(filter))
                 .order(new ImmutableObservableReference<IItemsOrder<IModel>>(order))
                 .map(mapper)
-                .dispatch(dispatcher)
+                .dispatchCoalesced(dispatcher)
                 .build();
     }
 }
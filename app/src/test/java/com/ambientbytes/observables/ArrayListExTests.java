@@ -3,6 +3,11 @@ package com.ambientbytes.observables;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 public class ArrayListExTests {
@@ -265,4 +270,57 @@ public class ArrayListExTests {
 		assertEquals(6, list.get(5).intValue());
 	}
 
+	@Test
+	public void addAllInTheMiddleInserts() {
+		ArrayListEx<Integer> list = new ArrayListEx<>(2);
+		list.addAll(Arrays.asList(1, 2, 3));
+
+		list.addAll(1, Arrays.asList(10, 11, 12, 13));
+
+		assertEquals(Arrays.asList(1, 10, 11, 12, 13, 2, 3), list);
+	}
+
+	@Test
+	public void setAllReplacesRange() {
+		ArrayListEx<Integer> list = new ArrayListEx<>();
+		list.addAll(Arrays.asList(1, 2, 3, 4, 5, 6));
+
+		list.setAll(2, Arrays.asList(30, 40, 50));
+
+		assertEquals(Arrays.asList(1, 2, 30, 40, 50, 6), list);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void setAllBeyondEndThrows() {
+		ArrayListEx<Integer> list = new ArrayListEx<>();
+		list.addAll(Arrays.asList(1, 2, 3, 4, 5, 6));
+
+		list.setAll(4, Arrays.asList(50, 60, 70));
+	}
+
+	@Test
+	public void randomMovesMatchReference() {
+		Random random = new Random(4321);
+		ArrayListEx<Integer> list = new ArrayListEx<>();
+		List<Integer> expected = new ArrayList<>();
+
+		for (int i = 0; i < 100; ++i) {
+			list.add(i);
+			expected.add(i);
+		}
+
+		for (int step = 0; step < 1000; ++step) {
+			final int length = random.nextInt(expected.size() + 1);
+			final int source = random.nextInt(expected.size() - length + 1);
+			final int destination = random.nextInt(expected.size() - length + 1);
+
+			list.move(source, destination, length);
+			final List<Integer> moved = new ArrayList<>(expected.subList(source, source + length));
+			expected.subList(source, source + length).clear();
+			expected.addAll(destination, moved);
+
+			assertEquals(expected, list);
+		}
+	}
+
 }
@@ -0,0 +1,196 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkedListTests {
+
+	@Test
+	public void newListEmpty() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		assertEquals(0, list.size());
+		assertEquals(0, list.chunkCount());
+	}
+
+	@Test
+	public void appendFillsChunks() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		for (int i = 0; i < 10; ++i) {
+			list.add(i, i);
+		}
+
+		assertEquals(10, list.size());
+		assertEquals(3, list.chunkCount());
+		for (int i = 0; i < 10; ++i) {
+			assertEquals(i, list.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void insertAtHeadInserts() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		for (int i = 0; i < 10; ++i) {
+			list.add(0, i);
+		}
+
+		for (int i = 0; i < 10; ++i) {
+			assertEquals(9 - i, list.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void addAllInTheMiddleInserts() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(0, 1, 2, 3, 4, 5));
+		list.addAll(3, Arrays.asList(10, 11, 12, 13, 14, 15, 16));
+
+		assertEquals(Arrays.asList(0, 1, 2, 10, 11, 12, 13, 14, 15, 16, 3, 4, 5), toList(list));
+	}
+
+	@Test
+	public void removeAcrossChunksRemoves() {
+		ChunkedList<Integer> list = new ChunkedList<>(8);
+
+		list.addAll(0, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		list.remove(2, 7);
+
+		assertEquals(Arrays.asList(0, 1, 9), toList(list));
+		assertEquals(1, list.chunkCount());
+	}
+
+	@Test
+	public void setReplaces() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(0, 1, 2, 3, 4, 5));
+
+		assertEquals(4, list.set(4, 40).intValue());
+		assertEquals(40, list.get(4).intValue());
+	}
+
+	@Test
+	public void moveDownOverlapMoves() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(1, 2, 3, 4, 5, 6));
+		list.move(2, 0, 3);
+
+		assertEquals(Arrays.asList(3, 4, 5, 1, 2, 6), toList(list));
+	}
+
+	@Test
+	public void clearClears() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(1, 2, 3, 4, 5, 6));
+		list.clear();
+
+		assertEquals(0, list.size());
+		assertEquals(0, list.chunkCount());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getBeyondEndThrows() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(1, 2, 3));
+		list.get(3);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void addBeyondEndThrows() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.add(1, 1);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void removeBeyondEndThrows() {
+		ChunkedList<Integer> list = new ChunkedList<>(4);
+
+		list.addAll(0, Arrays.asList(1, 2, 3));
+		list.remove(1, 3);
+	}
+
+	@Test
+	public void randomMutationsMatchArrayList() {
+		Random random = new Random(1234);
+		ChunkedList<Integer> list = new ChunkedList<>(8);
+		List<Integer> expected = new ArrayList<>();
+
+		for (int step = 0; step < 5000; ++step) {
+			final int size = expected.size();
+
+			switch (random.nextInt(5)) {
+				case 0: {
+					final int index = random.nextInt(size + 1);
+					list.add(index, step);
+					expected.add(index, step);
+					break;
+				}
+				case 1: {
+					final int index = random.nextInt(size + 1);
+					final List<Integer> values = new ArrayList<>();
+					for (int i = random.nextInt(20); i > 0; --i) {
+						values.add(step * 100 + i);
+					}
+					list.addAll(index, values);
+					expected.addAll(index, values);
+					break;
+				}
+				case 2:
+					if (size > 0) {
+						final int index = random.nextInt(size);
+						final int length = random.nextInt(Math.min(30, size - index) + 1);
+						list.remove(index, length);
+						expected.subList(index, index + length).clear();
+					}
+					break;
+				case 3:
+					if (size > 0) {
+						final int length = random.nextInt(size) + 1;
+						final int source = random.nextInt(size - length + 1);
+						final int destination = random.nextInt(size - length + 1);
+						list.move(source, destination, length);
+						final List<Integer> moved = new ArrayList<>(expected.subList(source, source + length));
+						expected.subList(source, source + length).clear();
+						expected.addAll(destination, moved);
+					}
+					break;
+				default:
+					if (size > 0) {
+						final int index = random.nextInt(size);
+						list.set(index, -step);
+						expected.set(index, -step);
+					}
+					break;
+			}
+
+			assertEquals(expected.size(), list.size());
+		}
+
+		assertEquals(expected, toList(list));
+		assertTrue(list.chunkCount() <= list.size());
+	}
+
+	private static <E> List<E> toList(ChunkedList<E> list) {
+		List<E> copy = new ArrayList<>(list.size());
+
+		for (int i = 0; i < list.size(); ++i) {
+			copy.add(list.get(i));
+		}
+
+		return copy;
+	}
+}
@@ -0,0 +1,377 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mockito.InOrder;
+
+public class CoalescingDispatchingObservableListTests {
+
+	private static final class TestDispatcher implements IDispatcher {
+
+		private final Collection<IAction> actions = new ArrayList<>();
+
+		@Override
+		public void dispatch(IAction action) {
+			actions.add(action);
+		}
+
+		public int executeAll() {
+			final List<IAction> executed = new ArrayList<>(actions);
+
+			actions.clear();
+			for (IAction action : executed) {
+				action.execute();
+			}
+
+			return executed.size();
+		}
+	}
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	private TestDispatcher dispatcher;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		dispatcher = new TestDispatcher();
+	}
+
+	@Test
+	public void newListDispatchesInitialItems() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		cdl.addObserver(observer);
+
+		assertEquals(0, cdl.getSize());
+		assertEquals(1, dispatcher.executeAll());
+
+		verify(observer, times(1)).added(0, 3);
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void burstOfAddsDispatchesOneAction() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		cdl.addObserver(observer);
+
+		for (int i = 0; i < 1000; ++i) {
+			mutator.add(i);
+		}
+
+		assertEquals(0, cdl.getSize());
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).added(0, 1000);
+		verify(observer, times(1)).added(anyInt(), anyInt());
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void addsInsideAddedRangeMerge() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(100, 200));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.add(1, 1);
+		mutator.add(1, 2);
+		mutator.add(3, 3);
+		mutator.add(0, 4);
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).added(1, 3);
+		verify(observer, times(1)).added(0, 1);
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void adjacentRemovalsMerge() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.remove(5, 1);
+		mutator.remove(5, 1);
+		mutator.remove(4, 1);
+		mutator.remove(2, 2);
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).removing(2, 5);
+		verify(observer, times(1)).removed(2, 5);
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void overlappingChangesMerge() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.set(3, Arrays.asList(30, 40));
+		mutator.set(4, Arrays.asList(41, 51));
+		mutator.set(2, 20);
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).changing(2, 4);
+		verify(observer, times(1)).changed(2, 4);
+		assertListsEqual(source, cdl);
+	}
+
+	@Test(timeout = 2000)
+	public void manyAdjacentChangesMergeInLinearTime() {
+		final int count = 100000;
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(monitor).mutable(mutator).build();
+		final List<Integer> initial = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			initial.add(i);
+		}
+		mutator.add(0, initial);
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, monitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		for (int i = 0; i < count; ++i) {
+			mutator.set(i, -i);
+		}
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).changed(0, count);
+		verify(observer, times(1)).changed(anyInt(), anyInt());
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void changeAndRemoveOfAddedItemsApplyToAddition() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(100, 200));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.add(1, Arrays.asList(1, 2, 3, 4));
+		mutator.set(2, 20);
+		mutator.remove(3, 2);
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, times(1)).added(1, 2);
+		verify(observer, never()).changing(anyInt(), anyInt());
+		verify(observer, never()).removing(anyInt(), anyInt());
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void removeAllAddedItemsReportsNothing() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(100, 200));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.add(1, Arrays.asList(1, 2));
+		mutator.remove(1, 2);
+
+		assertEquals(1, dispatcher.executeAll());
+		verify(observer, never()).added(anyInt(), anyInt());
+		verify(observer, never()).removing(anyInt(), anyInt());
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void resetDiscardsEarlierChanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		dispatcher.executeAll();
+		cdl.addObserver(observer);
+
+		mutator.add(4);
+		mutator.move(0, 2, 1);
+		mutator.reset(Arrays.asList(7, 8));
+		mutator.add(9);
+
+		assertEquals(1, dispatcher.executeAll());
+		InOrder order = inOrder(observer);
+		order.verify(observer).resetting();
+		order.verify(observer).reset();
+		order.verify(observer).added(2, 1);
+		verify(observer, never()).moved(anyInt(), anyInt(), anyInt());
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void changesAfterDrainDispatchNewAction() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+
+		mutator.add(1);
+		assertEquals(1, dispatcher.executeAll());
+		mutator.add(2);
+		mutator.add(3);
+		assertEquals(1, dispatcher.executeAll());
+		assertEquals(0, dispatcher.executeAll());
+
+		assertListsEqual(source, cdl);
+	}
+
+	@Test
+	public void randomChangesKeepListInSync() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		final List<Integer> replica = new ArrayList<>();
+		cdl.addObserver(new ReplicatingObserver(cdl, replica));
+		Random random = new Random(14);
+
+		for (int i = 0; i < 2000; ++i) {
+			final int size = source.getSize();
+			final int operation = random.nextInt(size == 0 ? 1 : 5);
+
+			if (operation == 0) {
+				mutator.add(random.nextInt(size + 1), Arrays.asList(i, -i));
+			} else if (operation == 1) {
+				final int index = random.nextInt(size);
+				mutator.remove(index, 1 + random.nextInt(Math.min(3, size - index)));
+			} else if (operation == 2) {
+				mutator.set(random.nextInt(size), i);
+			} else if (operation == 3) {
+				final int index = random.nextInt(size);
+				mutator.move(index, random.nextInt(size), 1);
+			} else {
+				mutator.add(random.nextInt(size + 1), i);
+			}
+			if (random.nextInt(10) == 0) {
+				dispatcher.executeAll();
+				assertListsEqual(source, cdl);
+				assertEquals(toList(source), replica);
+			}
+		}
+		dispatcher.executeAll();
+
+		assertListsEqual(source, cdl);
+		assertEquals(toList(source), replica);
+	}
+
+	@Test
+	public void unlinkStopsUpdates() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CoalescingDispatchingObservableList<Integer> cdl = new CoalescingDispatchingObservableList<>(source, dispatcher, mockMonitor);
+		cdl.addObserver(observer);
+
+		cdl.unlink();
+		mutator.add(1);
+
+		assertEquals(0, dispatcher.executeAll());
+		verify(observer, never()).added(any(Integer.class), any(Integer.class));
+	}
+
+	private static final class ReplicatingObserver implements IListObserver {
+
+		private final IReadOnlyObservableList<Integer> list;
+		private final List<Integer> replica;
+
+		ReplicatingObserver(IReadOnlyObservableList<Integer> list, List<Integer> replica) {
+			this.list = list;
+			this.replica = replica;
+		}
+
+		@Override
+		public void added(int startIndex, int count) {
+			for (int i = 0; i < count; ++i) {
+				replica.add(startIndex + i, list.getAt(startIndex + i));
+			}
+		}
+
+		@Override
+		public void changing(int startIndex, int count) {
+		}
+
+		@Override
+		public void changed(int startIndex, int count) {
+			for (int i = 0; i < count; ++i) {
+				replica.set(startIndex + i, list.getAt(startIndex + i));
+			}
+		}
+
+		@Override
+		public void removing(int startIndex, int count) {
+		}
+
+		@Override
+		public void removed(int startIndex, int count) {
+			replica.subList(startIndex, startIndex + count).clear();
+		}
+
+		@Override
+		public void moved(int oldStartIndex, int newStartIndex, int count) {
+			final List<Integer> range = new ArrayList<>(replica.subList(oldStartIndex, oldStartIndex + count));
+
+			replica.subList(oldStartIndex, oldStartIndex + count).clear();
+			replica.addAll(newStartIndex, range);
+		}
+
+		@Override
+		public void resetting() {
+		}
+
+		@Override
+		public void reset() {
+			replica.clear();
+			replica.addAll(toList(list));
+		}
+	}
+
+	private static List<Integer> toList(IReadOnlyObservableList<Integer> list) {
+		final List<Integer> items = new ArrayList<>(list.getSize());
+
+		for (int i = 0; i < list.getSize(); ++i) {
+			items.add(list.getAt(i));
+		}
+
+		return items;
+	}
+
+	private static void assertListsEqual(IReadOnlyObservableList<Integer> expected, IReadOnlyObservableList<Integer> actual) {
+		assertEquals(toList(expected), toList(actual));
+	}
+}
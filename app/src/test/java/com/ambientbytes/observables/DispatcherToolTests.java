@@ -0,0 +1,189 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DispatcherToolTests {
+
+	private static final class ManualExecutor implements Executor {
+		private final List<Runnable> commands = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable command) {
+			commands.add(command);
+		}
+
+		void runAll() {
+			while (!commands.isEmpty()) {
+				commands.remove(0).run();
+			}
+		}
+	}
+
+	private static IAction addAction(final List<Integer> log, final int value) {
+		return new IAction() {
+			@Override
+			public void execute() {
+				log.add(value);
+			}
+		};
+	}
+
+	@Test
+	public void immediateDispatcherExecutesInline() {
+		IMeasuredDispatcher dispatcher = DispatcherTool.createImmediateDispatcher();
+		List<Integer> log = new ArrayList<>();
+
+		dispatcher.dispatch(addAction(log, 1));
+
+		assertEquals(Collections.singletonList(1), log);
+		assertEquals(0, dispatcher.getQueueDepth());
+		assertEquals(1, dispatcher.getExecutedCount());
+	}
+
+	@Test
+	public void serialDispatcherExecutesInOrderWithOneDrain() {
+		ManualExecutor executor = new ManualExecutor();
+		IMeasuredDispatcher dispatcher = DispatcherTool.createSerialDispatcher(executor);
+		List<Integer> log = new ArrayList<>();
+
+		dispatcher.dispatch(addAction(log, 1));
+		dispatcher.dispatch(addAction(log, 2));
+		dispatcher.dispatch(addAction(log, 3));
+
+		assertEquals(1, executor.commands.size());
+		assertEquals(3, dispatcher.getQueueDepth());
+		assertEquals(3, dispatcher.getMaxQueueDepth());
+		executor.runAll();
+		assertEquals(3, log.size());
+		assertEquals(1, log.get(0).intValue());
+		assertEquals(2, log.get(1).intValue());
+		assertEquals(3, log.get(2).intValue());
+		assertEquals(0, dispatcher.getQueueDepth());
+		assertEquals(3, dispatcher.getExecutedCount());
+		assertTrue(dispatcher.getTotalLatencyNanos() >= dispatcher.getMaxLatencyNanos());
+	}
+
+	@Test(timeout = 2000)
+	public void serialDispatcherYieldsToExecutorWhileActionsKeepComing() {
+		ManualExecutor executor = new ManualExecutor();
+		final IMeasuredDispatcher dispatcher = DispatcherTool.createSerialDispatcher(executor);
+		final AtomicInteger executed = new AtomicInteger();
+		dispatcher.dispatch(new IAction() {
+			@Override
+			public void execute() {
+				executed.incrementAndGet();
+				dispatcher.dispatch(this);
+			}
+		});
+
+		executor.commands.remove(0).run();
+
+		assertTrue(executed.get() > 0);
+		assertEquals(1, executor.commands.size());
+		assertEquals(1, dispatcher.getQueueDepth());
+		final int firstDrain = executed.get();
+		executor.commands.remove(0).run();
+		assertEquals(2 * firstDrain, executed.get());
+	}
+
+	@Test
+	public void serialDispatcherContinuesAfterThrowingAction() {
+		ManualExecutor executor = new ManualExecutor();
+		IMeasuredDispatcher dispatcher = DispatcherTool.createSerialDispatcher(executor);
+		List<Integer> log = new ArrayList<>();
+		dispatcher.dispatch(new IAction() {
+			@Override
+			public void execute() {
+				throw new IllegalStateException();
+			}
+		});
+		dispatcher.dispatch(addAction(log, 1));
+
+		try {
+			executor.commands.remove(0).run();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		executor.runAll();
+
+		assertEquals(Collections.singletonList(1), log);
+	}
+
+	@Test
+	public void serialDispatcherNeverRunsActionsConcurrently() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		final IMeasuredDispatcher dispatcher = DispatcherTool.createSerialDispatcher(pool);
+		final AtomicBoolean running = new AtomicBoolean(false);
+		final AtomicBoolean overlapped = new AtomicBoolean(false);
+		final List<Integer> log = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(1000);
+
+		try {
+			for (int i = 0; i < 1000; ++i) {
+				final int value = i;
+				dispatcher.dispatch(new IAction() {
+					@Override
+					public void execute() {
+						if (!running.compareAndSet(false, true)) {
+							overlapped.set(true);
+						}
+						log.add(value);
+						running.set(false);
+						done.countDown();
+					}
+				});
+			}
+
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdown();
+		}
+
+		assertFalse(overlapped.get());
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, log.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void threadDispatcherExecutesOnFactoryThreads() throws InterruptedException {
+		final AtomicInteger threads = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(1);
+		final AtomicBoolean onFactoryThread = new AtomicBoolean(false);
+		IMeasuredDispatcher dispatcher = DispatcherTool.createThreadDispatcher(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				threads.incrementAndGet();
+				return new Thread(r, "dispatcher-test");
+			}
+		});
+
+		dispatcher.dispatch(new IAction() {
+			@Override
+			public void execute() {
+				onFactoryThread.set("dispatcher-test".equals(Thread.currentThread().getName()));
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(onFactoryThread.get());
+		assertEquals(1, threads.get());
+	}
+}
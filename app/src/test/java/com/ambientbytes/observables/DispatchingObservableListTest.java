@@ -337,6 +337,68 @@ public class DispatchingObservableListTest {
 		verify(observer, times(1)).changed(eq(1), eq(2));
 	}
 	
+	@Test
+	public void boundedBacklogUnderLimitDispatchesChanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		DispatchingObservableList<Integer> dol = new DispatchingObservableList<Integer>(source, testDispatcher, 10, monitor);
+		dol.addObserver(observer);
+
+		for (int i = 0; i < 3; ++i) {
+			mutator.add(Integer.valueOf(i));
+			mutator.set(i, Integer.valueOf(i + 10));
+			assertEquals(2, testDispatcher.executeAll());
+		}
+		mutator.remove(0, 3);
+		assertEquals(1, testDispatcher.executeAll());
+
+		verify(observer, times(3)).added(anyInt(), eq(1));
+		verify(observer, times(1)).removed(eq(0), eq(3));
+		verify(observer, never()).reset();
+		assertListsEqual(source, dol);
+	}
+
+	@Test
+	public void boundedBacklogOverflowDispatchesOneReset() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		DispatchingObservableList<Integer> dol = new DispatchingObservableList<Integer>(source, testDispatcher, 5, monitor);
+		dol.addObserver(observer);
+
+		for (int i = 0; i < 20; ++i) {
+			mutator.add(Integer.valueOf(i));
+		}
+		mutator.move(0, 10, 5);
+
+		assertEquals(6, testDispatcher.executeAll());
+		verify(observer, never()).added(anyInt(), anyInt());
+		verify(observer, never()).moved(anyInt(), anyInt(), anyInt());
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		assertListsEqual(source, dol);
+	}
+
+	@Test
+	public void boundedBacklogAfterResetDispatchesChanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		DispatchingObservableList<Integer> dol = new DispatchingObservableList<Integer>(source, testDispatcher, 5, monitor);
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 20; ++i) {
+			items.add(i);
+		}
+		dol.addObserver(observer);
+		mutator.add(0, items);
+		assertEquals(1, testDispatcher.executeAll());
+
+		mutator.add(Integer.valueOf(20));
+		assertEquals(1, testDispatcher.executeAll());
+
+		verify(observer, times(1)).reset();
+		verify(observer, times(1)).added(eq(20), eq(1));
+		assertListsEqual(source, dol);
+	}
+
 	private static <T> void assertListsEqual(IReadOnlyObservableList<T> list1, IReadOnlyObservableList<T> list2) {
 		assertEquals(list1.getSize(), list2.getSize());
 		for (int i = 0; i < list1.getSize(); ++i) {
@@ -0,0 +1,112 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FenwickTreeTests {
+
+	@Test
+	public void newTreeEmpty() {
+		FenwickTree tree = new FenwickTree();
+
+		assertEquals(0, tree.size());
+		assertEquals(0, tree.prefixSum(0));
+	}
+
+	@Test
+	public void appendSumsPrefixes() {
+		FenwickTree tree = new FenwickTree();
+
+		for (int i = 1; i <= 20; ++i) {
+			tree.append(i);
+		}
+
+		assertEquals(20, tree.size());
+		for (int i = 0; i <= 20; ++i) {
+			assertEquals(i * (i + 1) / 2, tree.prefixSum(i));
+		}
+	}
+
+	@Test
+	public void addChangesValue() {
+		FenwickTree tree = new FenwickTree();
+
+		tree.append(1);
+		tree.append(2);
+		tree.append(3);
+		tree.add(1, 5);
+
+		assertEquals(7, tree.get(1));
+		assertEquals(8, tree.prefixSum(2));
+		assertEquals(11, tree.prefixSum(3));
+	}
+
+	@Test
+	public void searchFindsCoveringValue() {
+		FenwickTree tree = new FenwickTree();
+
+		for (int size : new int[] { 2, 0, 3, 0, 0, 1 }) {
+			tree.append(size);
+		}
+
+		assertEquals(0, tree.search(0));
+		assertEquals(0, tree.search(1));
+		assertEquals(2, tree.search(2));
+		assertEquals(2, tree.search(4));
+		assertEquals(5, tree.search(5));
+		assertEquals(6, tree.search(6));
+	}
+
+	@Test
+	public void clearEmpties() {
+		FenwickTree tree = new FenwickTree();
+
+		tree.append(1);
+		tree.append(2);
+		tree.clear();
+		tree.append(3);
+
+		assertEquals(1, tree.size());
+		assertEquals(3, tree.prefixSum(1));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void addOutOfRangeThrows() {
+		FenwickTree tree = new FenwickTree();
+
+		tree.append(1);
+		tree.add(1, 1);
+	}
+
+	@Test
+	public void randomOperationsMatchArray() {
+		final Random random = new Random(3);
+		FenwickTree tree = new FenwickTree();
+		List<Integer> expected = new ArrayList<>();
+
+		for (int step = 0; step < 3000; ++step) {
+			if (expected.isEmpty() || random.nextBoolean()) {
+				final int value = random.nextInt(100);
+				tree.append(value);
+				expected.add(value);
+			} else {
+				final int index = random.nextInt(expected.size());
+				final int delta = random.nextInt(21) - 10;
+				tree.add(index, delta);
+				expected.set(index, expected.get(index) + delta);
+			}
+		}
+
+		int sum = 0;
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(sum, tree.prefixSum(i));
+			assertEquals(expected.get(i).intValue(), tree.get(i));
+			sum += expected.get(i);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.anyInt;
+
+public class FilteringDoubleObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final IDoubleItemFilter evenFilter = new IDoubleItemFilter() {
+		@Override
+		public boolean isIn(double item) {
+			return item % 2 == 0;
+		}
+	};
+
+	private static final IDoubleItemFilter oddFilter = new IDoubleItemFilter() {
+		@Override
+		public boolean isIn(double item) {
+			return item % 2 != 0;
+		}
+	};
+
+	private DoubleListMutator mutator;
+	private MutableDoubleObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new DoubleListMutator(mockMonitor);
+		source = new MutableDoubleObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListFilters() {
+		mutator.reset(new double[] { 1, 2, 3, 4, 5, 6 });
+
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+
+		assertValues(new double[] { 2, 4, 6 }, list);
+	}
+
+	@Test
+	public void addInTheMiddleKeepsSourceOrder() {
+		mutator.reset(new double[] { 2, 4, 6 });
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1, new double[] { 1, 10, 3, 12 });
+
+		assertValues(new double[] { 2, 10, 12, 4, 6 }, list);
+		verify(observer, times(1)).added(1, 2);
+	}
+
+	@Test
+	public void addFilteredOutNotReported() {
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1);
+
+		assertEquals(0, list.getSize());
+		verify(observer, never()).added(anyInt(), anyInt());
+	}
+
+	@Test
+	public void removeRangeReportsOneRange() {
+		mutator.reset(new double[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(2, 4);
+
+		assertValues(new double[] { 2, 8 }, list);
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+	}
+
+	@Test
+	public void changeInAndOutReports() {
+		mutator.reset(new double[] { 1, 2, 3, 4 });
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.set(0, new double[] { 10, 3, 30 });
+
+		assertValues(new double[] { 10, 30, 4 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void moveReportsMovedRange() {
+		mutator.reset(new double[] { 2, 1, 4, 3, 6, 5, 8 });
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 4, 3);
+
+		assertValues(new double[] { 6, 8, 2, 4 }, list);
+		verify(observer, times(1)).moved(0, 2, 2);
+	}
+
+	@Test
+	public void changeFilterResets() {
+		mutator.reset(new double[] { 1, 2, 3, 4 });
+		MutableObservableReference<IDoubleItemFilter> filter = new MutableObservableReference<>(evenFilter, mockMonitor);
+		FilteringDoubleObservableList list = new FilteringDoubleObservableList(source, filter, mockMonitor);
+		list.addObserver(observer);
+
+		filter.setValue(oddFilter);
+
+		assertValues(new double[] { 1, 3 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(double[] expected, IReadOnlyDoubleObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i), 0.0);
+		}
+	}
+}
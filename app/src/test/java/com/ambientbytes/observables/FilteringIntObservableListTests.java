@@ -0,0 +1,155 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.anyInt;
+
+public class FilteringIntObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final IIntItemFilter evenFilter = new IIntItemFilter() {
+		@Override
+		public boolean isIn(int item) {
+			return item % 2 == 0;
+		}
+	};
+
+	private static final IIntItemFilter oddFilter = new IIntItemFilter() {
+		@Override
+		public boolean isIn(int item) {
+			return item % 2 != 0;
+		}
+	};
+
+	private IntListMutator mutator;
+	private MutableIntObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new IntListMutator(mockMonitor);
+		source = new MutableIntObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListFilters() {
+		mutator.reset(new int[] { 1, 2, 3, 4, 5, 6 });
+
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+
+		assertValues(new int[] { 2, 4, 6 }, list);
+	}
+
+	@Test
+	public void addInTheMiddleKeepsSourceOrder() {
+		mutator.reset(new int[] { 2, 4, 6 });
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1, new int[] { 1, 10, 3, 12 });
+
+		assertValues(new int[] { 2, 10, 12, 4, 6 }, list);
+		verify(observer, times(1)).added(1, 2);
+	}
+
+	@Test(timeout = 2000)
+	public void manyAppendsTakeLogarithmicTimeEach() {
+		final int count = 200000;
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		IntListMutator mutator = new IntListMutator(monitor);
+		MutableIntObservableList source = new MutableIntObservableList(mutator, monitor);
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), monitor);
+
+		for (int i = 0; i < count; ++i) {
+			mutator.add(i);
+		}
+
+		assertEquals(count / 2, list.getSize());
+		assertEquals(count - 2, list.getAt(count / 2 - 1));
+	}
+
+	@Test
+	public void addFilteredOutNotReported() {
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1);
+
+		assertEquals(0, list.getSize());
+		verify(observer, never()).added(anyInt(), anyInt());
+	}
+
+	@Test
+	public void removeRangeReportsOneRange() {
+		mutator.reset(new int[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(2, 4);
+
+		assertValues(new int[] { 2, 8 }, list);
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+	}
+
+	@Test
+	public void changeInAndOutReports() {
+		mutator.reset(new int[] { 1, 2, 3, 4 });
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.set(0, new int[] { 10, 3, 30 });
+
+		assertValues(new int[] { 10, 30, 4 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void moveReportsMovedRange() {
+		mutator.reset(new int[] { 2, 1, 4, 3, 6, 5, 8 });
+		FilteringIntObservableList list = new FilteringIntObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 4, 3);
+
+		assertValues(new int[] { 6, 8, 2, 4 }, list);
+		verify(observer, times(1)).moved(0, 2, 2);
+	}
+
+	@Test
+	public void changeFilterResets() {
+		mutator.reset(new int[] { 1, 2, 3, 4 });
+		MutableObservableReference<IIntItemFilter> filter = new MutableObservableReference<>(evenFilter, mockMonitor);
+		FilteringIntObservableList list = new FilteringIntObservableList(source, filter, mockMonitor);
+		list.addObserver(observer);
+
+		filter.setValue(oddFilter);
+
+		assertValues(new int[] { 1, 3 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(int[] expected, IReadOnlyIntObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i));
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.anyInt;
+
+public class FilteringLongObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final ILongItemFilter evenFilter = new ILongItemFilter() {
+		@Override
+		public boolean isIn(long item) {
+			return item % 2 == 0;
+		}
+	};
+
+	private static final ILongItemFilter oddFilter = new ILongItemFilter() {
+		@Override
+		public boolean isIn(long item) {
+			return item % 2 != 0;
+		}
+	};
+
+	private LongListMutator mutator;
+	private MutableLongObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new LongListMutator(mockMonitor);
+		source = new MutableLongObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListFilters() {
+		mutator.reset(new long[] { 1, 2, 3, 4, 5, 6 });
+
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+
+		assertValues(new long[] { 2, 4, 6 }, list);
+	}
+
+	@Test
+	public void newListFiltersBeyondIntRange() {
+		mutator.reset(new long[] { (1L << 40) + 1, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE });
+
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+
+		assertValues(new long[] { 1L << 40, Long.MIN_VALUE }, list);
+	}
+
+	@Test
+	public void addInTheMiddleKeepsSourceOrder() {
+		mutator.reset(new long[] { 2, 4, 6 });
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1, new long[] { 1, 10, 3, 12 });
+
+		assertValues(new long[] { 2, 10, 12, 4, 6 }, list);
+		verify(observer, times(1)).added(1, 2);
+	}
+
+	@Test
+	public void addFilteredOutNotReported() {
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(1);
+
+		assertEquals(0, list.getSize());
+		verify(observer, never()).added(anyInt(), anyInt());
+	}
+
+	@Test
+	public void removeRangeReportsOneRange() {
+		mutator.reset(new long[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(2, 4);
+
+		assertValues(new long[] { 2, 8 }, list);
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+	}
+
+	@Test
+	public void changeInAndOutReports() {
+		mutator.reset(new long[] { 1, 2, 3, 4 });
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.set(0, new long[] { 10, 3, 30 });
+
+		assertValues(new long[] { 10, 30, 4 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void moveReportsMovedRange() {
+		mutator.reset(new long[] { 2, 1, 4, 3, 6, 5, 8 });
+		FilteringLongObservableList list = new FilteringLongObservableList(source, new ImmutableObservableReference<>(evenFilter), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 4, 3);
+
+		assertValues(new long[] { 6, 8, 2, 4 }, list);
+		verify(observer, times(1)).moved(0, 2, 2);
+	}
+
+	@Test
+	public void changeFilterResets() {
+		mutator.reset(new long[] { 1, 2, 3, 4 });
+		MutableObservableReference<ILongItemFilter> filter = new MutableObservableReference<>(evenFilter, mockMonitor);
+		FilteringLongObservableList list = new FilteringLongObservableList(source, filter, mockMonitor);
+		list.addObserver(observer);
+
+		filter.setValue(oddFilter);
+
+		assertValues(new long[] { 1, 3 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(long[] expected, IReadOnlyLongObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i));
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.ambientbytes.observables;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
@@ -21,6 +22,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 public class FilteringReadOnlyObservableListTests {
@@ -156,6 +158,110 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(3, fol.getSize());
 	}
 
+	@Test
+	public void changeFilterReportsOneChangeSet() {
+		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
+		when(mockFilter2.isIn(1)).thenReturn(false);
+		when(mockFilter2.isIn(2)).thenReturn(true);
+		when(mockFilter2.isIn(3)).thenReturn(false);
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(1);
+		mutator.add(2);
+		mutator.add(3);
+		MutableObservableReference<IItemFilter<Integer>> filter = new MutableObservableReference<>(mockFilter1, monitor);
+		FilteringReadOnlyObservableList<Integer> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		fol.addObserver(changeSetObserver);
+
+		filter.setValue(mockFilter2);
+
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		assertEquals(2, captor.getValue().getSize());
+		assertEquals(1, fol.getSize());
+	}
+
+	@Test
+	public void sourceChangeSetForwarded() {
+		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		MutableObservableReference<IItemFilter<Integer>> filter = new MutableObservableReference<>(mockFilter1, monitor);
+		FilteringReadOnlyObservableList<Integer> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		fol.addObserver(changeSetObserver);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.add(1);
+				m.add(2);
+				m.set(0, 10);
+			}
+		});
+
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		assertEquals(ListChangeSet.Kind.ADDED, captor.getValue().getAt(0).getKind());
+		assertEquals(2, fol.getSize());
+	}
+
+	@Test
+	public void changeFilterReportsChangedRanges() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		TestItem admitted = new TestItem(12);
+
+		mutator.add(new TestItem(1));
+		mutator.add(new TestItem(6));
+		mutator.add(new TestItem(7));
+		mutator.add(new TestItem(2));
+		mutator.add(admitted);
+		mutator.add(new TestItem(8));
+		mutator.add(new TestItem(20));
+		fol.addObserver(observer);
+
+		filter.setValue(new IItemFilter<TestItem>() {
+			@Override
+			public boolean isIn(TestItem item) {
+				return item.getValue() < 5 || (item.getValue() > 10 && item.getValue() < 15);
+			}
+		});
+
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+		verify(observer, times(1)).removing(4, 1);
+		verify(observer, times(1)).removed(4, 1);
+		verify(observer, times(1)).added(2, 1);
+		verify(observer, never()).reset();
+		assertEquals(3, fol.getSize());
+		assertSame(admitted, fol.getAt(2));
+	}
+
+	@Test
+	public void changeFilterNoChangeNoReports() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+
+		mutator.add(new TestItem(1));
+		mutator.add(new TestItem(11));
+		fol.addObserver(observer);
+
+		filter.setValue(new TestFilter());
+
+		verify(observer, never()).removing(anyInt(), anyInt());
+		verify(observer, never()).added(anyInt(), anyInt());
+		verify(observer, never()).resetting();
+		assertEquals(1, fol.getSize());
+	}
+
 	@Test
 	public void permitAllAddItemsAllAdded() {
 		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
@@ -220,6 +326,28 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(0, fol.getSize());
 	}
 
+	@Test
+	public void removeFromLargeListRemovesIdenticalItems() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+        MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		List<TestItem> items = new ArrayList<>();
+
+		for (int i = 0; i < 1000; ++i) {
+			TestItem item = new TestItem(i % 20);
+			items.add(item);
+			mutator.add(item);
+		}
+		fol.addObserver(observer);
+		mutator.remove(500, 20);
+
+		assertEquals(490, fol.getSize());
+		verify(observer).removing(250, 10);
+		verify(observer).removed(250, 10);
+		assertSame(items.get(520), fol.getAt(250));
+	}
+
 	@Test
 	public void permitNoneAddItemsNoneAdded() {
 		when(mockFilter1.isIn(any(Integer.class))).thenReturn(false);
@@ -0,0 +1,87 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IntArrayListTests {
+
+	@Test
+	public void addAllInTheMiddleInserts() {
+		IntArrayList list = new IntArrayList();
+		list.addAll(0, new int[] { 1, 2, 3 });
+
+		list.addAll(1, new int[] { 10, 11 });
+
+		assertArray(new int[] { 1, 10, 11, 2, 3 }, list);
+	}
+
+	@Test
+	public void insertGapInsertsZeroes() {
+		IntArrayList list = new IntArrayList();
+		list.addAll(0, new int[] { 1, 2, 3 });
+
+		list.insertGap(1, 2);
+
+		assertArray(new int[] { 1, 0, 0, 2, 3 }, list);
+	}
+
+	@Test
+	public void moveDownOverlapMoves() {
+		IntArrayList list = new IntArrayList();
+		list.addAll(0, new int[] { 1, 2, 3, 4, 5, 6 });
+
+		list.move(2, 0, 3);
+
+		assertArray(new int[] { 3, 4, 5, 1, 2, 6 }, list);
+	}
+
+	@Test
+	public void removeRangeRemoves() {
+		IntArrayList list = new IntArrayList();
+		list.addAll(0, new int[] { 1, 2, 3, 4, 5, 6 });
+
+		list.remove(1, 3);
+
+		assertArray(new int[] { 1, 5, 6 }, list);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getBeyondEndThrows() {
+		IntArrayList list = new IntArrayList();
+		list.addAll(0, new int[] { 1, 2, 3 });
+
+		list.get(3);
+	}
+
+	@Test
+	public void sortSorts() {
+		Random random = new Random(42);
+		IntArrayList list = new IntArrayList();
+
+		for (int i = 0; i < 1000; ++i) {
+			list.add(random.nextInt(100));
+		}
+
+		list.sort(new IIntItemsOrder() {
+			@Override
+			public boolean isLess(int lesser, int greater) {
+				return lesser < greater;
+			}
+		});
+
+		for (int i = 1; i < list.size(); ++i) {
+			assertFalse(list.get(i) < list.get(i - 1));
+		}
+	}
+
+	private static void assertArray(int[] expected, IntArrayList list) {
+		assertEquals(expected.length, list.size());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.get(i));
+		}
+	}
+}
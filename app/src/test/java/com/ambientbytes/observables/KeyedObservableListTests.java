@@ -0,0 +1,192 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+public class KeyedObservableListTests {
+
+	private static final class Record {
+		private final int id;
+		private final String value;
+
+		Record(int id, String value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	private static final IItemKey<Record> RECORD_KEY = new IItemKey<Record>() {
+		@Override
+		public Object keyOf(Record item) {
+			return item.id;
+		}
+	};
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock IKeyedListMutatorListener<Record> mockMutator;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListCorrectSetup() {
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mockMutator, RECORD_KEY, mockMonitor);
+
+		assertEquals(0, list.getSize());
+		verify(mockMutator, times(1)).addListener(any(IKeyedListMutator.class));
+		list.unlink();
+		verify(mockMutator, times(1)).removeListener(any(IKeyedListMutator.class));
+	}
+
+	@Test
+	public void upsertNewItemAdded() {
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(mockMonitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, mockMonitor);
+		Record first = new Record(1, "a");
+		Record second = new Record(2, "b");
+		list.addObserver(observer);
+
+		mutator.upsert(first);
+		mutator.upsert(second);
+
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(1, 1);
+		assertEquals(2, list.getSize());
+		assertSame(first, list.getAt(0));
+		assertSame(second, list.getAt(1));
+	}
+
+	@Test
+	public void upsertExistingItemChanged() {
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(mockMonitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, mockMonitor);
+		Record replacement = new Record(2, "c");
+		mutator.upsert(new Record(1, "a"));
+		mutator.upsert(new Record(2, "b"));
+		mutator.upsert(new Record(3, "c"));
+		list.addObserver(observer);
+
+		mutator.upsert(replacement);
+
+		verify(observer, times(1)).changing(1, 1);
+		verify(observer, times(1)).changed(1, 1);
+		verifyNoMoreInteractions(observer);
+		assertEquals(3, list.getSize());
+		assertSame(replacement, list.getAt(1));
+	}
+
+	@Test
+	public void removeByKeyRemoves() {
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(mockMonitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, mockMonitor);
+		mutator.upsert(new Record(1, "a"));
+		mutator.upsert(new Record(2, "b"));
+		mutator.upsert(new Record(3, "c"));
+		list.addObserver(observer);
+
+		mutator.removeByKey(2);
+		mutator.removeByKey(5);
+
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).removed(1, 1);
+		verifyNoMoreInteractions(observer);
+		assertEquals(2, list.getSize());
+		assertEquals(3, list.getAt(1).id);
+		mutator.upsert(new Record(3, "d"));
+		assertEquals("d", list.getAt(1).value);
+	}
+
+	@Test
+	public void upsertAllCoalescesNotifications() {
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(mockMonitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, mockMonitor);
+		for (int i = 0; i < 10; ++i) {
+			mutator.upsert(new Record(i, "v"));
+		}
+		list.addObserver(observer);
+		reset(mockMonitor);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+
+		mutator.upsertAll(Arrays.asList(
+				new Record(5, "x"),
+				new Record(20, "x"),
+				new Record(3, "x"),
+				new Record(4, "x"),
+				new Record(8, "x"),
+				new Record(21, "x"),
+				new Record(20, "y")));
+
+		verify(mockMonitor, times(1)).acquireWrite();
+		verify(observer, times(1)).changing(3, 3);
+		verify(observer, times(1)).changed(3, 3);
+		verify(observer, times(1)).changing(8, 1);
+		verify(observer, times(1)).changed(8, 1);
+		verify(observer, times(1)).added(10, 2);
+		verifyNoMoreInteractions(observer);
+		assertEquals(12, list.getSize());
+		assertEquals("x", list.getAt(4).value);
+		assertEquals(20, list.getAt(10).id);
+		assertEquals("y", list.getAt(10).value);
+		assertEquals(21, list.getAt(11).id);
+	}
+
+	@Test(timeout = 2000)
+	public void upsertAllReplacingManyItemsScalesLinearly() {
+		final int count = 100000;
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(monitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, monitor);
+		final List<Record> initial = new ArrayList<>(count);
+		final List<Record> replacements = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			initial.add(new Record(i, "v"));
+			replacements.add(new Record(i, "x"));
+		}
+		mutator.upsertAll(initial);
+		list.addObserver(observer);
+
+		mutator.upsertAll(replacements);
+
+		verify(observer, times(1)).changing(0, count);
+		verify(observer, times(1)).changed(0, count);
+		verifyNoMoreInteractions(observer);
+		assertEquals(count, list.getSize());
+		assertSame(replacements.get(count - 1), list.getAt(count - 1));
+	}
+
+	@Test
+	public void upsertAllReportsOneChangeSet() {
+		KeyedListMutator<Record> mutator = new KeyedListMutator<>(mockMonitor);
+		KeyedObservableList<Record> list = new KeyedObservableList<>(mutator, RECORD_KEY, mockMonitor);
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		mutator.upsert(new Record(1, "a"));
+		list.addObserver(changeSetObserver);
+
+		mutator.upsertAll(Arrays.asList(new Record(1, "b"), new Record(2, "c")));
+
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		assertEquals(2, captor.getValue().getSize());
+		assertEquals(ListChangeSet.Kind.CHANGED, captor.getValue().getAt(0).getKind());
+		assertEquals(ListChangeSet.Kind.ADDED, captor.getValue().getAt(1).getKind());
+	}
+}
@@ -0,0 +1,242 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LazyMappingReadOnlyObservableListTests {
+
+	private static final class CountingMapper implements IItemMapper<Integer, String> {
+		private int calls;
+
+		@Override
+		public String map(Integer item) {
+			++calls;
+			return "item:" + item.toString();
+		}
+	}
+
+	private static final class PinningPolicy implements IMappingCachePolicy<String> {
+		private final List<String> released = new ArrayList<>();
+
+		@Override
+		public int capacity() {
+			return 2;
+		}
+
+		@Override
+		public boolean isEvictable(String item) {
+			return !item.equals("item:0");
+		}
+
+		@Override
+		public void released(String item) {
+			released.add(item);
+		}
+	}
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListMapsNothing() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CountingMapper mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+
+		assertEquals(3, lml.getSize());
+		assertEquals(0, mapper.calls);
+		assertEquals(0, lml.cachedCount());
+	}
+
+	@Test
+	public void readMapsOnceAndCaches() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CountingMapper mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+
+		String first = lml.getAt(1);
+
+		assertEquals("item:2", first);
+		assertSame(first, lml.getAt(1));
+		assertEquals(1, mapper.calls);
+		assertEquals(1, lml.cachedCount());
+	}
+
+	@Test
+	public void readOverCapacityEvictsLeastRecent() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CountingMapper mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(2), new DummyReadWriteMonitor());
+
+		lml.getAt(0);
+		lml.getAt(1);
+		lml.getAt(0);
+		lml.getAt(2);
+		lml.getAt(0);
+
+		assertEquals(3, mapper.calls);
+		assertEquals(2, lml.cachedCount());
+		lml.getAt(1);
+		assertEquals(4, mapper.calls);
+	}
+
+	@Test
+	public void policyPinsItems() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		PinningPolicy policy = new PinningPolicy();
+		mutator.add(0, Arrays.asList(0, 1, 2, 3));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, new CountingMapper(), policy, new DummyReadWriteMonitor());
+
+		for (int i = 0; i < 4; ++i) {
+			lml.getAt(i);
+		}
+
+		assertEquals(2, lml.cachedCount());
+		assertEquals(Arrays.asList("item:1", "item:2"), policy.released);
+	}
+
+	@Test
+	public void moveAndRemoveMapNothing() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CountingMapper mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2, 3, 4, 5));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+		String mapped = lml.getAt(4);
+		lml.addObserver(observer);
+
+		mutator.move(4, 0, 1);
+		mutator.remove(2, 2);
+
+		assertEquals(1, mapper.calls);
+		verify(observer, times(1)).moved(4, 0, 1);
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+		assertEquals(3, lml.getSize());
+		assertSame(mapped, lml.getAt(0));
+		assertEquals("item:4", lml.getAt(2));
+	}
+
+	@Test
+	public void removeReleasesMappedItems() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		PinningPolicy policy = new PinningPolicy();
+		mutator.add(0, Arrays.asList(0, 1, 2));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, new CountingMapper(), policy, new DummyReadWriteMonitor());
+		lml.getAt(1);
+
+		mutator.remove(1, 1);
+
+		assertEquals(0, lml.cachedCount());
+		assertEquals(Arrays.asList("item:1"), policy.released);
+	}
+
+	@Test
+	public void changeRemapsOnRead() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, new CountingMapper(), new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+		lml.getAt(1);
+		lml.addObserver(observer);
+
+		mutator.set(1, 7);
+
+		verify(observer, times(1)).changing(1, 1);
+		verify(observer, times(1)).changed(1, 1);
+		assertEquals("item:7", lml.getAt(1));
+	}
+
+	@Test
+	public void resetDropsCache() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		CountingMapper mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+		lml.getAt(0);
+		lml.addObserver(observer);
+
+		mutator.reset(Arrays.asList(5, 6, 7));
+
+		verify(observer, times(1)).reset();
+		assertEquals(3, lml.getSize());
+		assertEquals(0, lml.cachedCount());
+		assertEquals("item:7", lml.getAt(2));
+	}
+
+	@Test
+	public void unlinkStopsUpdates() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, new CountingMapper(), new LruMappingCachePolicy<String>(10), new DummyReadWriteMonitor());
+		lml.addObserver(observer);
+
+		lml.unlink();
+		mutator.add(1);
+
+		verify(observer, never()).added(any(Integer.class), any(Integer.class));
+		assertEquals(0, lml.getSize());
+	}
+
+	@Test
+	public void unlinkedListMapsSourceItemsAsOfUnlink() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		CountingMapper mapper = new CountingMapper();
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(
+				source, mapper, new LruMappingCachePolicy<String>(1), new DummyReadWriteMonitor());
+		assertEquals("item:1", lml.getAt(0));
+
+		lml.unlink();
+		mutator.set(1, 20);
+
+		assertEquals(3, lml.getSize());
+		assertEquals("item:2", lml.getAt(1));
+		assertEquals("item:3", lml.getAt(2));
+		assertEquals("item:1", lml.getAt(0));
+		assertEquals(4, mapper.calls);
+	}
+}
@@ -5,7 +5,11 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -105,4 +109,123 @@ public class ListBuilderTests {
 		verify(source, times(1)).removeObserver(any(IListObserver.class));
 	}
 
+	@Test
+	public void singleSourceAddOrderWithMovesUnlinkUnlinks() {
+		Trigger trigger = new Trigger(monitor);
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(trigger, monitor)
+				.source(source)
+				.order(new ImmutableObservableReference<>(order), 100)
+				.build();
+
+		verify(source, times(1)).addObserver(any(IListObserver.class));
+		trigger.trigger();
+		
+		verify(source, times(1)).removeObserver(any(IListObserver.class));
+	}
+
+	@Test
+	public void mutableChunkedStorageBuilds() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(monitor)
+				.mutable(mutator, ListStorage.CHUNKED)
+				.build();
+
+		for (int i = 0; i < 1000; ++i) {
+			mutator.add(0, i);
+		}
+
+		assertEquals(1000, list.getSize());
+		assertEquals(999, list.getAt(0).intValue());
+		assertEquals(0, list.getAt(999).intValue());
+	}
+
+	@Test
+	public void mutableChunkedStorageDiffsResets() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(monitor)
+				.mutable(mutator, ListStorage.CHUNKED, identityKey(), 10)
+				.build();
+		IListObserver observer = mock(IListObserver.class);
+		mutator.reset(Arrays.asList(1, 2, 3));
+		list.addObserver(observer);
+
+		mutator.reset(Arrays.asList(1, 4, 3));
+
+		verify(observer, never()).reset();
+		verify(observer, times(1)).removed(1, 1);
+		verify(observer, times(1)).added(1, 1);
+		assertEquals(Arrays.asList(1, 4, 3), Arrays.asList(list.getAt(0), list.getAt(1), list.getAt(2)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mutableWithNullResetKeyThrows() {
+		ListBuilder.<Integer>create(monitor).mutable(new ListMutator<Integer>(monitor), null, 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mutableWithNegativeMaxResetEditsThrows() {
+		ListBuilder.<Integer>create(monitor).mutable(new ListMutator<Integer>(monitor), identityKey(), -5);
+	}
+
+	@Test
+	public void longPipelineFiltersAndOrders() {
+		LongListMutator mutator = new LongListMutator(monitor);
+		IReadOnlyLongObservableList list = ListBuilder.create(monitor)
+				.mutable(mutator)
+				.filter(new ImmutableObservableReference<ILongItemFilter>(new ILongItemFilter() {
+					@Override
+					public boolean isIn(long item) {
+						return item > 2;
+					}
+				}))
+				.order(new ImmutableObservableReference<ILongItemsOrder>(new ILongItemsOrder() {
+					@Override
+					public boolean isLess(long lesser, long greater) {
+						return lesser > greater;
+					}
+				}))
+				.build();
+
+		mutator.reset(new long[] { 4, 1, 5, 2, 3 });
+
+		assertEquals(3, list.getSize());
+		assertEquals(5, list.getAt(0));
+		assertEquals(4, list.getAt(1));
+		assertEquals(3, list.getAt(2));
+	}
+
+	@Test
+	public void doublePipelineUnlinkUnlinks() {
+		Trigger trigger = new Trigger(monitor);
+		DoubleListMutator mutator = new DoubleListMutator(monitor);
+		IReadOnlyDoubleObservableList list = ListBuilder.create(trigger, monitor)
+				.mutable(mutator)
+				.order(new ImmutableObservableReference<IDoubleItemsOrder>(new IDoubleItemsOrder() {
+					@Override
+					public boolean isLess(double lesser, double greater) {
+						return lesser < greater;
+					}
+				}))
+				.build();
+
+		mutator.add(2.5);
+		mutator.add(1.5);
+		assertEquals(2, list.getSize());
+		assertEquals(1.5, list.getAt(0), 0.0);
+
+		trigger.trigger();
+		mutator.add(0.5);
+
+		assertEquals(2, list.getSize());
+	}
+
+
+	private static IItemKey<Integer> identityKey() {
+		return new IItemKey<Integer>() {
+			@Override
+			public Object keyOf(Integer item) {
+				return item;
+			}
+		};
+	}
 }
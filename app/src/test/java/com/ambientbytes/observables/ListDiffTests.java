@@ -0,0 +1,110 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ListDiffTests {
+
+	@Test
+	public void equalSequencesEmptyScript() {
+		IntArrayList script = ListDiff.diff(new Object[] { 1, 2, 3 }, new Object[] { 1, 2, 3 }, 0);
+
+		assertNotNull(script);
+		assertEquals(0, script.size());
+	}
+
+	@Test
+	public void insertionInTheMiddle() {
+		IntArrayList script = ListDiff.diff(new Object[] { 1, 2, 3 }, new Object[] { 1, 2, 5, 6, 3 }, 10);
+
+		assertEquals(4, script.size());
+		assertEquals(2, script.get(0));
+		assertEquals(0, script.get(1));
+		assertEquals(2, script.get(2));
+		assertEquals(2, script.get(3));
+	}
+
+	@Test
+	public void replacementMakesOneHunk() {
+		IntArrayList script = ListDiff.diff(new Object[] { 1, 2, 3, 4 }, new Object[] { 1, 7, 8, 4 }, 10);
+
+		assertEquals(4, script.size());
+		assertEquals(1, script.get(0));
+		assertEquals(2, script.get(1));
+		assertEquals(1, script.get(2));
+		assertEquals(2, script.get(3));
+	}
+
+	@Test
+	public void tooManyEditsReturnsNull() {
+		assertNull(ListDiff.diff(new Object[] { 1, 2, 3, 4 }, new Object[] { 5, 6, 7, 8 }, 7));
+		assertNull(ListDiff.diff(new Object[] { }, new Object[] { 5, 6, 7, 8 }, 3));
+		assertNotNull(ListDiff.diff(new Object[] { 1, 2, 3, 4 }, new Object[] { 5, 6, 7, 8 }, 8));
+	}
+
+	@Test
+	public void nullKeysCompared() {
+		IntArrayList script = ListDiff.diff(new Object[] { null, 1 }, new Object[] { null, 2 }, 10);
+
+		assertEquals(4, script.size());
+		assertEquals(1, script.get(0));
+	}
+
+	@Test
+	public void randomScriptsAreShortestAndTransformSequences() {
+		Random random = new Random(20);
+
+		for (int iteration = 0; iteration < 500; ++iteration) {
+			Object[] oldKeys = randomKeys(random);
+			Object[] newKeys = randomKeys(random);
+			IntArrayList script = ListDiff.diff(oldKeys, newKeys, oldKeys.length + newKeys.length);
+			List<Object> patched = new ArrayList<>(Arrays.asList(oldKeys));
+			int edits = 0;
+			int previousEnd = -1;
+
+			for (int i = 0; i < script.size(); i += 4) {
+				int newStart = script.get(i + 2);
+				assertEquals(true, newStart > previousEnd);
+				previousEnd = newStart + script.get(i + 3);
+				patched.subList(newStart, newStart + script.get(i + 1)).clear();
+				patched.addAll(newStart, Arrays.asList(newKeys).subList(newStart, newStart + script.get(i + 3)));
+				edits += script.get(i + 1) + script.get(i + 3);
+			}
+
+			assertEquals(Arrays.asList(newKeys), patched);
+			assertEquals(oldKeys.length + newKeys.length - 2 * commonLength(oldKeys, newKeys), edits);
+		}
+	}
+
+	private static Object[] randomKeys(Random random) {
+		Object[] keys = new Object[random.nextInt(20)];
+
+		for (int i = 0; i < keys.length; ++i) {
+			keys[i] = random.nextInt(6);
+		}
+
+		return keys;
+	}
+
+	private static int commonLength(Object[] a, Object[] b) {
+		int[][] lengths = new int[a.length + 1][b.length + 1];
+
+		for (int i = a.length - 1; i >= 0; --i) {
+			for (int j = b.length - 1; j >= 0; --j) {
+				lengths[i][j] = a[i].equals(b[j])
+						? lengths[i + 1][j + 1] + 1
+						: Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+			}
+		}
+
+		return lengths[0][0];
+	}
+}
@@ -143,4 +143,48 @@ public class ListMutatorTests {
 		verify(listener, times(1)).reset(eq(range));
 	}
 
+	@Test
+	public void mutateDoesNotLockMonitor() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		mutator.addListener(listener);
+
+		mutator.add(1);
+		mutator.remove(0, 1);
+
+		verify(monitor, never()).acquireRead();
+		verify(monitor, times(1)).acquireWrite();
+	}
+
+	@Test
+	public void removeListenerStopsCalls() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		@SuppressWarnings("unchecked")
+		IListMutator<Integer> otherListener = mock(IListMutator.class);
+		mutator.addListener(listener);
+		mutator.addListener(otherListener);
+
+		mutator.removeListener(listener);
+		mutator.add(1);
+
+		verify(listener, never()).add(anyInt());
+		verify(otherListener, times(1)).add(eq(1));
+	}
+
+	@Test
+	public void batchCallsBatch() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		IListBatch<Integer> batch = new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.add(1);
+			}
+		};
+		mutator.addListener(listener);
+
+		mutator.batch(batch);
+
+		verify(listener, times(1)).batch(same(batch));
+		verify(listener, never()).add(anyInt());
+	}
+
 }
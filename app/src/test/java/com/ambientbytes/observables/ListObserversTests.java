@@ -2,15 +2,23 @@ package com.ambientbytes.observables;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 public class ListObserversTests {
@@ -151,4 +159,203 @@ public class ListObserversTests {
 		collection.add(observer);
 	}
 
+	@Test
+	public void reportDoesNotLockMonitor() {
+		IResource lock = mock(IResource.class);
+		IReadWriteMonitor monitor = mock(IReadWriteMonitor.class);
+		when(monitor.acquireRead()).thenReturn(lock);
+		when(monitor.acquireWrite()).thenReturn(lock);
+		ListObservers<Object> collection = new ListObservers<>(monitor);
+		collection.add(observer);
+
+		collection.added(0, 1);
+		collection.reset();
+
+		verify(monitor, never()).acquireRead();
+		verify(monitor, times(1)).acquireWrite();
+	}
+
+	@Test
+	public void observerAddedWhileReportingNotReported() {
+		final ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		final IListObserver addedObserver = mock(IListObserver.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				collection.add(addedObserver);
+				return null;
+			}
+		}).when(observer).added(0, 1);
+		collection.add(observer);
+
+		collection.added(0, 1);
+		collection.added(1, 1);
+
+		verify(addedObserver, never()).added(0, 1);
+		verify(addedObserver, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void removeOneOfManyObserversKeepsOthers() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListObserver first = mock(IListObserver.class);
+		IListObserver last = mock(IListObserver.class);
+		collection.add(first);
+		collection.add(observer);
+		collection.add(last);
+
+		collection.remove(observer);
+		collection.moved(1, 2, 3);
+
+		verify(first, times(1)).moved(1, 2, 3);
+		verify(observer, never()).moved(anyInt(), anyInt(), anyInt());
+		verify(last, times(1)).moved(1, 2, 3);
+	}
+
+	@Test
+	public void changeSetObserverOutsideChangeSetReceivesFineGrainedChanges() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		collection.add(changeSetObserver);
+
+		collection.removing(1, 2);
+		collection.removed(1, 2);
+
+		verify(changeSetObserver, times(1)).removing(1, 2);
+		verify(changeSetObserver, times(1)).removed(1, 2);
+		verifyNoMoreInteractions(changeSetObserver);
+	}
+
+	@Test
+	public void changeSetReportedOnce() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		collection.add(observer);
+		collection.add(changeSetObserver);
+
+		collection.beginChangeSet();
+		collection.removing(1, 2);
+		collection.removed(1, 2);
+		collection.added(0, 3);
+		collection.changing(4, 1);
+		collection.changed(4, 1);
+		collection.moved(0, 5, 2);
+		collection.endChangeSet();
+
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+		verify(observer, times(1)).added(0, 3);
+		verify(observer, times(1)).changed(4, 1);
+		verify(observer, times(1)).moved(0, 5, 2);
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		ListChangeSet changeSet = captor.getValue();
+		assertEquals(4, changeSet.getSize());
+		assertChange(changeSet.getAt(0), ListChangeSet.Kind.REMOVED, 1, 1, 2);
+		assertChange(changeSet.getAt(1), ListChangeSet.Kind.ADDED, 0, 0, 3);
+		assertChange(changeSet.getAt(2), ListChangeSet.Kind.CHANGED, 4, 4, 1);
+		assertChange(changeSet.getAt(3), ListChangeSet.Kind.MOVED, 0, 5, 2);
+	}
+
+	@Test
+	public void nestedChangeSetsReportedOnce() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		collection.add(changeSetObserver);
+
+		collection.beginChangeSet();
+		collection.added(0, 1);
+		collection.beginChangeSet();
+		collection.added(1, 1);
+		collection.endChangeSet();
+		verify(changeSetObserver, never()).applied(any(ListChangeSet.class));
+		collection.endChangeSet();
+
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		assertEquals(2, captor.getValue().getSize());
+	}
+
+	@Test
+	public void changeSetResetDropsEarlierChanges() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> captor = ArgumentCaptor.forClass(ListChangeSet.class);
+		collection.add(changeSetObserver);
+
+		collection.beginChangeSet();
+		collection.added(0, 1);
+		collection.resetting();
+		collection.reset();
+		collection.added(0, 2);
+		collection.endChangeSet();
+
+		verify(changeSetObserver, times(1)).applied(captor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		assertEquals(2, captor.getValue().getSize());
+		assertChange(captor.getValue().getAt(0), ListChangeSet.Kind.RESET, 0, 0, 0);
+		assertChange(captor.getValue().getAt(1), ListChangeSet.Kind.ADDED, 0, 0, 2);
+	}
+
+	@Test
+	public void emptyChangeSetNotReported() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		collection.add(changeSetObserver);
+
+		collection.beginChangeSet();
+		collection.endChangeSet();
+
+		verifyNoMoreInteractions(changeSetObserver);
+	}
+
+	@Test
+	public void changeSetObserverAddedInChangeSetReceivesFineGrainedChanges() {
+		final ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		final IListChangeSetObserver addedObserver = mock(IListChangeSetObserver.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				collection.add(addedObserver);
+				return null;
+			}
+		}).when(observer).added(0, 1);
+		collection.add(observer);
+		collection.add(changeSetObserver);
+
+		collection.beginChangeSet();
+		collection.added(0, 1);
+		collection.added(1, 1);
+		collection.endChangeSet();
+
+		verify(addedObserver, times(1)).added(1, 1);
+		verifyNoMoreInteractions(addedObserver);
+		verify(changeSetObserver, times(1)).applied(any(ListChangeSet.class));
+		verifyNoMoreInteractions(changeSetObserver);
+	}
+
+	@Test
+	public void changeSetBoundariesForwarded() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IChangeSetBoundaryObserver boundaryObserver = mock(IChangeSetBoundaryObserver.class);
+		collection.add(boundaryObserver);
+
+		collection.beginChangeSet();
+		collection.added(0, 1);
+		collection.endChangeSet();
+
+		verify(boundaryObserver, times(1)).beginChangeSet();
+		verify(boundaryObserver, times(1)).added(0, 1);
+		verify(boundaryObserver, times(1)).endChangeSet();
+	}
+
+	private static void assertChange(ListChangeSet.Change change, ListChangeSet.Kind kind,
+			int startIndex, int newStartIndex, int count) {
+		assertEquals(kind, change.getKind());
+		assertEquals(startIndex, change.getStartIndex());
+		assertEquals(newStartIndex, change.getNewStartIndex());
+		assertEquals(count, change.getCount());
+	}
 }
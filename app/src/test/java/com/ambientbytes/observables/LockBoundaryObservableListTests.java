@@ -0,0 +1,152 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class LockBoundaryObservableListTests {
+
+	private static final class EvenFilter implements IItemFilter<Integer> {
+		@Override
+		public boolean isIn(Integer item) {
+			return item % 2 == 0;
+		}
+	}
+
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IReadWriteMonitor mockSegmentMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock IResource segmentWLock;
+	@Mock IListObserver observer;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		when(mockSegmentMonitor.acquireRead()).thenReturn(rLock);
+		when(mockSegmentMonitor.acquireWrite()).thenReturn(segmentWLock);
+	}
+
+	@Test
+	public void changesCopiedUnderSegmentLock() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		LockBoundaryObservableList<Integer> list = new LockBoundaryObservableList<>(source, mockMonitor,
+				mockSegmentMonitor);
+		list.addObserver(observer);
+		reset(segmentWLock);
+
+		mutator.add(4);
+		mutator.remove(0, 1);
+		mutator.set(0, 20);
+		mutator.move(0, 1, 1);
+
+		verify(segmentWLock, times(4)).release();
+		verify(observer, times(1)).added(3, 1);
+		verify(observer, times(1)).removing(0, 1);
+		verify(observer, times(1)).removed(0, 1);
+		verify(observer, times(1)).changing(0, 1);
+		verify(observer, times(1)).changed(0, 1);
+		verify(observer, times(1)).moved(0, 1, 1);
+		assertEquals(3, list.getSize());
+		assertEquals(3, list.getAt(0).intValue());
+		assertEquals(20, list.getAt(1).intValue());
+		assertEquals(4, list.getAt(2).intValue());
+	}
+
+	@Test
+	public void changeSetForwardedUnderOneLock() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		LockBoundaryObservableList<Integer> list = new LockBoundaryObservableList<>(source, mockMonitor,
+				mockSegmentMonitor);
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		list.addObserver(changeSetObserver);
+		mutator.add(0, Arrays.asList(1, 2, 3, 4));
+		reset(changeSetObserver);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.remove(0, 1);
+				m.add(10);
+			}
+		});
+
+		verify(changeSetObserver, times(1)).applied(any(ListChangeSet.class));
+		verifyNoMoreInteractions(changeSetObserver);
+		assertEquals(4, list.getSize());
+		assertEquals(10, list.getAt(3).intValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sameMonitorThrows() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+
+		ListBuilder.<Integer>create(mockMonitor).mutable(mutator).monitor(mockMonitor);
+	}
+
+	@Test
+	public void chainsSharingSourceDoNotBlockEachOther() throws InterruptedException {
+		IReadWriteMonitor monitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+		final IReadWriteMonitor firstMonitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+		IReadWriteMonitor secondMonitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(monitor).mutable(mutator).build();
+		MutableObservableReference<IItemFilter<Integer>> secondFilter =
+				new MutableObservableReference<IItemFilter<Integer>>(new EvenFilter(), secondMonitor);
+		ListBuilder.<Integer>create(monitor).source(source).monitor(firstMonitor)
+				.filter(new MutableObservableReference<IItemFilter<Integer>>(new EvenFilter(), firstMonitor))
+				.build();
+		IReadOnlyObservableList<Integer> second = ListBuilder.<Integer>create(monitor).source(source)
+				.monitor(secondMonitor).filter(secondFilter).build();
+		mutator.add(0, Arrays.asList(1, 2, 3, 4));
+		final CountDownLatch locked = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(1);
+		Thread holder = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				IResource lock = firstMonitor.acquireWrite();
+				try {
+					locked.countDown();
+					done.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					lock.release();
+				}
+			}
+		});
+		holder.start();
+
+		try {
+			assertTrue(locked.await(10, TimeUnit.SECONDS));
+			//
+			// The first chain is locked by the other thread; the second one still changes its filter.
+			//
+			secondFilter.setValue(new IItemFilter<Integer>() {
+				@Override
+				public boolean isIn(Integer item) {
+					return true;
+				}
+			});
+			assertEquals(4, second.getSize());
+		} finally {
+			done.countDown();
+			holder.join();
+		}
+	}
+}
@@ -5,9 +5,14 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,4 +76,57 @@ public class LockToolTests {
         verify(rwLock, never()).readLock();
     }
 
+    @Test
+    public void reusableAcquireReadTwiceReturnsSameResource() {
+        IReadWriteMonitor monitor = LockTool.createReusableReadWriteMonitor(rwLock);
+        when(rwLock.readLock()).thenReturn(lock);
+
+        IResource first = monitor.acquireRead();
+        first.release();
+        IResource second = monitor.acquireRead();
+        second.release();
+
+        assertSame(first, second);
+        verify(lock, times(2)).lock();
+        verify(lock, times(2)).unlock();
+    }
+
+    @Test
+    public void reusableNestedAcquireWriteReleasesEach() {
+        IReadWriteMonitor monitor = LockTool.createReusableReadWriteMonitor(rwLock);
+        when(rwLock.writeLock()).thenReturn(lock);
+
+        IResource outer = monitor.acquireWrite();
+        IResource inner = monitor.acquireWrite();
+        inner.release();
+        verify(lock, times(1)).unlock();
+        outer.release();
+        outer.release();
+
+        verify(lock, times(2)).lock();
+        verify(lock, times(2)).unlock();
+    }
+
+    @Test
+    public void reusableAcquireOnOtherThreadReturnsOtherResource() throws InterruptedException {
+        final IReadWriteMonitor monitor = LockTool.createReusableReadWriteMonitor(new ReentrantReadWriteLock());
+        final AtomicReference<IResource> otherResource = new AtomicReference<>();
+        IResource resource = monitor.acquireRead();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                IResource r = monitor.acquireRead();
+                otherResource.set(r);
+                r.release();
+            }
+        });
+
+        thread.start();
+        thread.join();
+        resource.release();
+
+        assertNotNull(otherResource.get());
+        assertNotSame(resource, otherResource.get());
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LongKeySortTests {
+
+	@Test
+	public void signedKeysSorted() {
+		long[] keys = new long[] { 5, -1, Long.MAX_VALUE, 0, Long.MIN_VALUE, -300, 300 };
+		Object[] items = new Object[] { "5", "-1", "max", "0", "min", "-300", "300" };
+
+		LongKeySort.sort(keys, items, keys.length);
+
+		assertArrayEquals(new long[] { Long.MIN_VALUE, -300, -1, 0, 5, 300, Long.MAX_VALUE }, keys);
+		assertArrayEquals(new Object[] { "min", "-300", "-1", "0", "5", "300", "max" }, items);
+	}
+
+	@Test
+	public void equalKeysKeepOrder() {
+		long[] keys = new long[] { 2, 1, 2, 1, 2 };
+		Object[] items = new Object[] { "a", "b", "c", "d", "e" };
+
+		LongKeySort.sort(keys, items, keys.length);
+
+		assertArrayEquals(new Object[] { "b", "d", "a", "c", "e" }, items);
+	}
+
+	@Test
+	public void onlyLengthSorted() {
+		long[] keys = new long[] { 3, 2, 1, 0 };
+		Object[] items = new Object[] { "3", "2", "1", "0" };
+
+		LongKeySort.sort(keys, items, 3);
+
+		assertArrayEquals(new long[] { 1, 2, 3, 0 }, keys);
+		assertArrayEquals(new Object[] { "1", "2", "3", "0" }, items);
+	}
+
+	@Test
+	public void randomKeysSorted() {
+		final Random random = new Random(5);
+		final int length = 10000;
+		long[] keys = new long[length];
+		Object[] items = new Object[length];
+
+		for (int i = 0; i < length; ++i) {
+			keys[i] = random.nextLong() >> random.nextInt(64);
+			items[i] = Long.valueOf(keys[i]);
+		}
+
+		LongKeySort.sort(keys, items, length);
+
+		for (int i = 0; i < length; ++i) {
+			assertEquals(keys[i], ((Long) items[i]).longValue());
+			if (i > 0) {
+				assertTrue(keys[i - 1] <= keys[i]);
+			}
+		}
+	}
+}
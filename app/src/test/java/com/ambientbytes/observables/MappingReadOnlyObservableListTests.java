@@ -10,8 +10,10 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.anyInt;
@@ -311,4 +313,77 @@ public class MappingReadOnlyObservableListTests {
 		verify(stringObserver, times(1)).changed(eq(1), eq(1));
 	}
 
+	@Test
+	public void addLargeBatchMapsInParallelInOrder() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		MappingReadOnlyObservableList<Integer, String> mol = new MappingReadOnlyObservableList<>(
+				source, new IntegerToStringMapper(), pool, 100, new DummyReadWriteMonitor());
+		mol.addObserver(stringObserver);
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 5000; ++i) {
+			items.add(i);
+		}
+		mutator.add(0);
+		mutator.add(1);
+
+		mutator.add(1, items);
+
+		verify(stringObserver, times(1)).added(1, 5000);
+		assertEquals(5002, mol.getSize());
+		assertEquals("item:0", mol.getAt(0));
+		for (int i = 0; i < 5000; ++i) {
+			assertEquals("item:" + i, mol.getAt(i + 1));
+		}
+		assertEquals("item:1", mol.getAt(5001));
+		pool.shutdown();
+	}
+
+	@Test
+	public void resetLargeBatchMapsInParallelInOrder() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		MappingReadOnlyObservableList<Integer, String> mol = new MappingReadOnlyObservableList<>(
+				source, new IntegerToStringMapper(), pool, 100, new DummyReadWriteMonitor());
+		mol.addObserver(stringObserver);
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 3000; ++i) {
+			items.add(3000 - i);
+		}
+
+		mutator.reset(items);
+
+		verify(stringObserver, times(1)).resetting();
+		verify(stringObserver, times(1)).reset();
+		assertEquals(3000, mol.getSize());
+		for (int i = 0; i < 3000; ++i) {
+			assertEquals("item:" + (3000 - i), mol.getAt(i));
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	public void addSmallBatchMapsOnNotifyingThread() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		final List<Thread> threads = new ArrayList<>();
+		MappingReadOnlyObservableList<Integer, String> mol = new MappingReadOnlyObservableList<>(source,
+				new IItemMapper<Integer, String>() {
+					@Override
+					public String map(Integer item) {
+						threads.add(Thread.currentThread());
+						return item.toString();
+					}
+				}, pool, 100, new DummyReadWriteMonitor());
+
+		mutator.add(0, Arrays.asList(1, 2, 3));
+
+		assertEquals(3, mol.getSize());
+		assertEquals(Arrays.asList(Thread.currentThread(), Thread.currentThread(), Thread.currentThread()), threads);
+		pool.shutdown();
+	}
+
 }
@@ -10,8 +10,10 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
@@ -21,6 +23,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 public class MergingReadOnlyObservableListTests {
@@ -664,6 +667,144 @@ public class MergingReadOnlyObservableListTests {
 		verify(integerList3, times(1)).removeObserver(any(IListObserver.class));
 	}
 	
+	@Test
+	public void addAndRemoveManyListsKeepsOffsets() {
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		MutableListSet<Integer> sources = new MutableListSet<Integer>(monitor); 
+		MergingReadOnlyObservableList<Integer> mol = new MergingReadOnlyObservableList<>(sources, monitor);
+		List<ListMutator<Integer>> mutators = new ArrayList<>();
+		List<IReadOnlyObservableList<Integer>> lists = new ArrayList<>();
+
+		for (int i = 0; i < 50; ++i) {
+			ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+			IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+			mutator.add(i * 100);
+			mutators.add(mutator);
+			lists.add(list);
+			sources.add(list);
+		}
+		for (int i = 0; i < 40; ++i) {
+			sources.remove(lists.get(i));
+		}
+		mutators.get(45).add(4501);
+		mutators.get(40).remove(0, 1);
+
+		assertEquals(10, mol.getSize());
+		assertEquals(4100, mol.getAt(0).intValue());
+		assertEquals(4500, mol.getAt(4).intValue());
+		assertEquals(4501, mol.getAt(5).intValue());
+		assertEquals(4900, mol.getAt(9).intValue());
+	}
+
+	@Test
+	public void virtualModeMatchesCopyMode() {
+		final Random random = new Random(17);
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		MutableListSet<Integer> sources = new MutableListSet<Integer>(monitor); 
+		MergingReadOnlyObservableList<Integer> copy = new MergingReadOnlyObservableList<>(sources, MergeMode.COPY, monitor);
+		MergingReadOnlyObservableList<Integer> virtual = new MergingReadOnlyObservableList<>(sources, MergeMode.VIRTUAL, monitor);
+		List<ListMutator<Integer>> mutators = new ArrayList<>();
+		List<IReadOnlyObservableList<Integer>> lists = new ArrayList<>();
+
+		for (int i = 0; i < 8; ++i) {
+			ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+			IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+			mutators.add(mutator);
+			lists.add(list);
+			sources.add(list);
+		}
+
+		for (int step = 0; step < 2000; ++step) {
+			final int listIndex = random.nextInt(mutators.size());
+			final ListMutator<Integer> mutator = mutators.get(listIndex);
+			final int size = lists.get(listIndex).getSize();
+			final int operation = random.nextInt(10);
+
+			if (operation < 4 || size == 0) {
+				mutator.add(random.nextInt(size + 1), step);
+			} else if (operation < 7) {
+				mutator.remove(random.nextInt(size), 1);
+			} else if (operation == 7) {
+				mutator.set(random.nextInt(size), step);
+			} else if (operation == 8) {
+				mutator.move(random.nextInt(size), random.nextInt(size), 1);
+			} else {
+				List<Integer> items = new ArrayList<>();
+				for (int i = random.nextInt(5); i > 0; --i) {
+					items.add(step + i);
+				}
+				mutator.reset(items);
+			}
+
+			assertEquals(copy.getSize(), virtual.getSize());
+		}
+
+		sources.remove(lists.get(3));
+		assertEquals(copy.getSize(), virtual.getSize());
+		for (int i = 0; i < copy.getSize(); ++i) {
+			assertSame(copy.getAt(i), virtual.getAt(i));
+		}
+	}
+
+	@Test
+	public void virtualModeUnlinkKeepsContents() {
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		MutableListSet<Integer> sources = new MutableListSet<Integer>(monitor); 
+		MergingReadOnlyObservableList<Integer> mol = new MergingReadOnlyObservableList<>(sources, MergeMode.VIRTUAL, monitor);
+		ListMutator<Integer> mutator1 = new ListMutator<>(mockMonitor);
+		ListMutator<Integer> mutator2 = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source1 = ListBuilder.<Integer>create(mockMonitor).mutable(mutator1).build();
+		IReadOnlyObservableList<Integer> source2 = ListBuilder.<Integer>create(mockMonitor).mutable(mutator2).build();
+		mutator1.add(0, Arrays.asList(1, 2));
+		mutator2.add(0, Arrays.asList(3, 4, 5));
+		sources.add(source1);
+		sources.add(source2);
+		mol.addObserver(observer);
+
+		mol.unlink();
+		mutator1.remove(0, 2);
+		mutator2.set(0, 30);
+
+		verifyNoMoreInteractions(observer);
+		assertEquals(5, mol.getSize());
+		for (int i = 0; i < 5; ++i) {
+			assertEquals(i + 1, mol.getAt(i).intValue());
+		}
+	}
+
+	@Test
+	public void virtualModeRemovingItemsReadable() {
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		MutableListSet<Integer> sources = new MutableListSet<Integer>(monitor); 
+		final MergingReadOnlyObservableList<Integer> mol = new MergingReadOnlyObservableList<>(sources, MergeMode.VIRTUAL, monitor);
+		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(1);
+		mutator.add(2);
+		mutator.add(3);
+		sources.add(source);
+		doAnswer(new Answer<Void>() {
+			public Void answer(InvocationOnMock invocation) {
+				assertEquals(3, mol.getSize());
+				assertEquals(2, mol.getAt(1).intValue());
+				return null;
+			}
+		}).when(observer).removing(1, 1);
+		doAnswer(new Answer<Void>() {
+			public Void answer(InvocationOnMock invocation) {
+				assertEquals(2, mol.getSize());
+				assertEquals(3, mol.getAt(1).intValue());
+				return null;
+			}
+		}).when(observer).removed(1, 1);
+		mol.addObserver(observer);
+
+		mutator.remove(1, 1);
+
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).removed(1, 1);
+	}
+
 	@Test
 	public void addToFirstAdded() {
 		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
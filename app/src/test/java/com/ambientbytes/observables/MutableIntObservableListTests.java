@@ -0,0 +1,122 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MutableIntObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void addLocksWrite() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		new MutableIntObservableList(mutator, mockMonitor);
+
+		mutator.add(1);
+
+		verify(mockMonitor, times(2)).acquireWrite();
+		verify(wLock, times(2)).release();
+	}
+
+	@Test
+	public void addRangeAddsAndReports() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		mutator.add(0, new int[] { 1, 2, 3 });
+		list.addObserver(observer);
+		mutator.add(1, new int[] { 10, 11 });
+
+		assertEquals(5, list.getSize());
+		assertEquals(1, list.getAt(0));
+		assertEquals(10, list.getAt(1));
+		assertEquals(11, list.getAt(2));
+		assertEquals(2, list.getAt(3));
+		verify(observer, times(1)).added(1, 2);
+	}
+
+	@Test
+	public void setRangeReports() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		mutator.reset(new int[] { 1, 2, 3, 4 });
+		list.addObserver(observer);
+		mutator.set(1, new int[] { 20, 30 });
+
+		assertEquals(20, list.getAt(1));
+		assertEquals(30, list.getAt(2));
+		verify(observer, times(1)).changing(1, 2);
+		verify(observer, times(1)).changed(1, 2);
+	}
+
+	@Test
+	public void removeTooManyTrimmedRemoved() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		mutator.reset(new int[] { 1, 2, 3, 4 });
+		list.addObserver(observer);
+		mutator.remove(2, 10);
+
+		assertEquals(2, list.getSize());
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+	}
+
+	@Test
+	public void moveMovesAndReports() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		mutator.reset(new int[] { 0, 1, 2, 3, 4 });
+		list.addObserver(observer);
+		mutator.move(0, 3, 2);
+
+		assertEquals(2, list.getAt(0));
+		assertEquals(0, list.getAt(3));
+		assertEquals(1, list.getAt(4));
+		verify(observer, times(1)).moved(0, 3, 2);
+	}
+
+	@Test
+	public void resetReports() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		list.addObserver(observer);
+		mutator.reset(new int[] { 5, 6 });
+
+		assertEquals(2, list.getSize());
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void unlinkStopsUpdates() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableIntObservableList list = new MutableIntObservableList(mutator, mockMonitor);
+
+		list.unlink();
+		mutator.add(1);
+
+		assertEquals(0, list.getSize());
+	}
+}
@@ -10,8 +10,10 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
@@ -485,6 +487,171 @@ public class MutableObservableListTests {
 		}
 	}
 	
+	@Test
+	public void diffResetReportsRemovedAndAdded() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor,
+				new ArrayListEx<Integer>(), identityKey(), 10);
+		mutator.add(0, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		mol.addObserver(observer);
+
+		mutator.reset(Arrays.asList(0, 1, 20, 21, 4, 5, 6, 8, 9, 30));
+
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+		verify(observer, times(1)).added(2, 2);
+		verify(observer, times(1)).removing(7, 1);
+		verify(observer, times(1)).removed(7, 1);
+		verify(observer, times(1)).added(9, 1);
+		verifyNoMoreInteractions(observer);
+		assertEquals(Arrays.asList(0, 1, 20, 21, 4, 5, 6, 8, 9, 30), toList(mol));
+	}
+
+	@Test
+	public void diffResetMovingItemToFrontKeepsFilterConsistent() {
+		IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+		ListMutator<int[]> mutator = new ListMutator<>(monitor);
+		MutableObservableList<int[]> mol = new MutableObservableList<>(mutator, monitor,
+				new ArrayListEx<int[]>(), new IItemKey<int[]>() {
+					@Override
+					public Object keyOf(int[] item) {
+						return item[0];
+					}
+				}, 100);
+		FilteringReadOnlyObservableList<int[]> fol = new FilteringReadOnlyObservableList<>(mol,
+				new ImmutableObservableReference<IItemFilter<int[]>>(new IItemFilter<int[]>() {
+					@Override
+					public boolean isIn(int[] item) {
+						return item[1] % 2 == 0;
+					}
+				}), monitor);
+		int[] r0 = { 0, 0 };
+		int[] r1 = { 1, 1 };
+		int[] r3 = { 3, 1 };
+		int[] r4 = { 4, 1 };
+		int[] r5 = { 5, 2 };
+		int[] r6 = { 6, 2 };
+		mutator.reset(Arrays.asList(r0, r1, r3, r4));
+
+		mutator.reset(Arrays.asList(r4, r0, r5, r3, r6, r1));
+		int[] changed4 = { 4, 2 };
+		mutator.reset(Arrays.asList(changed4, r1, r5, r6));
+
+		assertEquals(3, fol.getSize());
+		assertSame(r5, fol.getAt(0));
+		assertSame(r6, fol.getAt(1));
+		assertSame(changed4, fol.getAt(2));
+	}
+
+	@Test
+	public void diffResetReportsChangedItems() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor,
+				new ArrayListEx<Integer>(), new IItemKey<Integer>() {
+					@Override
+					public Object keyOf(Integer item) {
+						return item / 10;
+					}
+				}, 10);
+		mutator.add(0, Arrays.asList(10, 20, 30, 40));
+		mol.addObserver(observer);
+
+		mutator.reset(Arrays.asList(10, 21, 32, 40));
+
+		verify(observer, times(1)).changing(1, 2);
+		verify(observer, times(1)).changed(1, 2);
+		verifyNoMoreInteractions(observer);
+		assertEquals(Arrays.asList(10, 21, 32, 40), toList(mol));
+	}
+
+	@Test
+	public void diffResetLargeDifferenceResets() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor,
+				new ArrayListEx<Integer>(), identityKey(), 3);
+		mutator.add(0, Arrays.asList(0, 1, 2, 3));
+		mol.addObserver(observer);
+
+		mutator.reset(Arrays.asList(5, 1, 6, 3));
+
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		verifyNoMoreInteractions(observer);
+		assertEquals(Arrays.asList(5, 1, 6, 3), toList(mol));
+	}
+
+	@Test
+	public void diffResetRandomChangesReplicated() {
+		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		final MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor,
+				new ArrayListEx<Integer>(), identityKey(), 1000);
+		final List<Integer> replica = new ArrayList<>();
+		final Random random = new Random(21);
+		mol.addObserver(new IListObserver() {
+			@Override
+			public void added(int startIndex, int count) {
+				for (int i = 0; i < count; ++i) {
+					replica.add(startIndex + i, mol.getAt(startIndex + i));
+				}
+			}
+
+			@Override
+			public void changing(int startIndex, int count) {
+			}
+
+			@Override
+			public void changed(int startIndex, int count) {
+				for (int i = 0; i < count; ++i) {
+					replica.set(startIndex + i, mol.getAt(startIndex + i));
+				}
+			}
+
+			@Override
+			public void removing(int startIndex, int count) {
+			}
+
+			@Override
+			public void removed(int startIndex, int count) {
+				replica.subList(startIndex, startIndex + count).clear();
+			}
+
+			@Override
+			public void moved(int oldStartIndex, int newStartIndex, int count) {
+			}
+
+			@Override
+			public void resetting() {
+			}
+
+			@Override
+			public void reset() {
+				replica.clear();
+				replica.addAll(toList(mol));
+			}
+		});
+
+		for (int iteration = 0; iteration < 200; ++iteration) {
+			List<Integer> items = new ArrayList<>();
+			for (int i = random.nextInt(30); i > 0; --i) {
+				items.add(random.nextInt(10));
+			}
+
+			mutator.reset(items);
+
+			assertEquals(items, toList(mol));
+			assertEquals(items, replica);
+		}
+	}
+
+	private static IItemKey<Integer> identityKey() {
+		return new IItemKey<Integer>() {
+			@Override
+			public Object keyOf(Integer item) {
+				return item;
+			}
+		};
+	}
+
 	@Test
 	public void addCollectionAllAdded() {
 		final int[] original = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
@@ -719,4 +886,210 @@ public class MutableObservableListTests {
 		verify(observer, times(1)).changed(eq(0), eq(3));
 	}
 
+	@Test
+	public void chunkedStorageInsertRemoveReports() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor, new ChunkedList<Integer>(4));
+
+		for (int i = 0; i < 20; ++i) {
+			mutator.add(i, Integer.valueOf(i));
+		}
+		mol.addObserver(observer);
+		mutator.add(0, Integer.valueOf(100));
+		mutator.remove(5, 10);
+
+		assertEquals(11, mol.getSize());
+		assertEquals(100, mol.getAt(0).intValue());
+		assertEquals(3, mol.getAt(4).intValue());
+		assertEquals(14, mol.getAt(5).intValue());
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).removing(5, 10);
+		verify(observer, times(1)).removed(5, 10);
+	}
+
+	@Test
+	public void batchTakesWriteLockOnce() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		reset(mockMonitor);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.add(1);
+				m.add(2);
+				m.add(0, 0);
+				m.set(2, 20);
+			}
+		});
+
+		verify(mockMonitor, times(1)).acquireWrite();
+		verify(mockMonitor, never()).acquireRead();
+		assertEquals(toList(mol), Arrays.asList(0, 1, 20));
+	}
+
+	@Test
+	public void batchReportsMergedChanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		for (int i = 0; i < 20; ++i) {
+			mutator.add(i);
+		}
+		mol.addObserver(observer);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.remove(2, 1);
+				m.remove(2, 1);
+				m.remove(1, 1);
+				m.add(5, 100);
+				m.add(6, 101);
+				m.set(6, 102);
+				m.set(10, 110);
+				m.set(11, 111);
+			}
+		});
+
+		verify(observer, times(1)).removing(1, 3);
+		verify(observer, times(1)).removed(1, 3);
+		verify(observer, times(1)).added(5, 2);
+		verify(observer, times(1)).changing(10, 2);
+		verify(observer, times(1)).changed(10, 2);
+		verifyNoMoreInteractions(observer);
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 20; ++i) {
+			expected.add(i);
+		}
+		expected.subList(1, 4).clear();
+		expected.add(5, 100);
+		expected.add(6, 102);
+		expected.set(10, 110);
+		expected.set(11, 111);
+		assertEquals(expected, toList(mol));
+	}
+
+	@Test(timeout = 2000)
+	public void batchOfManyAdjacentSetsReportsOneChange() {
+		final int count = 100000;
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		final List<Integer> initial = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			initial.add(i);
+		}
+		mutator.add(0, initial);
+		mol.addObserver(observer);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				for (int i = 0; i < count; ++i) {
+					m.set(i, -i);
+				}
+			}
+		});
+
+		verify(observer, times(1)).changing(0, count);
+		verify(observer, times(1)).changed(0, count);
+		verifyNoMoreInteractions(observer);
+		for (int i = 0; i < count; ++i) {
+			assertEquals(-i, (int) mol.getAt(i));
+		}
+	}
+
+	@Test
+	public void batchReportsOneChangeSet() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		IListChangeSetObserver changeSetObserver = mock(IListChangeSetObserver.class);
+		ArgumentCaptor<ListChangeSet> changeSetCaptor = ArgumentCaptor.forClass(ListChangeSet.class);
+		for (int i = 0; i < 10; ++i) {
+			mutator.add(i);
+		}
+		mol.addObserver(changeSetObserver);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.remove(0, 2);
+				m.add(5, 100);
+				m.set(7, 70);
+			}
+		});
+
+		verify(changeSetObserver, times(1)).applied(changeSetCaptor.capture());
+		verifyNoMoreInteractions(changeSetObserver);
+		ListChangeSet changeSet = changeSetCaptor.getValue();
+		assertEquals(3, changeSet.getSize());
+		assertEquals(ListChangeSet.Kind.REMOVED, changeSet.getAt(0).getKind());
+		assertEquals(ListChangeSet.Kind.ADDED, changeSet.getAt(1).getKind());
+		assertEquals(5, changeSet.getAt(1).getStartIndex());
+		assertEquals(ListChangeSet.Kind.CHANGED, changeSet.getAt(2).getKind());
+		assertEquals(7, changeSet.getAt(2).getStartIndex());
+	}
+
+	@Test
+	public void batchThrowsNoChange() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(1);
+		mutator.add(2);
+		mol.addObserver(observer);
+		reset(wLock);
+
+		try {
+			mutator.batch(new IListBatch<Integer>() {
+				@Override
+				public void apply(IListMutator<Integer> m) {
+					m.add(3);
+					m.remove(0, 2);
+					m.set(1, 4);
+				}
+			});
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+
+		verifyNoMoreInteractions(observer);
+		assertEquals(Arrays.asList(1, 2), toList(mol));
+		verify(wLock, times(1)).release();
+	}
+
+	@Test
+	public void batchClearAndResetReset() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(1);
+		mutator.add(2);
+		mol.addObserver(observer);
+
+		mutator.batch(new IListBatch<Integer>() {
+			@Override
+			public void apply(IListMutator<Integer> m) {
+				m.clear();
+				m.add(5);
+				m.reset(Arrays.asList(7, 8, 9));
+				m.move(0, 2, 1);
+			}
+		});
+
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		verify(observer, times(1)).moved(0, 2, 1);
+		verifyNoMoreInteractions(observer);
+		assertEquals(Arrays.asList(8, 9, 7), toList(mol));
+	}
+
+	private static List<Integer> toList(IReadOnlyObservableList<Integer> list) {
+		final List<Integer> items = new ArrayList<>();
+
+		for (int i = 0; i < list.getSize(); ++i) {
+			items.add(list.getAt(i));
+		}
+
+		return items;
+	}
+
 }
@@ -0,0 +1,144 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderingDoubleObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final IDoubleItemsOrder ascending = new IDoubleItemsOrder() {
+		@Override
+		public boolean isLess(double lesser, double greater) {
+			return lesser < greater;
+		}
+	};
+
+	private static final IDoubleItemsOrder descending = new IDoubleItemsOrder() {
+		@Override
+		public boolean isLess(double lesser, double greater) {
+			return lesser > greater;
+		}
+	};
+
+	private static final IDoubleItemsOrder total = new IDoubleItemsOrder() {
+		@Override
+		public boolean isLess(double lesser, double greater) {
+			return Double.compare(lesser, greater) < 0;
+		}
+	};
+
+	private DoubleListMutator mutator;
+	private MutableDoubleObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new DoubleListMutator(mockMonitor);
+		source = new MutableDoubleObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListSorts() {
+		mutator.reset(new double[] { 5, 3, 1, 4, 2 });
+
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		assertValues(new double[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void addInsertsInOrder() {
+		mutator.reset(new double[] { 5, 1 });
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(3);
+
+		assertValues(new double[] { 1, 3, 5 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void removeDuplicateRemovesOne() {
+		mutator.reset(new double[] { 3, 1, 3, 2 });
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new double[] { 1, 2, 3 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void removeNaNRemovesIt() {
+		mutator.reset(new double[] { Double.NaN, 2, 1 });
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(total), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new double[] { 1, 2 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void removeZeroRemovesSameSign() {
+		mutator.reset(new double[] { -0.0 });
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		mutator.add(0.0);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertEquals(1, list.getSize());
+		assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(list.getAt(0)));
+		verify(observer, times(1)).removed(1, 1);
+	}
+
+	@Test
+	public void changeRepositions() {
+		mutator.reset(new double[] { 1, 2, 3 });
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		mutator.set(0, 10);
+
+		assertValues(new double[] { 2, 3, 10 }, list);
+	}
+
+	@Test
+	public void changeOrderResorts() {
+		mutator.reset(new double[] { 1, 2, 3 });
+		MutableObservableReference<IDoubleItemsOrder> order = new MutableObservableReference<>(ascending, mockMonitor);
+		OrderingDoubleObservableList list = new OrderingDoubleObservableList(source, order, mockMonitor);
+		list.addObserver(observer);
+
+		order.setValue(descending);
+
+		assertValues(new double[] { 3, 2, 1 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(double[] expected, IReadOnlyDoubleObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i), 0.0);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderingIntObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final IIntItemsOrder ascending = new IIntItemsOrder() {
+		@Override
+		public boolean isLess(int lesser, int greater) {
+			return lesser < greater;
+		}
+	};
+
+	private static final IIntItemsOrder descending = new IIntItemsOrder() {
+		@Override
+		public boolean isLess(int lesser, int greater) {
+			return lesser > greater;
+		}
+	};
+
+	private IntListMutator mutator;
+	private MutableIntObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new IntListMutator(mockMonitor);
+		source = new MutableIntObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListSorts() {
+		mutator.reset(new int[] { 5, 3, 1, 4, 2 });
+
+		OrderingIntObservableList list = new OrderingIntObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		assertValues(new int[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void addInsertsInOrder() {
+		mutator.reset(new int[] { 5, 1 });
+		OrderingIntObservableList list = new OrderingIntObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(3);
+
+		assertValues(new int[] { 1, 3, 5 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void removeDuplicateRemovesOne() {
+		mutator.reset(new int[] { 3, 1, 3, 2 });
+		OrderingIntObservableList list = new OrderingIntObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new int[] { 1, 2, 3 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void changeRepositions() {
+		mutator.reset(new int[] { 1, 2, 3 });
+		OrderingIntObservableList list = new OrderingIntObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		mutator.set(0, 10);
+
+		assertValues(new int[] { 2, 3, 10 }, list);
+	}
+
+	@Test
+	public void changeOrderResorts() {
+		mutator.reset(new int[] { 1, 2, 3 });
+		MutableObservableReference<IIntItemsOrder> order = new MutableObservableReference<>(ascending, mockMonitor);
+		OrderingIntObservableList list = new OrderingIntObservableList(source, order, mockMonitor);
+		list.addObserver(observer);
+
+		order.setValue(descending);
+
+		assertValues(new int[] { 3, 2, 1 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(int[] expected, IReadOnlyIntObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i));
+		}
+	}
+}
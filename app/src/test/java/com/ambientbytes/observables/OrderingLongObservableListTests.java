@@ -0,0 +1,119 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderingLongObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	private static final ILongItemsOrder ascending = new ILongItemsOrder() {
+		@Override
+		public boolean isLess(long lesser, long greater) {
+			return lesser < greater;
+		}
+	};
+
+	private static final ILongItemsOrder descending = new ILongItemsOrder() {
+		@Override
+		public boolean isLess(long lesser, long greater) {
+			return lesser > greater;
+		}
+	};
+
+	private LongListMutator mutator;
+	private MutableLongObservableList source;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		mutator = new LongListMutator(mockMonitor);
+		source = new MutableLongObservableList(mutator, mockMonitor);
+	}
+
+	@Test
+	public void newListSorts() {
+		mutator.reset(new long[] { 5, 3, 1, 4, 2 });
+
+		OrderingLongObservableList list = new OrderingLongObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		assertValues(new long[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void newListSortsBeyondIntRange() {
+		mutator.reset(new long[] { Long.MAX_VALUE, 1L << 40, Long.MIN_VALUE, 1L << 32 });
+
+		OrderingLongObservableList list = new OrderingLongObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		assertValues(new long[] { Long.MIN_VALUE, 1L << 32, 1L << 40, Long.MAX_VALUE }, list);
+	}
+
+	@Test
+	public void addInsertsInOrder() {
+		mutator.reset(new long[] { 5, 1 });
+		OrderingLongObservableList list = new OrderingLongObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.add(3);
+
+		assertValues(new long[] { 1, 3, 5 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void removeDuplicateRemovesOne() {
+		mutator.reset(new long[] { 3, 1, 3, 2 });
+		OrderingLongObservableList list = new OrderingLongObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new long[] { 1, 2, 3 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void changeRepositions() {
+		mutator.reset(new long[] { 1, 2, 3 });
+		OrderingLongObservableList list = new OrderingLongObservableList(source, new ImmutableObservableReference<>(ascending), mockMonitor);
+
+		mutator.set(0, 10);
+
+		assertValues(new long[] { 2, 3, 10 }, list);
+	}
+
+	@Test
+	public void changeOrderResorts() {
+		mutator.reset(new long[] { 1, 2, 3 });
+		MutableObservableReference<ILongItemsOrder> order = new MutableObservableReference<>(ascending, mockMonitor);
+		OrderingLongObservableList list = new OrderingLongObservableList(source, order, mockMonitor);
+		list.addObserver(observer);
+
+		order.setValue(descending);
+
+		assertValues(new long[] { 3, 2, 1 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	private static void assertValues(long[] expected, IReadOnlyLongObservableList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getAt(i));
+		}
+	}
+}
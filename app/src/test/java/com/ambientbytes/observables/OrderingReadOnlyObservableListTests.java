@@ -10,6 +10,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -86,6 +87,23 @@ public class OrderingReadOnlyObservableListTests {
 		}
 	}
 
+	private static final class KeyedTestOrder implements IKeyedItemsOrder<TestItem> {
+		private int keys;
+		private int comparisons;
+		
+		@Override
+		public long key(TestItem item) {
+			++keys;
+			return item.getValue() / 10;
+		}
+		
+		@Override
+		public boolean isLess(TestItem lesser, TestItem greater) {
+			++comparisons;
+			return lesser.getValue() < greater.getValue();
+		}
+	}
+
 	@Captor ArgumentCaptor<Collection<Integer>> integerCollectionCaptor;
 	@Captor ArgumentCaptor<Collection<TestItem>> testCollectionCaptor;
 	@Mock IListObserver observer;
@@ -164,6 +182,50 @@ public class OrderingReadOnlyObservableListTests {
 		verify(observer, times(1)).added(eq(3), eq(1));
 	}
 
+	@Test
+	public void addCollectionReportsRanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder()),
+                monitor);
+		mutator.add(10);
+		mutator.add(20);
+		ool.addObserver(observer);
+		mutator.add(2, Arrays.asList(25, 3, 12, 1, 30, 2, 15));
+
+		assertEquals(9, ool.getSize());
+		verify(observer, times(1)).added(2, 2);
+		verify(observer, times(1)).added(1, 2);
+		verify(observer, times(1)).added(0, 3);
+		verify(observer, times(3)).added(anyInt(), anyInt());
+		for (int i = 1; i < ool.getSize(); ++i) {
+			assertTrue(ool.getAt(i - 1) < ool.getAt(i));
+		}
+	}
+
+	@Test
+	public void addCollectionOfEqualItemsKeepsSourceOrder() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		final TestItem first = new TestItem(1);
+		final TestItem second = new TestItem(1);
+		mutator.add(new TestItem(0));
+		mutator.add(new TestItem(2));
+		ool.addObserver(observer);
+
+		mutator.add(0, Arrays.asList(first, second));
+
+		verify(observer, times(1)).added(1, 2);
+		assertSame(first, ool.getAt(1));
+		assertSame(second, ool.getAt(2));
+	}
+
 	@Test
 	public void removeLowestRemoves() {
 		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -280,6 +342,109 @@ public class OrderingReadOnlyObservableListTests {
 		assertEquals(1, ool.getAt(4).intValue());
 	}
 
+	@Test
+	public void changeOrderThenRemoveRemoves() {
+		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(5);
+		mutator.add(3);
+		mutator.add(2);
+		mutator.add(1);
+		mutator.add(4);
+        MutableObservableReference<IItemsOrder<Integer>> order = new MutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder(), monitor);
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(source, order, monitor);
+		order.setValue(new IntegerReverseOrder());
+		ool.addObserver(observer);
+
+		mutator.remove(1, 1);
+
+		verify(observer, times(1)).removed(2, 1);
+		assertEquals(4, ool.getSize());
+		assertEquals(2, ool.getAt(2).intValue());
+	}
+
+	@Test
+	public void addAndRemoveManyKeepsOrder() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+
+		for (int i = 0; i < 2000; ++i) {
+			mutator.add(new TestItem((i * 7919) % 1000));
+		}
+		mutator.remove(100, 500);
+		for (int i = 0; i < source.getSize(); i += 3) {
+			source.getAt(i).setValue(1000 - source.getAt(i).getValue());
+		}
+
+		assertEquals(1500, ool.getSize());
+		for (int i = 1; i < ool.getSize(); ++i) {
+			assertTrue(ool.getAt(i - 1).getValue() <= ool.getAt(i).getValue());
+		}
+	}
+
+	@Test
+	public void changeOrderWithMovesReportsMoves() {
+		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		final ArrayList<Integer> replica = new ArrayList<>();
+		for (int i = 0; i < 100; ++i) {
+			mutator.add((i * 37) % 100);
+		}
+        MutableObservableReference<IItemsOrder<Integer>> order = new MutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder(), monitor);
+		final OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(source, order, 100, monitor);
+		for (int i = 0; i < ool.getSize(); ++i) {
+			replica.add(ool.getAt(i));
+		}
+		doAnswer(new Answer<Void>() {
+			public Void answer(InvocationOnMock invocation) {
+				final int oldIndex = invocation.getArgument(0);
+				final int newIndex = invocation.getArgument(1);
+				replica.add(newIndex, replica.remove(oldIndex));
+				return null;
+			}
+		}).when(observer).moved(anyInt(), anyInt(), eq(1));
+		ool.addObserver(observer);
+
+		order.setValue(new IItemsOrder<Integer>() {
+			@Override
+			public boolean isLess(Integer lesser, Integer greater) {
+				return (lesser.intValue() + 10) % 100 < (greater.intValue() + 10) % 100;
+			}
+		});
+
+		verify(observer, never()).reset();
+		verify(observer, times(10)).moved(anyInt(), anyInt(), eq(1));
+		assertEquals(90, ool.getAt(0).intValue());
+		for (int i = 0; i < ool.getSize(); ++i) {
+			assertSame(ool.getAt(i), replica.get(i));
+		}
+	}
+
+	@Test
+	public void changeOrderAboveMaxMovesReportsReset() {
+		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(5);
+		mutator.add(3);
+		mutator.add(2);
+		mutator.add(1);
+		mutator.add(4);
+        MutableObservableReference<IItemsOrder<Integer>> order = new MutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder(), monitor);
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(source, order, 3, monitor);
+		ool.addObserver(observer);
+
+		order.setValue(new IntegerReverseOrder());
+
+		verify(observer, never()).moved(anyInt(), anyInt(), anyInt());
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		assertEquals(5, ool.getAt(0).intValue());
+	}
+
 	@Test
 	public void changeOrderReportsReset() {
 		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -423,6 +588,68 @@ public class OrderingReadOnlyObservableListTests {
 		verify(observer, times(1)).moved(2, 3, 1);
 	}
 	
+	@Test
+	public void keyedOrderComparesKeysFirst() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final KeyedTestOrder order = new KeyedTestOrder();
+		final OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(order),
+                monitor);
+
+		for (int i = 0; i < 10; ++i) {
+			mutator.add(new TestItem(90 - i * 10));
+		}
+		mutator.add(new TestItem(51));
+
+		assertEquals(11, order.keys);
+		assertTrue(order.comparisons > 0 && order.comparisons <= 2);
+		assertEquals(50, ool.getAt(5).getValue());
+		assertEquals(51, ool.getAt(6).getValue());
+	}
+
+	@Test
+	public void keyedOrderMutationRecomputesKey() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final TestItem item = new TestItem(30);
+		mutator.add(new TestItem(10));
+		mutator.add(new TestItem(20));
+		mutator.add(item);
+		final OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new KeyedTestOrder()),
+                monitor);
+		ool.addObserver(observer);
+
+		item.setValue(0);
+
+		verify(observer, times(1)).moved(2, 0, 1);
+		assertSame(item, ool.getAt(0));
+	}
+
+	@Test
+	public void keyedOrderResetSortsManyItems() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new KeyedTestOrder()),
+                monitor);
+		final Collection<TestItem> items = new ArrayList<>();
+
+		for (int i = 0; i < 1000; ++i) {
+			items.add(new TestItem((i * 7919) % 1000 - 500));
+		}
+		mutator.reset(items);
+
+		assertEquals(1000, ool.getSize());
+		for (int i = 1; i < ool.getSize(); ++i) {
+			assertTrue(ool.getAt(i - 1).getValue() < ool.getAt(i).getValue());
+		}
+	}
+
 	@Test
 	public void resetSourceItemsReplaced() {
 		final TestItem[] originalItems = new TestItem[] { new TestItem(1), new TestItem(2), new TestItem(3), new TestItem(4), new TestItem(5) };
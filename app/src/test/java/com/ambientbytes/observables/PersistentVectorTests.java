@@ -0,0 +1,133 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PersistentVectorTests {
+
+	@Test
+	public void emptyVectorEmpty() {
+		PersistentVector<Integer> vector = PersistentVector.empty();
+
+		assertEquals(0, vector.size());
+		assertEquals(new ArrayList<Integer>(), toList(vector));
+	}
+
+	@Test
+	public void ofListHasElements() {
+		PersistentVector<Integer> vector = PersistentVector.of(Arrays.asList(1, 2, 3, 4, 5));
+
+		assertEquals(5, vector.size());
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), toList(vector));
+		assertEquals(3, vector.get(2).intValue());
+	}
+
+	@Test
+	public void insertKeepsOriginal() {
+		PersistentVector<Integer> original = PersistentVector.of(Arrays.asList(1, 2, 3));
+
+		PersistentVector<Integer> changed = original.insert(1, Arrays.asList(10, 11));
+
+		assertEquals(Arrays.asList(1, 2, 3), toList(original));
+		assertEquals(Arrays.asList(1, 10, 11, 2, 3), toList(changed));
+	}
+
+	@Test
+	public void removeSetMoveKeepOriginal() {
+		PersistentVector<Integer> original = PersistentVector.of(Arrays.asList(0, 1, 2, 3, 4, 5));
+
+		PersistentVector<Integer> removed = original.remove(1, 2);
+		PersistentVector<Integer> set = original.set(4, Arrays.asList(40, 50));
+		PersistentVector<Integer> moved = original.move(0, 3, 2);
+
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), toList(original));
+		assertEquals(Arrays.asList(0, 3, 4, 5), toList(removed));
+		assertEquals(Arrays.asList(0, 1, 2, 3, 40, 50), toList(set));
+		assertEquals(Arrays.asList(2, 3, 4, 0, 1, 5), toList(moved));
+	}
+
+	@Test
+	public void emptyChangesReturnSameVector() {
+		PersistentVector<Integer> vector = PersistentVector.of(Arrays.asList(1, 2, 3));
+
+		assertSame(vector, vector.insert(1, new ArrayList<Integer>()));
+		assertSame(vector, vector.remove(1, 0));
+		assertSame(vector, vector.move(1, 1, 2));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutsideThrows() {
+		PersistentVector.of(Arrays.asList(1, 2, 3)).get(3);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void removeOutsideThrows() {
+		PersistentVector.of(Arrays.asList(1, 2, 3)).remove(2, 2);
+	}
+
+	@Test
+	public void randomChangesMatchList() {
+		Random random = new Random(18);
+		List<Integer> expected = new ArrayList<>();
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		List<PersistentVector<Integer>> versions = new ArrayList<>();
+		List<List<Integer>> expectedVersions = new ArrayList<>();
+
+		for (int i = 0; i < 3000; ++i) {
+			final int size = expected.size();
+			final int operation = size == 0 ? 0 : random.nextInt(4);
+
+			if (operation == 0) {
+				final int index = random.nextInt(size + 1);
+				final List<Integer> items = Arrays.asList(i, i + 1, i + 2).subList(0, 1 + random.nextInt(3));
+				expected.addAll(index, items);
+				vector = vector.insert(index, items);
+			} else if (operation == 1) {
+				final int index = random.nextInt(size);
+				final int count = 1 + random.nextInt(Math.min(2, size - index));
+				expected.subList(index, index + count).clear();
+				vector = vector.remove(index, count);
+			} else if (operation == 2) {
+				final int index = random.nextInt(size);
+				expected.set(index, -i);
+				vector = vector.set(index, Arrays.asList(-i));
+			} else {
+				final int index = random.nextInt(size);
+				final int newIndex = random.nextInt(size);
+				final Integer item = expected.remove(index);
+				expected.add(newIndex, item);
+				vector = vector.move(index, newIndex, 1);
+			}
+			if (i % 100 == 0) {
+				versions.add(vector);
+				expectedVersions.add(new ArrayList<>(expected));
+			}
+		}
+
+		assertEquals(expected, toList(vector));
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i), vector.get(i));
+		}
+		for (int i = 0; i < versions.size(); ++i) {
+			assertEquals(expectedVersions.get(i), toList(versions.get(i)));
+		}
+	}
+
+	private static <E> List<E> toList(PersistentVector<E> vector) {
+		final List<E> list = new ArrayList<>();
+
+		for (E element : vector) {
+			list.add(element);
+		}
+		assertEquals(vector.size(), list.size());
+
+		return list;
+	}
+}
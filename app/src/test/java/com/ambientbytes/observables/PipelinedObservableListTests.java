@@ -0,0 +1,150 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class PipelinedObservableListTests {
+
+	private static final class ManualExecutor implements Executor {
+		private final List<Runnable> commands = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable command) {
+			commands.add(command);
+		}
+
+		void runAll() {
+			while (!commands.isEmpty()) {
+				commands.remove(0).run();
+			}
+		}
+	}
+
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IReadWriteMonitor mockSegmentMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock IResource segmentWLock;
+	@Mock IListObserver observer;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		when(mockSegmentMonitor.acquireRead()).thenReturn(rLock);
+		when(mockSegmentMonitor.acquireWrite()).thenReturn(segmentWLock);
+	}
+
+	@Test
+	public void changesAppliedOnExecutor() {
+		ManualExecutor executor = new ManualExecutor();
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+		PipelinedObservableList<Integer> list = new PipelinedObservableList<>(source, mockMonitor, executor,
+				mockSegmentMonitor);
+		executor.runAll();
+		list.addObserver(observer);
+
+		mutator.add(4);
+		mutator.remove(0, 1);
+		mutator.set(0, 20);
+
+		assertEquals(3, list.getSize());
+		verifyNoMoreInteractions(observer);
+		assertEquals(1, executor.commands.size());
+		executor.runAll();
+		verify(observer, times(1)).added(3, 1);
+		verify(observer, times(1)).removing(0, 1);
+		verify(observer, times(1)).removed(0, 1);
+		verify(observer, times(1)).changing(0, 1);
+		verify(observer, times(1)).changed(0, 1);
+		assertEquals(3, list.getSize());
+		assertEquals(20, list.getAt(0).intValue());
+		assertEquals(3, list.getAt(1).intValue());
+		assertEquals(4, list.getAt(2).intValue());
+	}
+
+	@Test
+	public void drainTakesSegmentWriteLock() {
+		ManualExecutor executor = new ManualExecutor();
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		new PipelinedObservableList<>(source, mockMonitor, executor, mockSegmentMonitor);
+		reset(segmentWLock);
+
+		mutator.add(1);
+		mutator.add(2);
+		executor.runAll();
+
+		verify(segmentWLock, times(1)).release();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pipelineWithSameMonitorThrows() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+
+		ListBuilder.<Integer>create(mockMonitor).mutable(mutator).pipeline(new ManualExecutor(), mockMonitor);
+	}
+
+	@Test
+	public void segmentsRunOnExecutors() throws InterruptedException {
+		IReadWriteMonitor monitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+		IReadWriteMonitor segmentMonitor = LockTool.createReadWriteMonitor(new ReentrantReadWriteLock());
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		MutableObservableReference<IItemFilter<Integer>> filter = new MutableObservableReference<IItemFilter<Integer>>(
+				new IItemFilter<Integer>() {
+					@Override
+					public boolean isIn(Integer item) {
+						return item % 2 == 0;
+					}
+				}, segmentMonitor);
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(monitor)
+				.mutable(mutator)
+				.pipeline(pool, segmentMonitor)
+				.filter(filter)
+				.build();
+
+		try {
+			for (int i = 0; i < 1000; ++i) {
+				mutator.add(i);
+			}
+			mutator.remove(0, 10);
+
+			long deadline = System.currentTimeMillis() + 10000;
+			int size = 0;
+
+			while (size != 495 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(1);
+				IResource lock = segmentMonitor.acquireRead();
+				try {
+					size = list.getSize();
+				} finally {
+					lock.release();
+				}
+			}
+
+			assertEquals(495, size);
+		} finally {
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RankedFlagsTests {
+
+	@Test
+	public void newFlagsEmpty() {
+		RankedFlags flags = new RankedFlags();
+
+		assertEquals(0, flags.size());
+		assertEquals(0, flags.rank(0));
+	}
+
+	@Test
+	public void addCountsSetFlags() {
+		RankedFlags flags = new RankedFlags();
+
+		for (int i = 0; i < 20; ++i) {
+			flags.add(i % 2 == 0);
+		}
+
+		assertEquals(20, flags.size());
+		for (int i = 0; i <= 20; ++i) {
+			assertEquals((i + 1) / 2, flags.rank(i));
+		}
+		assertEquals(3, flags.count(5, 6));
+	}
+
+	@Test
+	public void insertGapInsertsClearedFlags() {
+		RankedFlags flags = new RankedFlags();
+		flags.add(true);
+		flags.add(true);
+
+		flags.insertGap(1, 3);
+		flags.set(2, true);
+
+		assertEquals(5, flags.size());
+		assertTrue(flags.get(0));
+		assertFalse(flags.get(1));
+		assertTrue(flags.get(2));
+		assertFalse(flags.get(3));
+		assertTrue(flags.get(4));
+		assertEquals(2, flags.rank(3));
+	}
+
+	@Test
+	public void clearEmpties() {
+		RankedFlags flags = new RankedFlags();
+		flags.add(true);
+		flags.add(false);
+
+		flags.clear();
+		flags.add(false);
+
+		assertEquals(1, flags.size());
+		assertEquals(0, flags.rank(1));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutOfRangeThrows() {
+		RankedFlags flags = new RankedFlags();
+		flags.add(true);
+
+		flags.get(1);
+	}
+
+	@Test
+	public void randomOperationsMatchList() {
+		final Random random = new Random(11);
+		RankedFlags flags = new RankedFlags();
+		List<Boolean> expected = new ArrayList<>();
+
+		for (int step = 0; step < 5000; ++step) {
+			final int size = expected.size();
+			final int operation = random.nextInt(5);
+
+			if (operation == 0 || size == 0) {
+				final int index = random.nextInt(size + 1);
+				final int length = random.nextInt(4);
+				flags.insertGap(index, length);
+				expected.addAll(index, Collections.nCopies(length, false));
+			} else if (operation == 1) {
+				final int index = random.nextInt(size);
+				final boolean value = random.nextBoolean();
+				flags.set(index, value);
+				expected.set(index, value);
+			} else if (operation == 2) {
+				final int start = random.nextInt(size);
+				final int length = random.nextInt(Math.min(3, size - start) + 1);
+				flags.remove(start, length);
+				expected.subList(start, start + length).clear();
+			} else if (operation == 3) {
+				final int length = random.nextInt(size) + 1;
+				final int source = random.nextInt(size - length + 1);
+				final int destination = random.nextInt(size - length + 1);
+				flags.move(source, destination, length);
+				final List<Boolean> moved = new ArrayList<>(expected.subList(source, source + length));
+				expected.subList(source, source + length).clear();
+				expected.addAll(destination, moved);
+			} else {
+				final boolean value = random.nextBoolean();
+				flags.add(value);
+				expected.add(value);
+			}
+
+			assertEquals(expected.size(), flags.size());
+		}
+
+		int rank = 0;
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(rank, flags.rank(i));
+			assertEquals(expected.get(i), flags.get(i));
+			rank += expected.get(i) ? 1 : 0;
+		}
+		assertEquals(rank, flags.rank(expected.size()));
+	}
+}
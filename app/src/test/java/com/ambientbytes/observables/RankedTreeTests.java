@@ -0,0 +1,159 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class RankedTreeTests {
+
+	@Test
+	public void newTreeEmpty() {
+		RankedTree<Integer> tree = new RankedTree<>();
+
+		assertEquals(0, tree.size());
+		assertFalse(tree.iterator().hasNext());
+	}
+
+	@Test
+	public void addInsertsAtPosition() {
+		RankedTree<Integer> tree = new RankedTree<>();
+
+		tree.add(0, 1);
+		tree.add(0, 0);
+		tree.add(2, 3);
+		tree.add(2, 2);
+
+		assertEquals(Arrays.asList(0, 1, 2, 3), toList(tree));
+	}
+
+	@Test
+	public void indexOfNodeTracksInserts() {
+		RankedTree<Integer> tree = new RankedTree<>();
+		RankedTree.Node<Integer> node = tree.add(0, 100);
+
+		for (int i = 0; i < 50; ++i) {
+			tree.add(0, i);
+		}
+
+		assertEquals(50, tree.indexOf(node));
+		assertSame(node, tree.nodeAt(50));
+	}
+
+	@Test
+	public void removeNodeRemoves() {
+		RankedTree<Integer> tree = new RankedTree<>();
+		List<RankedTree.Node<Integer>> nodes = new ArrayList<>();
+
+		for (int i = 0; i < 10; ++i) {
+			nodes.add(tree.add(i, i));
+		}
+		tree.remove(nodes.get(3));
+		tree.remove(nodes.get(0));
+		tree.remove(nodes.get(9));
+
+		assertEquals(Arrays.asList(1, 2, 4, 5, 6, 7, 8), toList(tree));
+		assertEquals(2, tree.indexOf(nodes.get(4)));
+	}
+
+	@Test
+	public void removeRangeRemoves() {
+		RankedTree<Integer> tree = new RankedTree<>();
+
+		for (int i = 0; i < 10; ++i) {
+			tree.add(i, i);
+		}
+		tree.remove(2, 5);
+
+		assertEquals(Arrays.asList(0, 1, 7, 8, 9), toList(tree));
+	}
+
+	@Test
+	public void setValueReplaces() {
+		RankedTree<Integer> tree = new RankedTree<>();
+
+		tree.add(0, 1);
+		tree.add(1, 2);
+		tree.nodeAt(1).setValue(20);
+
+		assertEquals(Arrays.asList(1, 20), toList(tree));
+	}
+
+	@Test
+	public void lowerBoundFindsFirstNotLess() {
+		RankedTree<Integer> tree = new RankedTree<>();
+		Comparator<Integer> comparator = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return o1.compareTo(o2);
+			}
+		};
+
+		for (int value : new int[] { 1, 3, 3, 3, 5, 7 }) {
+			tree.add(tree.size(), value);
+		}
+
+		assertEquals(0, tree.lowerBound(0, comparator));
+		assertEquals(1, tree.lowerBound(3, comparator));
+		assertEquals(4, tree.lowerBound(4, comparator));
+		assertEquals(6, tree.lowerBound(8, comparator));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutOfRangeThrows() {
+		RankedTree<Integer> tree = new RankedTree<>();
+
+		tree.add(0, 1);
+		tree.get(1);
+	}
+
+	@Test
+	public void randomOperationsMatchArrayList() {
+		final Random random = new Random(11);
+		RankedTree<Integer> tree = new RankedTree<>();
+		List<RankedTree.Node<Integer>> expected = new ArrayList<>();
+
+		for (int step = 0; step < 5000; ++step) {
+			final int operation = random.nextInt(4);
+
+			if (operation < 2 || expected.isEmpty()) {
+				final int index = random.nextInt(expected.size() + 1);
+				expected.add(index, tree.add(index, step));
+			} else if (operation == 2) {
+				final RankedTree.Node<Integer> node = expected.remove(random.nextInt(expected.size()));
+				tree.remove(node);
+			} else {
+				final int start = random.nextInt(expected.size());
+				final int length = random.nextInt(Math.min(4, expected.size() - start) + 1);
+				tree.remove(start, length);
+				expected.subList(start, start + length).clear();
+			}
+
+			assertEquals(expected.size(), tree.size());
+		}
+
+		int index = 0;
+		for (Integer value : tree) {
+			assertSame(expected.get(index).value(), value);
+			assertEquals(index, tree.indexOf(expected.get(index)));
+			++index;
+		}
+	}
+
+	private static List<Integer> toList(RankedTree<Integer> tree) {
+		List<Integer> list = new ArrayList<>();
+
+		for (Integer value : tree) {
+			list.add(value);
+		}
+
+		return list;
+	}
+}
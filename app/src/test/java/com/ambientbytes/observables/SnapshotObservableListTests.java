@@ -0,0 +1,158 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SnapshotObservableListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListCopiesSource() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3));
+
+		SnapshotObservableList<Integer> sol = new SnapshotObservableList<>(source, mockMonitor);
+
+		assertEquals(Arrays.asList(1, 2, 3), toList(sol));
+		assertEquals(Arrays.asList(1, 2, 3), toList(sol.snapshot()));
+		verify(rLock, times(1)).release();
+	}
+
+	@Test
+	public void snapshotDoesNotChange() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3, 4));
+		SnapshotObservableList<Integer> sol = new SnapshotObservableList<>(source, mockMonitor);
+		IListSnapshot<Integer> snapshot = sol.snapshot();
+
+		mutator.add(1, 10);
+		mutator.set(0, 20);
+		mutator.remove(3, 2);
+		mutator.move(0, 1, 1);
+		mutator.reset(Arrays.asList(7, 8));
+
+		assertEquals(Arrays.asList(1, 2, 3, 4), toList(snapshot));
+		assertEquals(Arrays.asList(7, 8), toList(sol.snapshot()));
+		assertEquals(Arrays.asList(7, 8), toList(sol));
+	}
+
+	@Test
+	public void changeIncrementsVersion() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		SnapshotObservableList<Integer> sol = new SnapshotObservableList<>(source, mockMonitor);
+		IListSnapshot<Integer> first = sol.snapshot();
+
+		assertSame(first, sol.snapshot());
+		mutator.add(1);
+		IListSnapshot<Integer> second = sol.snapshot();
+
+		assertNotEquals(first.getVersion(), second.getVersion());
+		assertEquals(first.getVersion() + 1, second.getVersion());
+		assertEquals(1, second.getAt(0).intValue());
+	}
+
+	@Test
+	public void changesReportedToObservers() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(0, Arrays.asList(1, 2, 3, 4));
+		SnapshotObservableList<Integer> sol = new SnapshotObservableList<>(source, mockMonitor);
+		sol.addObserver(observer);
+
+		mutator.add(1, 10);
+		mutator.set(0, 20);
+		mutator.remove(3, 2);
+		mutator.move(0, 1, 1);
+		mutator.reset(Arrays.asList(7, 8));
+
+		verify(observer, times(1)).added(1, 1);
+		verify(observer, times(1)).changing(0, 1);
+		verify(observer, times(1)).changed(0, 1);
+		verify(observer, times(1)).removing(3, 2);
+		verify(observer, times(1)).removed(3, 2);
+		verify(observer, times(1)).moved(0, 1, 1);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void builderBuildsSnapshotList() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		Trigger unlinker = new Trigger(mockMonitor);
+		ISnapshotObservableList<Integer> list = ListBuilder.<Integer>create(unlinker, mockMonitor)
+				.mutable(mutator)
+				.buildWithSnapshots();
+		list.addObserver(observer);
+		mutator.add(1);
+
+		unlinker.trigger();
+		mutator.add(2);
+
+		verify(observer, times(1)).added(any(Integer.class), any(Integer.class));
+		assertEquals(Arrays.asList(1), toList(list.snapshot()));
+	}
+
+	@Test
+	public void unlinkStopsUpdates() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		SnapshotObservableList<Integer> sol = new SnapshotObservableList<>(source, mockMonitor);
+		sol.addObserver(observer);
+
+		sol.unlink();
+		mutator.add(1);
+
+		verify(observer, never()).added(any(Integer.class), any(Integer.class));
+		assertEquals(0, sol.snapshot().getSize());
+	}
+
+	private static List<Integer> toList(IListSnapshot<Integer> snapshot) {
+		final List<Integer> items = new ArrayList<>();
+
+		for (Integer item : snapshot) {
+			items.add(item);
+		}
+		assertEquals(snapshot.getSize(), items.size());
+
+		return items;
+	}
+
+	private static List<Integer> toList(IReadOnlyObservableList<Integer> list) {
+		final List<Integer> items = new ArrayList<>();
+
+		for (int i = 0; i < list.getSize(); ++i) {
+			items.add(list.getAt(i));
+		}
+
+		return items;
+	}
+}